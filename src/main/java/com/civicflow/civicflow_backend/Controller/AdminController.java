@@ -1,14 +1,27 @@
 package com.civicflow.civicflow_backend.Controller;
 
 import com.civicflow.civicflow_backend.dto.*;
+import com.civicflow.civicflow_backend.model.IssueStatus;
 import com.civicflow.civicflow_backend.model.Role;
 import com.civicflow.civicflow_backend.service.AdminService;
+import com.civicflow.civicflow_backend.service.IssueExportService;
+import com.civicflow.civicflow_backend.service.IssueImportService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -19,6 +32,12 @@ public class AdminController {
     @Autowired
     private AdminService adminService;
 
+    @Autowired
+    private IssueExportService issueExportService;
+
+    @Autowired
+    private IssueImportService issueImportService;
+
     /**
      * Get admin dashboard with statistics and recent activities
      */
@@ -166,6 +185,24 @@ public class AdminController {
         return ResponseEntity.ok(health);
     }
 
+    /**
+     * Get memory use of the in-memory issue snapshot
+     */
+    @GetMapping("/system/issue-snapshot")
+    public ResponseEntity<IssueSnapshotStatsResponse> getIssueSnapshotStats() {
+        IssueSnapshotStatsResponse stats = adminService.getIssueSnapshotStats();
+        return ResponseEntity.ok(stats);
+    }
+
+    /**
+     * Get memory use of the in-memory vote index
+     */
+    @GetMapping("/system/vote-index")
+    public ResponseEntity<VoteIndexStatsResponse> getVoteIndexStats() {
+        VoteIndexStatsResponse stats = adminService.getVoteIndexStats();
+        return ResponseEntity.ok(stats);
+    }
+
     /**
      * Get recent activities
      */
@@ -224,4 +261,84 @@ public class AdminController {
         adminService.unassignIssueFromNgo(issueId);
         return ResponseEntity.ok("Issue unassigned from NGO successfully");
     }
+
+    /**
+     * Export issues matching the /api/issues/filter filters as NDJSON (default) or CSV.
+     * Rows are streamed from a database cursor as they are read, so exports of any size
+     * run in constant memory.
+     */
+    @GetMapping("/issues/export")
+    public ResponseEntity<StreamingResponseBody> exportIssues(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(value = "latitude", required = false) Double lat,
+            @RequestParam(value = "longitude", required = false) Double lng,
+            @RequestParam(value = "radiusKm", required = false) Integer radius,
+            @RequestParam(required = false) String category,
+            @RequestParam(value = "isCritical", required = false) Boolean critical,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Integer minVotes,
+            @RequestParam(required = false) String dateFrom,
+            @RequestParam(required = false) String dateTo) {
+
+        IssueExportService.Format exportFormat;
+        IssueStatus statusEnum = null;
+        LocalDateTime dateFromParsed = null;
+        LocalDateTime dateToParsed = null;
+        try {
+            exportFormat = IssueExportService.Format.valueOf(format.toUpperCase());
+            if (status != null && !status.trim().isEmpty()) {
+                statusEnum = IssueStatus.valueOf(status.toUpperCase());
+            }
+            if (dateFrom != null && !dateFrom.trim().isEmpty()) {
+                dateFromParsed = LocalDateTime.parse(dateFrom);
+            }
+            if (dateTo != null && !dateTo.trim().isEmpty()) {
+                dateToParsed = LocalDateTime.parse(dateTo);
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new RuntimeException("Invalid export parameters: " + e.getMessage());
+        }
+
+        IssueStatus finalStatus = statusEnum;
+        LocalDateTime finalDateFrom = dateFromParsed;
+        LocalDateTime finalDateTo = dateToParsed;
+        StreamingResponseBody body = out -> issueExportService.exportIssues(exportFormat, out,
+                lat, lng, radius, category, critical, finalStatus, minVotes, finalDateFrom, finalDateTo);
+
+        String filename = "issues-" + LocalDate.now() + "." + exportFormat.getExtension();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
+    /**
+     * Bulk import issues from the request body, as NDJSON (default) or CSV in the export layout.
+     * Rows are committed in chunks while the body streams in; rows without a createdBy are
+     * recorded as created by the importing admin.
+     */
+    @PostMapping("/issues/import")
+    public ResponseEntity<ImportProgress> importIssues(
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletRequest request,
+            Authentication authentication) throws IOException {
+
+        IssueExportService.Format importFormat;
+        try {
+            importFormat = IssueExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid import format: " + format);
+        }
+        ImportProgress result = issueImportService.importIssues(importFormat, request.getInputStream(),
+                authentication.getName());
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Progress and rows/sec of the running (or last) bulk import
+     */
+    @GetMapping("/issues/import/progress")
+    public ResponseEntity<ImportProgress> getImportProgress() {
+        return ResponseEntity.ok(issueImportService.getProgress());
+    }
 }
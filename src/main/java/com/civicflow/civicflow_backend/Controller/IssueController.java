@@ -1,16 +1,33 @@
 package com.civicflow.civicflow_backend.Controller;
 
+import com.civicflow.civicflow_backend.dto.CursorPage;
+import com.civicflow.civicflow_backend.dto.DistanceBatchRequest;
+import com.civicflow.civicflow_backend.dto.Heatmap;
+import com.civicflow.civicflow_backend.dto.IssueCluster;
+import com.civicflow.civicflow_backend.dto.IssueSearchPage;
+import com.civicflow.civicflow_backend.dto.IssueSummary;
+import com.civicflow.civicflow_backend.dto.NearbyBatchRequest;
+import com.civicflow.civicflow_backend.dto.ResourceVersion;
 import com.civicflow.civicflow_backend.model.Issue;
 import com.civicflow.civicflow_backend.model.User;
+import com.civicflow.civicflow_backend.repository.IssueLocationView;
 import com.civicflow.civicflow_backend.repository.UserRepository;
+import com.civicflow.civicflow_backend.service.IssueHeatmapGrid;
 import com.civicflow.civicflow_backend.service.IssueService;
 import com.civicflow.civicflow_backend.service.FileStorageService;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Map;
@@ -44,25 +61,52 @@ public class IssueController {
     }
 
     // Get all issues (📖 PUBLIC - anyone can view)
+    // Pass ?limit= (then ?cursor=nextCursor) to page through them newest first.
+    // Without either, answers a plain array of the newest issues, capped; X-Next-Cursor continues it.
     @GetMapping
-    public List<Issue> getAllIssues() {
-        return issueService.getAllIssues();
+    public ResponseEntity<?> getAllIssues(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        if (cursor == null && limit == null) {
+            return listResponse(issueService.getAllIssues());
+        }
+        return ResponseEntity.ok(issueService.getIssuesPage(cursor, limit));
     }
 
-    // Get issue by ID
     // Get issue by ID (📖 PUBLIC)
+    // Conditional: answers 304 from the issue's updatedAt (ETag / Last-Modified) without loading it
     @GetMapping("/{id}")
-    public Optional<Issue> getIssueById(@PathVariable Long id) {
+    public Optional<Issue> getIssueById(@PathVariable Long id, WebRequest webRequest) {
+        ResourceVersion version = issueService.getIssueVersion(id);
+        if (version.exists() && webRequest.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return null;
+        }
         return issueService.getIssueById(id);
     }
 
     // Get my created issues (🔒 AUTHENTICATED)
+    // Pass ?limit= (then ?cursor=nextCursor) to page through them newest first; unpaged like GET /api/issues
     @GetMapping("/my-issues")
-    public List<Issue> getMyIssues(Authentication authentication) {
+    public ResponseEntity<?> getMyIssues(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
         String username = authentication.getName();
         User currentUser = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        return issueService.getIssuesByUser(currentUser);
+        if (cursor == null && limit == null) {
+            return listResponse(issueService.getIssuesByUser(currentUser));
+        }
+        return ResponseEntity.ok(issueService.getIssuesByUserPage(currentUser, cursor, limit));
+    }
+
+    // Unpaged list views keep their array body; a truncated one names the cursor of the next page
+    private ResponseEntity<List<IssueSummary>> listResponse(CursorPage<IssueSummary> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.isHasMore()) {
+            response.header("X-Next-Cursor", page.getNextCursor());
+        }
+        return response.body(page.getItems());
     }
 
     // Delete issue (🔒 AUTHENTICATED - only creator can delete)
@@ -159,31 +203,42 @@ public class IssueController {
      * GET /api/issues/nearby?lat=12.9716&lng=77.5946&radius=5
      */
     @GetMapping("/nearby")
-    public List<Issue> getNearbyIssues(
+    public List<IssueSummary> getNearbyIssues(
             @RequestParam("lat") Double latitude,
             @RequestParam("lng") Double longitude,
-            @RequestParam(value = "radius", defaultValue = "10.0") Double radiusKm) {
+            @RequestParam(value = "radius", defaultValue = "10.0") Double radiusKm,
+            WebRequest webRequest) {
         
         if (latitude == null || longitude == null) {
             throw new RuntimeException("Latitude and longitude are required");
         }
         
+        // ETag only: a deleted issue lowers the count but not the latest updatedAt
+        ResourceVersion version = issueService.getNearbyVersion(latitude, longitude, radiusKm, null, null);
+        if (webRequest.checkNotModified(version.etag())) {
+            return null;
+        }
         return issueService.getNearbyIssues(latitude, longitude, radiusKm);
     }
 
   
     @GetMapping("/nearby/filtered")
-    public List<Issue> getNearbyIssuesWithFilters(
+    public List<IssueSummary> getNearbyIssuesWithFilters(
             @RequestParam("lat") Double latitude,
             @RequestParam("lng") Double longitude,
             @RequestParam(value = "radius", defaultValue = "10.0") Double radiusKm,
             @RequestParam(value = "category", required = false) String category,
-            @RequestParam(value = "critical", required = false) Boolean critical) {
+            @RequestParam(value = "critical", required = false) Boolean critical,
+            WebRequest webRequest) {
         
         if (latitude == null || longitude == null) {
             throw new RuntimeException("Latitude and longitude are required");
         }
         
+        ResourceVersion version = issueService.getNearbyVersion(latitude, longitude, radiusKm, category, critical);
+        if (webRequest.checkNotModified(version.etag())) {
+            return null;
+        }
         return issueService.getNearbyIssuesWithFilters(latitude, longitude, radiusKm, category, critical);
     }
     @GetMapping("/{id}/distance")
@@ -219,6 +274,60 @@ public class IssueController {
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Nearby issues for many points in one call (e.g. every stop of a route)
+     * POST /api/issues/nearby/batch {"queries": [{"key": "stop-1", "latitude": 12.97, "longitude": 77.59, "radius": 2}]}
+     */
+    @PostMapping("/nearby/batch")
+    public ResponseEntity<Map<String, Object>> getNearbyIssuesBatch(@Valid @RequestBody NearbyBatchRequest request) {
+        Map<String, List<IssueSummary>> results = issueService.getNearbyIssuesBatch(request.getQueries());
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("results", results);
+        response.put("queryCount", results.size());
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Distances from one origin to many issues in one call
+     * POST /api/issues/distance/batch {"latitude": 12.97, "longitude": 77.59, "issueIds": [1, 2, 3]}
+     */
+    @PostMapping("/distance/batch")
+    public ResponseEntity<Map<String, Object>> getDistancesBatch(@Valid @RequestBody DistanceBatchRequest request) {
+        Map<Long, IssueLocationView> locations = issueService.getIssueLocations(request.getIssueIds());
+        
+        Map<Long, Object> distances = new LinkedHashMap<>();
+        List<Long> notFound = new ArrayList<>();
+        List<Long> noLocation = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(request.getIssueIds())) {
+            IssueLocationView location = locations.get(id);
+            if (location == null) {
+                notFound.add(id);
+            } else if (location.getLatitude() == null || location.getLongitude() == null) {
+                noLocation.add(id);
+            } else {
+                double distance = issueService.calculateDistance(
+                    request.getLatitude(), request.getLongitude(),
+                    location.getLatitude(), location.getLongitude()
+                );
+                Map<String, Object> entry = new HashMap<>();
+                entry.put("distance", Math.round(distance * 100.0) / 100.0); // Round to 2 decimal places
+                entry.put("issueLocation", Map.of(
+                    "latitude", location.getLatitude(),
+                    "longitude", location.getLongitude()
+                ));
+                distances.put(id, entry);
+            }
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("unit", "km");
+        response.put("distances", distances);
+        response.put("notFound", notFound);
+        response.put("noLocation", noLocation);
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping("/filter")
     public ResponseEntity<Map<String, Object>> getSmartFilteredIssues(
             @RequestParam(value = "latitude", required = false) Double lat,
@@ -232,82 +341,172 @@ public class IssueController {
             @RequestParam(required = false) String dateTo,
             @RequestParam(defaultValue = "smart") String sortBy,
             @RequestParam(defaultValue = "0") Integer page,
-            @RequestParam(defaultValue = "20") Integer size) {
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         
-        try {
-            // Parse date parameters if provided
-            java.time.LocalDateTime dateFromParsed = null;
-            java.time.LocalDateTime dateToParsed = null;
-            
-            if (dateFrom != null && !dateFrom.trim().isEmpty()) {
-                dateFromParsed = java.time.LocalDateTime.parse(dateFrom);
-            }
-            if (dateTo != null && !dateTo.trim().isEmpty()) {
-                dateToParsed = java.time.LocalDateTime.parse(dateTo);
-            }
-            
-            // Parse status if provided
-            com.civicflow.civicflow_backend.model.IssueStatus statusEnum = null;
-            if (status != null && !status.trim().isEmpty()) {
-                try {
-                    statusEnum = com.civicflow.civicflow_backend.model.IssueStatus.valueOf(status.toUpperCase());
-                } catch (IllegalArgumentException e) {
-                    // Invalid status, ignore
-                }
+        // Parse date parameters if provided
+        java.time.LocalDateTime dateFromParsed = null;
+        java.time.LocalDateTime dateToParsed = null;
+        
+        if (dateFrom != null && !dateFrom.trim().isEmpty()) {
+            dateFromParsed = java.time.LocalDateTime.parse(dateFrom);
+        }
+        if (dateTo != null && !dateTo.trim().isEmpty()) {
+            dateToParsed = java.time.LocalDateTime.parse(dateTo);
+        }
+        
+        // Parse status if provided
+        com.civicflow.civicflow_backend.model.IssueStatus statusEnum = null;
+        if (status != null && !status.trim().isEmpty()) {
+            try {
+                statusEnum = com.civicflow.civicflow_backend.model.IssueStatus.valueOf(status.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                // Invalid status, ignore
             }
-            
-            // Get filtered and sorted issues
-            List<Issue> issues = issueService.getSmartFilteredIssues(
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        Map<String, Object> pagination = new HashMap<>();
+        
+        if (cursor != null || limit != null) {
+            // Keyset pagination: cost does not grow with scroll depth
+            CursorPage<IssueSummary> issuePage = issueService.getSmartFilteredIssuesPage(
                 lat, lng, radius, category, critical, statusEnum,
-                minVotes, dateFromParsed, dateToParsed, sortBy, page, size
+                minVotes, dateFromParsed, dateToParsed, sortBy, cursor, limit
             );
-            
-            // Calculate total count for pagination info
-            List<Issue> totalIssues = issueService.getSmartFilteredIssues(
+            response.put("issues", issuePage.getItems());
+            pagination.put("pageSize", issuePage.getLimit());
+            pagination.put("nextCursor", issuePage.getNextCursor());
+            pagination.put("hasMore", issuePage.isHasMore());
+        } else {
+            // Get filtered, sorted and paged issues (total count comes from the same query)
+            Page<IssueSummary> issues = issueService.getSmartFilteredIssues(
                 lat, lng, radius, category, critical, statusEnum,
-                minVotes, dateFromParsed, dateToParsed, sortBy, null, null
+                minVotes, dateFromParsed, dateToParsed, sortBy, page, size
             );
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("issues", issues);
-            
-            Map<String, Object> pagination = new HashMap<>();
+            response.put("issues", issues.getContent());
             pagination.put("currentPage", page);
             pagination.put("pageSize", size);
-            pagination.put("totalItems", totalIssues.size());
-            pagination.put("totalPages", (int) Math.ceil((double) totalIssues.size() / size));
-            response.put("pagination", pagination);
-            
-            Map<String, Object> filters = new HashMap<>();
-            if (lat != null && lng != null) {
-                Map<String, Object> location = new HashMap<>();
-                location.put("lat", lat);
-                location.put("lng", lng);
-                location.put("radius", radius);
-                filters.put("location", location);
-            } else {
-                filters.put("location", null);
+            pagination.put("totalItems", issues.getTotalElements());
+            pagination.put("totalPages", (int) Math.ceil((double) issues.getTotalElements() / size));
+        }
+        response.put("pagination", pagination);
+        
+        Map<String, Object> filters = new HashMap<>();
+        if (lat != null && lng != null) {
+            Map<String, Object> location = new HashMap<>();
+            location.put("lat", lat);
+            location.put("lng", lng);
+            location.put("radius", radius);
+            filters.put("location", location);
+        } else {
+            filters.put("location", null);
+        }
+        filters.put("category", category);
+        filters.put("critical", critical);
+        filters.put("status", status);
+        filters.put("minVotes", minVotes);
+        
+        Map<String, Object> dateRange = new HashMap<>();
+        dateRange.put("from", dateFrom);
+        dateRange.put("to", dateTo);
+        filters.put("dateRange", dateRange);
+        filters.put("sortBy", sortBy);
+        response.put("filters", filters);
+        
+        return ResponseEntity.ok(response);
+    }
+
+    // 🔎 Keyword search over title and description (whole words or prefixes), best match first
+    @GetMapping("/search")
+    public ResponseEntity<Map<String, Object>> searchIssues(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(defaultValue = "0") Integer page,
+            @RequestParam(defaultValue = "20") Integer size) {
+        
+        com.civicflow.civicflow_backend.model.IssueStatus statusEnum = null;
+        if (status != null && !status.trim().isEmpty()) {
+            try {
+                statusEnum = com.civicflow.civicflow_backend.model.IssueStatus.valueOf(status.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Invalid status: " + status);
+            }
+        }
+        
+        IssueSearchPage issues = issueService.searchIssues(query, category, statusEnum,
+                latitude, longitude, radiusKm, page, size);
+        
+        Map<String, Object> pagination = new HashMap<>();
+        pagination.put("currentPage", page);
+        pagination.put("pageSize", size);
+        pagination.put("totalItems", issues.getTotalElements());
+        pagination.put("totalPages", issues.getTotalPages());
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("issues", issues.getContent());
+        response.put("pagination", pagination);
+        response.put("query", query);
+        // Set when a short prefix matched too many words and rarer ones were left out
+        response.put("truncated", issues.isTruncated());
+        return ResponseEntity.ok(response);
+    }
+    
+    // 🗺️ Map clusters for a viewport: bbox=west,south,east,north (west > east crosses the antimeridian)
+    @GetMapping("/clusters")
+    public ResponseEntity<Map<String, Object>> getClusters(
+            @RequestParam String bbox,
+            @RequestParam Integer zoom) {
+        
+        double[] edges = parseBbox(bbox);
+        List<IssueCluster> clusters = issueService.getClusters(edges[0], edges[1], edges[2], edges[3], zoom);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("zoom", zoom);
+        response.put("clusters", clusters);
+        return ResponseEntity.ok(response);
+    }
+    
+    // 🔥 Heat layer of open (layer=open) or open critical (layer=critical) issues for a viewport.
+    // Binary run-length encoded body, see Heatmap.encode() for the layout.
+    @GetMapping("/heatmap")
+    public ResponseEntity<byte[]> getHeatmap(
+            @RequestParam String bbox,
+            @RequestParam(defaultValue = "open") String layer) {
+        
+        IssueHeatmapGrid.Layer layerEnum;
+        try {
+            layerEnum = IssueHeatmapGrid.Layer.valueOf(layer.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid layer: " + layer);
+        }
+        
+        double[] edges = parseBbox(bbox);
+        Heatmap heatmap = issueService.getHeatmap(edges[0], edges[1], edges[2], edges[3], layerEnum);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(Heatmap.MEDIA_TYPE))
+                .body(heatmap.encode());
+    }
+    
+    // bbox=west,south,east,north in degrees
+    private double[] parseBbox(String bbox) {
+        String[] parts = bbox.split(",");
+        if (parts.length != 4) {
+            throw new RuntimeException("bbox must be west,south,east,north");
+        }
+        double[] edges = new double[4];
+        try {
+            for (int i = 0; i < 4; i++) {
+                edges[i] = Double.parseDouble(parts[i].trim());
             }
-            filters.put("category", category);
-            filters.put("critical", critical);
-            filters.put("status", status);
-            filters.put("minVotes", minVotes);
-            
-            Map<String, Object> dateRange = new HashMap<>();
-            dateRange.put("from", dateFrom);
-            dateRange.put("to", dateTo);
-            filters.put("dateRange", dateRange);
-            filters.put("sortBy", sortBy);
-            response.put("filters", filters);
-            
-            return ResponseEntity.ok(response);
-            
-        } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("error", "Invalid parameters: " + e.getMessage());
-            errorResponse.put("details", e.getClass().getSimpleName());
-            errorResponse.put("stackTrace", java.util.Arrays.toString(e.getStackTrace()));
-            return ResponseEntity.badRequest().body(errorResponse);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("bbox must be west,south,east,north");
         }
+        return edges;
     }
 }
@@ -1,6 +1,7 @@
 package com.civicflow.civicflow_backend.Controller;
 
 import com.civicflow.civicflow_backend.service.NgoService;
+import com.civicflow.civicflow_backend.dto.CursorPage;
 import com.civicflow.civicflow_backend.dto.IssueResponse;
 import com.civicflow.civicflow_backend.dto.UpdateIssueStatusRequest;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,15 +21,22 @@ public class NgoController {
 
     /**
      * Get issues assigned to the current NGO
+     * Pass limit (then cursor=nextCursor) for keyset pagination by creation time instead of page/size
      */
     @GetMapping("/my-issues")
-    public ResponseEntity<Page<IssueResponse>> getMyAssignedIssues(
+    public ResponseEntity<?> getMyAssignedIssues(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir,
-            @RequestParam(required = false) String status
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
     ) {
+        if (cursor != null || limit != null) {
+            CursorPage<IssueResponse> issues = ngoService.getMyAssignedIssuesPage(cursor, limit, sortDir, status);
+            return ResponseEntity.ok(issues);
+        }
         Page<IssueResponse> issues = ngoService.getMyAssignedIssues(page, size, sortBy, sortDir, status);
         return ResponseEntity.ok(issues);
     }
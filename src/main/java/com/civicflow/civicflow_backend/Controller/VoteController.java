@@ -1,13 +1,18 @@
 package com.civicflow.civicflow_backend.Controller;
 
+import com.civicflow.civicflow_backend.dto.CursorPage;
+import com.civicflow.civicflow_backend.dto.ResourceVersion;
 import com.civicflow.civicflow_backend.dto.VoteRequest;
 import com.civicflow.civicflow_backend.dto.VoteResponse;
 import com.civicflow.civicflow_backend.dto.VoteSummary;
+import com.civicflow.civicflow_backend.service.AuthenticatedUser;
 import com.civicflow.civicflow_backend.service.VoteService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -43,27 +48,62 @@ public class VoteController {
     }
     
     // Get vote summary for an issue (public endpoint)
+    // Conditional: 304 while the issue's votes are unchanged (the ETag is per caller)
     @GetMapping("/{issueId}/votes/summary")
     public ResponseEntity<VoteSummary> getVoteSummary(
             @PathVariable Long issueId,
+            Authentication authentication,
+            WebRequest webRequest) {
+        
+        String username = authentication != null ? authentication.getName() : null;
+        ResourceVersion version = voteService.getVoteSummaryVersion(issueId, username);
+        if (webRequest.checkNotModified(version.etag())) {
+            return null;
+        }
+        VoteSummary summary = voteService.getVoteSummary(issueId, username, AuthenticatedUser.idOf(authentication));
+        return ResponseEntity.ok().varyBy(HttpHeaders.AUTHORIZATION).body(summary);
+    }
+    
+    // Vote summaries of a page of issues, e.g. ?ids=1,2,3 (public endpoint)
+    @GetMapping("/votes/summary")
+    public ResponseEntity<List<VoteSummary>> getVoteSummaries(
+            @RequestParam List<Long> ids,
             Authentication authentication) {
         
         String username = authentication != null ? authentication.getName() : null;
-        VoteSummary summary = voteService.getVoteSummary(issueId, username);
-        return ResponseEntity.ok(summary);
+        List<VoteSummary> summaries = voteService.getVoteSummaries(ids, username, AuthenticatedUser.idOf(authentication));
+        return ResponseEntity.ok().varyBy(HttpHeaders.AUTHORIZATION).body(summaries);
     }
     
     // Get all votes for an issue (public endpoint)
+    // Pass limit (then cursor=nextCursor) for keyset pagination, newest first
     @GetMapping("/{issueId}/votes")
-    public ResponseEntity<List<VoteResponse>> getIssueVotes(@PathVariable Long issueId) {
+    public ResponseEntity<?> getIssueVotes(
+            @PathVariable Long issueId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        
+        if (cursor != null || limit != null) {
+            CursorPage<VoteResponse> votes = voteService.getIssueVotesPage(issueId, cursor, limit);
+            return ResponseEntity.ok(votes);
+        }
         List<VoteResponse> votes = voteService.getIssueVotes(issueId);
         return ResponseEntity.ok(votes);
     }
     
     // Get current user's voting history
+    // Pass limit (then cursor=nextCursor) for keyset pagination, newest first
     @GetMapping("/votes/my-votes")
-    public ResponseEntity<List<VoteResponse>> getUserVotes(Authentication authentication) {
+    public ResponseEntity<?> getUserVotes(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
+        
         String username = authentication.getName();
+        if (cursor != null || limit != null) {
+            CursorPage<VoteResponse> votes = voteService.getUserVotesPage(username, cursor, limit);
+            return ResponseEntity.ok(votes);
+        }
         List<VoteResponse> votes = voteService.getUserVotes(username);
         return ResponseEntity.ok(votes);
     }
@@ -0,0 +1,50 @@
+package com.civicflow.civicflow_backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 🔢 Issue and Vote IDs come from pooled sequences (issue_seq, votes_seq) instead of IDENTITY
+ * columns. On a database whose rows were inserted through the old IDENTITY columns, the new
+ * sequences start at 1; this moves each one past the table's highest ID so no generated ID
+ * collides with an existing row. A sequence that is already ahead is left where it is.
+ * Postgres only: H2 test databases are created empty.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class IdSequenceInitializer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceInitializer.class);
+
+    // sequence → table whose IDs it generates
+    private static final String[][] SEQUENCES = {{"issue_seq", "issue"}, {"votes_seq", "votes"}};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            return;
+        }
+        for (String[] sequence : SEQUENCES) {
+            // Hibernate's pooled optimizer hands out (value - 50, value] for each nextval,
+            // so setval(max id) makes the next block start right after the highest row
+            Long value = jdbcTemplate.queryForObject(
+                    "SELECT setval('" + sequence[0] + "', GREATEST(" +
+                    "(SELECT COALESCE(MAX(id), 0) FROM " + sequence[1] + "), " +
+                    "(SELECT last_value FROM " + sequence[0] + ")))", Long.class);
+            log.info("Sequence {} is at {}", sequence[0], value);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.civicflow.civicflow_backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 🌍 PostGIS storage mode: adds a geography(Point) column to the issue table, generated by
+ * Postgres from latitude/longitude so it can never drift from them, plus a GiST index on it.
+ * Hibernate's ddl-auto=update leaves the extra column alone and never writes it.
+ * Only active with civicflow.geo.postgis.enabled=true; H2 and plain Postgres keep the Haversine queries.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "civicflow.geo.postgis.enabled", havingValue = "true")
+public class PostgisSchemaInitializer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgisSchemaInitializer.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS postgis");
+        jdbcTemplate.execute("ALTER TABLE issue ADD COLUMN IF NOT EXISTS geog geography(Point, 4326) " +
+                "GENERATED ALWAYS AS (CASE WHEN latitude IS NOT NULL AND longitude IS NOT NULL " +
+                "THEN ST_SetSRID(ST_MakePoint(longitude, latitude), 4326)::geography END) STORED");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_issue_geog ON issue USING GIST (geog)");
+        log.info("PostGIS geography column and GiST index are in place");
+    }
+}
@@ -0,0 +1,55 @@
+package com.civicflow.civicflow_backend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Dev mode (civicflow.query-count.enabled=true): counts the SQL statements of each request
+ * and logs them, warning when one statement shape repeats often enough to look like N+1.
+ * Runs first so authentication queries are counted too; QueryCountHeaderAdvice adds the
+ * count so far as a response header.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "civicflow.query-count.enabled", havingValue = "true")
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryCountFilter.class);
+
+    private final int repeatThreshold;
+
+    public QueryCountFilter(@Value("${civicflow.query-count.repeat-threshold:5}") int repeatThreshold) {
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryCounter.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            QueryCounter.Log queries = QueryCounter.stop();
+            Map<String, Integer> repeated = queries.repeated(repeatThreshold);
+            if (repeated.isEmpty()) {
+                log.info("{} {} -> {} SQL statements", request.getMethod(), request.getRequestURI(), queries.getCount());
+            } else {
+                log.warn("{} {} -> {} SQL statements, repeated shapes (possible N+1): {}",
+                        request.getMethod(), request.getRequestURI(), queries.getCount(), repeated);
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.civicflow.civicflow_backend.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Dev mode: adds the request's SQL statement count to every response body write as X-Query-Count.
+ * Written just before serialization (headers cannot change once the body starts), so lazy
+ * loads during serialization only show up in the QueryCountFilter log line.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "civicflow.query-count.enabled", havingValue = "true")
+public class QueryCountHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String HEADER = "X-Query-Count";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        QueryCounter.Log queries = QueryCounter.current();
+        if (queries != null) {
+            response.getHeaders().set(HEADER, String.valueOf(queries.getCount()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,88 @@
+package com.civicflow.civicflow_backend.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Hibernate StatementInspector that counts the SQL statements a thread prepares between
+ * start() and stop(), grouped by statement shape so per-row query loops (N+1) stand out.
+ * Registered through hibernate.session_factory.statement_inspector; outside a count it
+ * costs one ThreadLocal read per statement. Tests use it directly to assert query budgets.
+ */
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<Log> CURRENT = new ThreadLocal<>();
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    // IN (?, ?, ?) lists of any length share one shape
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+
+    @Override
+    public String inspect(String sql) {
+        Log log = CURRENT.get();
+        if (log != null) {
+            log.record(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Start counting on the current thread (replacing any count in progress)
+     */
+    public static Log start() {
+        Log log = new Log();
+        CURRENT.set(log);
+        return log;
+    }
+
+    // The count in progress on this thread, or null
+    public static Log current() {
+        return CURRENT.get();
+    }
+
+    public static Log stop() {
+        Log log = CURRENT.get();
+        CURRENT.remove();
+        return log;
+    }
+
+    static String shape(String sql) {
+        String collapsed = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return PARAMETER_LIST.matcher(collapsed).replaceAll("(?)");
+    }
+
+    public static final class Log {
+        private int count;
+        private final Map<String, Integer> shapes = new LinkedHashMap<>();
+
+        private void record(String sql) {
+            count++;
+            shapes.merge(shape(sql), 1, Integer::sum);
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        // Statement shape → times prepared, in first-seen order
+        public Map<String, Integer> getShapes() {
+            return Collections.unmodifiableMap(shapes);
+        }
+
+        /**
+         * Shapes prepared at least threshold times: the usual sign of a query per row
+         */
+        public Map<String, Integer> repeated(int threshold) {
+            Map<String, Integer> repeated = new LinkedHashMap<>();
+            shapes.forEach((shape, times) -> {
+                if (times >= threshold) {
+                    repeated.put(shape, times);
+                }
+            });
+            return repeated;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.civicflow.civicflow_backend.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * ⏰ Runs @Scheduled background jobs (e.g. VoteCountReconciler).
+ * Tests switch it off with civicflow.scheduling.enabled=false and call the jobs directly.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "civicflow.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
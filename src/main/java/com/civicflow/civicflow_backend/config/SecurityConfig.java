@@ -40,9 +40,15 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/issues").permitAll()     // public GET all issues
                         .requestMatchers(HttpMethod.GET, "/api/issues/{id}").permitAll() // public GET single issue
                         .requestMatchers(HttpMethod.GET, "/api/issues/filter").permitAll() // public GET smart filtering
+                        .requestMatchers(HttpMethod.GET, "/api/issues/search").permitAll() // public GET keyword search
+                        .requestMatchers(HttpMethod.GET, "/api/issues/clusters").permitAll() // public GET map clusters
+                        .requestMatchers(HttpMethod.GET, "/api/issues/heatmap").permitAll() // public GET heat layer
                         .requestMatchers(HttpMethod.GET, "/api/issues/nearby").permitAll() // public GET nearby issues
                         .requestMatchers(HttpMethod.GET, "/api/issues/nearby/**").permitAll() // public GET nearby filtered issues
                         .requestMatchers(HttpMethod.GET, "/api/issues/{id}/distance").permitAll() // public GET distance calculation
+                        .requestMatchers(HttpMethod.POST, "/api/issues/nearby/batch").permitAll() // public batch nearby lookups (read-only)
+                        .requestMatchers(HttpMethod.POST, "/api/issues/distance/batch").permitAll() // public batch distances (read-only)
+                        .requestMatchers(HttpMethod.GET, "/api/issues/votes/summary").permitAll() // public GET vote summaries of several issues
                         .requestMatchers(HttpMethod.GET, "/api/issues/{id}/votes/**").permitAll() // public GET vote summaries and votes
                         .requestMatchers(HttpMethod.GET, "/api/issues/{id}/votes").permitAll() // public GET all votes for issue
                         .anyRequest().authenticated()                                   // ALL OTHER endpoints require auth
@@ -69,6 +75,7 @@ public class SecurityConfig {
         configuration.setAllowedOriginPatterns(Arrays.asList("*")); // Allow all origins in development
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList("X-Next-Cursor")); // continues capped issue lists
         configuration.setAllowCredentials(true);
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
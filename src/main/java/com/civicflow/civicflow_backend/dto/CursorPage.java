@@ -0,0 +1,19 @@
+package com.civicflow.civicflow_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor; // pass back as ?cursor= to get the next page (null on the last page)
+    private boolean hasMore;
+    private int limit;
+}
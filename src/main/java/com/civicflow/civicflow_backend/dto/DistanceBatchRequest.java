@@ -0,0 +1,29 @@
+package com.civicflow.civicflow_backend.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Distances from one origin to many issues, like /{id}/distance for each ID
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DistanceBatchRequest {
+
+    @NotNull(message = "Latitude is required")
+    private Double latitude;
+
+    @NotNull(message = "Longitude is required")
+    private Double longitude;
+
+    @NotEmpty(message = "Issue IDs list cannot be empty")
+    private List<Long> issueIds;
+}
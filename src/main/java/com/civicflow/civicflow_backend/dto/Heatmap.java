@@ -0,0 +1,71 @@
+package com.civicflow.civicflow_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * A heat layer over a viewport: rows x columns cells of cellSize degrees, row-major from the
+ * south-west corner (west, south). Sent as {@link #encode()}, a run-length encoded binary
+ * body, because most cells of a heat layer are empty.
+ */
+@Getter
+@AllArgsConstructor
+public class Heatmap {
+
+    public static final String MEDIA_TYPE = "application/vnd.civicflow.heatmap";
+    public static final int FORMAT_VERSION = 1;
+
+    private final double west;
+    private final double south;
+    private final double cellSize;
+    private final int columns;
+    private final int rows;
+    private final float[] weights; // rows * columns, 0 for an empty cell
+
+    /**
+     * Big-endian layout:
+     * byte version, double west, double south, double cellSize, int columns, int rows,
+     * float maxWeight, then repeated (int emptyCells, float weight) until rows * columns
+     * cells are covered; trailing empty cells end with an int and no weight.
+     */
+    public byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeDouble(west);
+            out.writeDouble(south);
+            out.writeDouble(cellSize);
+            out.writeInt(columns);
+            out.writeInt(rows);
+            out.writeFloat(getMaxWeight());
+            int empty = 0;
+            for (float weight : weights) {
+                if (weight > 0) {
+                    out.writeInt(empty);
+                    out.writeFloat(weight);
+                    empty = 0;
+                } else {
+                    empty++;
+                }
+            }
+            if (empty > 0) {
+                out.writeInt(empty);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to encode heatmap", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public float getMaxWeight() {
+        float max = 0;
+        for (float weight : weights) {
+            max = Math.max(max, weight);
+        }
+        return max;
+    }
+}
@@ -0,0 +1,29 @@
+package com.civicflow.civicflow_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * State of the running (or last finished) bulk issue import
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportProgress {
+    private boolean running;
+    private String format;
+    private long rowsRead;
+    private long imported;
+    private long failed;
+    private LocalDateTime startedAt;
+    private long elapsedMs;
+    private double rowsPerSecond;
+    private List<String> errors; // first few rejected rows, with their line/record numbers
+    private String abortedReason; // set when a chunk failed to commit and the import stopped
+}
@@ -0,0 +1,22 @@
+package com.civicflow.civicflow_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One map marker for a grid cell at a zoom level: how many issues the cell holds,
+ * their centroid, how many are critical, and the most common category.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssueCluster {
+    private double latitude;
+    private double longitude;
+    private int count;
+    private int criticalCount;
+    private String topCategory; // null when no issue in the cell has a category
+}
@@ -0,0 +1,24 @@
+package com.civicflow.civicflow_backend.dto;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * One page of keyword search results. truncated: a query word was a prefix of more words than
+ * the search scores, so issues matching only the rarest of them are missing from the results.
+ */
+public class IssueSearchPage extends PageImpl<IssueSummary> {
+
+    private final boolean truncated;
+
+    public IssueSearchPage(List<IssueSummary> content, Pageable pageable, long total, boolean truncated) {
+        super(content, pageable, total);
+        this.truncated = truncated;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+}
@@ -0,0 +1,23 @@
+package com.civicflow.civicflow_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class IssueSnapshotStatsResponse {
+    
+    private boolean enabled;
+    private boolean ready;
+    private int issues;
+    private int slots;              // live + deleted slots awaiting compaction
+    private int capacity;
+    private int categories;
+    private long estimatedBytes;
+    private long bytesPerIssue;
+    private long estimatedBytesPerMillionIssues;
+}
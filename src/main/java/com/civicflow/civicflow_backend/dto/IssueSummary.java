@@ -0,0 +1,71 @@
+package com.civicflow.civicflow_backend.dto;
+
+import com.civicflow.civicflow_backend.model.Issue;
+import com.civicflow.civicflow_backend.model.IssueStatus;
+import com.civicflow.civicflow_backend.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * List-view shape of an issue: its own columns plus the id and username of the creator and
+ * the assigned NGO, instead of their full User records. Queries build it with a constructor
+ * expression (see IssueRepository.SUMMARY), so only these columns are selected.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssueSummary {
+    private Long id;
+    private String title;
+    private String description;
+    private String imageUrl;
+    private String category;
+    private IssueStatus status;
+    private Double latitude;
+    private Double longitude;
+    private int voteCount;
+    private boolean critical;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private UserRef createdBy;
+    private UserRef assignedNgo; // null when unassigned
+
+    // JPQL constructor expression: user columns arrive flat (null for a missing LEFT JOIN)
+    public IssueSummary(Long id, String title, String description, String imageUrl, String category,
+                        IssueStatus status, Double latitude, Double longitude, int voteCount, boolean critical,
+                        LocalDateTime createdAt, LocalDateTime updatedAt,
+                        Long createdById, String createdByUsername, Long assignedNgoId, String assignedNgoUsername) {
+        this(id, title, description, imageUrl, category, status, latitude, longitude, voteCount, critical,
+                createdAt, updatedAt, UserRef.of(createdById, createdByUsername),
+                UserRef.of(assignedNgoId, assignedNgoUsername));
+    }
+
+    // For issues that were already loaded as entities
+    public static IssueSummary from(Issue issue) {
+        return new IssueSummary(issue.getId(), issue.getTitle(), issue.getDescription(), issue.getImageUrl(),
+                issue.getCategory(), issue.getStatus(), issue.getLatitude(), issue.getLongitude(),
+                issue.getVoteCount(), issue.isCritical(), issue.getCreatedAt(), issue.getUpdatedAt(),
+                UserRef.of(issue.getCreatedBy()), UserRef.of(issue.getAssignedNgo()));
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class UserRef {
+        private Long id;
+        private String username;
+
+        static UserRef of(Long id, String username) {
+            return id != null ? new UserRef(id, username) : null;
+        }
+
+        static UserRef of(User user) {
+            return user != null ? new UserRef(user.getId(), user.getUsername()) : null;
+        }
+    }
+}
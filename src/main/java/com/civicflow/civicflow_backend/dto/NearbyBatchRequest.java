@@ -0,0 +1,35 @@
+package com.civicflow.civicflow_backend.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Many /nearby/filtered lookups in one call, e.g. every stop of a route
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class NearbyBatchRequest {
+
+    @NotEmpty(message = "Queries list cannot be empty")
+    private List<NearbyQuery> queries;
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class NearbyQuery {
+        private String key; // results are keyed by this, or by the query's position when missing
+        private Double latitude;
+        private Double longitude;
+        private Double radius; // km, defaults to 10
+        private String category;
+        private Boolean critical;
+    }
+}
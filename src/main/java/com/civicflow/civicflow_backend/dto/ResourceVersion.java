@@ -0,0 +1,42 @@
+package com.civicflow.civicflow_backend.dto;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Cheap version of a response (row count + latest updatedAt of what it is built from), checked
+ * against If-None-Match / If-Modified-Since before the response itself is loaded.
+ */
+@Getter
+public class ResourceVersion {
+
+    private final long count;
+    private final LocalDateTime lastModified; // null when there are no rows
+    private final String variant; // distinguishes per-caller responses of the same resource (optional)
+
+    public ResourceVersion(long count, LocalDateTime lastModified, String variant) {
+        this.count = count;
+        this.lastModified = lastModified;
+        this.variant = variant;
+    }
+
+    public boolean exists() {
+        return count > 0;
+    }
+
+    // Weak: the same version can serialize to different bytes (e.g. field order)
+    public String etag() {
+        StringBuilder tag = new StringBuilder("W/\"").append(count).append('-').append(lastModifiedMillis());
+        if (variant != null) {
+            tag.append('-').append(Integer.toHexString(variant.hashCode()));
+        }
+        return tag.append('"').toString();
+    }
+
+    // Epoch millis for Last-Modified, or -1 when there are no rows
+    public long lastModifiedMillis() {
+        return lastModified != null ? lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+}
@@ -0,0 +1,21 @@
+package com.civicflow.civicflow_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class VoteIndexStatsResponse {
+    
+    private boolean enabled;
+    private int issues;
+    private int maxIssues;
+    private long votes;
+    private long estimatedBytes;
+    private long hits;
+    private long misses;               // summaries that loaded an issue or fell back to SQL
+}
@@ -1,9 +1,11 @@
 package com.civicflow.civicflow_backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -13,11 +15,24 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Entity
+@Table(indexes = {
+        // 🌍 Supports the bounding-box prefilter of radius queries
+        @Index(name = "idx_issue_lat_lng", columnList = "latitude, longitude")
+})
+@NamedEntityGraph(name = Issue.WITH_USERS, attributeNodes = {
+        @NamedAttributeNode("createdBy"),
+        @NamedAttributeNode("assignedNgo")
+})
 @EntityListeners(AuditingEntityListener.class) // 👈 Needed for auditing
 public class Issue {
 
+    // 🔗 Loads creator and NGO in the same query, for views that render them (both are LAZY otherwise)
+    public static final String WITH_USERS = "Issue.withUsers";
+
+    // 🔢 Pooled sequence: one nextval per 50 inserts, and inserts can be JDBC-batched (IDENTITY cannot)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "issue_seq")
+    @SequenceGenerator(name = "issue_seq", sequenceName = "issue_seq", allocationSize = 50)
     private Long id;
 
     private String title;
@@ -28,6 +43,9 @@ public class Issue {
     private Double latitude;
     private Double longitude;
 
+    // ➕ Written only by IssueRepository.addToVoteCount / repairVoteCount: entity saves leave it
+    // alone, so a copy loaded before a concurrent vote cannot flush a stale count back
+    @Column(updatable = false)
     private int voteCount;
     private boolean critical;
 
@@ -35,13 +53,13 @@ public class Issue {
     private IssueStatus status = IssueStatus.OPEN;
 
     // 🔗 Track who created this issue (REQUIRED)
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by_user_id", nullable = false)
     @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     private User createdBy;
 
     // 🔗 Track which NGO is assigned (OPTIONAL)
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assigned_ngo_id")
     @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     private User assignedNgo;
@@ -53,4 +71,12 @@ public class Issue {
     @LastModifiedDate
     @Column(nullable = false) // updated each modification
     private LocalDateTime updatedAt;
+
+    // 🔢 Bumped by every write to the row (entity saves and the vote counter updates alike), so
+    // in-memory read models can tell a late event from a newer one; stale entity saves fail
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonIgnore
+    private long version;
 }
@@ -0,0 +1,32 @@
+package com.civicflow.civicflow_backend.model;
+
+public enum IssueSortMode {
+    SMART,    // votes → proximity → critical → recency
+    LOCATION, // closest first
+    POPULAR,  // most voted first
+    CRITICAL, // critical first, then votes
+    NEWEST,
+    OLDEST;
+
+    // Map the sortBy request parameter to a mode (unknown values fall back to SMART)
+    public static IssueSortMode fromParam(String sortBy) {
+        if (sortBy == null) {
+            return SMART;
+        }
+        switch (sortBy.toLowerCase()) {
+            case "location":
+                return LOCATION;
+            case "popular":
+            case "votes":
+                return POPULAR;
+            case "critical":
+                return CRITICAL;
+            case "newest":
+                return NEWEST;
+            case "oldest":
+                return OLDEST;
+            default:
+                return SMART;
+        }
+    }
+}
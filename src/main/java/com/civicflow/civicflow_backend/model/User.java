@@ -18,6 +18,8 @@ import java.time.LocalDateTime;
 @Table(name = "users", uniqueConstraints = {
         @UniqueConstraint(name = "uk_users_username", columnNames = "username"),
         @UniqueConstraint(name = "uk_users_email", columnNames = "email")
+}, indexes = {
+        @Index(name = "idx_users_lat_lng", columnList = "latitude, longitude")
 })
 @EntityListeners(AuditingEntityListener.class)
 public class User {
@@ -11,6 +11,10 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "votes", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"user_id", "issue_id"})
+}, indexes = {
+    // 📜 Back the newest-first vote history pages of an issue and of a user
+    @Index(name = "idx_vote_issue_created", columnList = "issue_id, created_at"),
+    @Index(name = "idx_vote_user_created", columnList = "user_id, created_at")
 })
 @Data
 @Builder
@@ -18,8 +22,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Vote {
     
+    // Pooled sequence so vote inserts can be JDBC-batched (see Issue.id)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "votes_seq")
+    @SequenceGenerator(name = "votes_seq", sequenceName = "votes_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,112 @@
+package com.civicflow.civicflow_backend.repository;
+
+/**
+ * Lat/lng rectangle enclosing a search circle, used as an index-friendly prefilter
+ * before the exact great-circle distance is computed.
+ * A box crossing the antimeridian is split into two longitude ranges; a circle that
+ * reaches a pole covers every longitude. Queries always test both ranges, which are
+ * identical when the box does not wrap.
+ */
+public final class GeoBoundingBox {
+
+    private final double minLatitude;
+    private final double maxLatitude;
+    private final double westLongitude;
+    private final double eastLongitude;
+    private final boolean allLongitudes;
+
+    private GeoBoundingBox(double minLatitude, double maxLatitude,
+                           double westLongitude, double eastLongitude, boolean allLongitudes) {
+        this.minLatitude = minLatitude;
+        this.maxLatitude = maxLatitude;
+        this.westLongitude = westLongitude;
+        this.eastLongitude = eastLongitude;
+        this.allLongitudes = allLongitudes;
+    }
+
+    /**
+     * Smallest box containing every point within radiusKm of the given point
+     */
+    public static GeoBoundingBox around(double latitude, double longitude, double radiusKm) {
+        double angularRadius = radiusKm / IssueSpecifications.EARTH_RADIUS_KM;
+        double latSpan = Math.toDegrees(angularRadius);
+        double minLat = latitude - latSpan;
+        double maxLat = latitude + latSpan;
+
+        // A circle reaching a pole (any circle wider than a hemisphere does) covers every longitude
+        if (minLat <= -90 || maxLat >= 90 || angularRadius >= Math.PI / 2) {
+            return new GeoBoundingBox(Math.max(minLat, -90), Math.min(maxLat, 90), -180, 180, true);
+        }
+
+        // Longitude half-width at the circle's tangent meridians, wider than latSpan away from the equator
+        double lngSpan = Math.toDegrees(Math.asin(Math.sin(angularRadius) / Math.cos(Math.toRadians(latitude))));
+        if (Double.isNaN(lngSpan) || lngSpan >= 180) {
+            return new GeoBoundingBox(minLat, maxLat, -180, 180, true);
+        }
+        return new GeoBoundingBox(minLat, maxLat,
+                normalize(longitude - lngSpan), normalize(longitude + lngSpan), false);
+    }
+
+    public double getMinLatitude() {
+        return minLatitude;
+    }
+
+    public double getMaxLatitude() {
+        return maxLatitude;
+    }
+
+    // Western edge in [-180, 180]; greater than the eastern edge when the box wraps
+    public double getWestLongitude() {
+        return westLongitude;
+    }
+
+    public double getEastLongitude() {
+        return eastLongitude;
+    }
+
+    public boolean isAllLongitudes() {
+        return allLongitudes;
+    }
+
+    public boolean crossesAntimeridian() {
+        return !allLongitudes && westLongitude > eastLongitude;
+    }
+
+    // First longitude range: west edge up to the east edge, or up to 180 when the box wraps
+    public double getMinLongitude() {
+        return westLongitude;
+    }
+
+    public double getMaxLongitude() {
+        return crossesAntimeridian() ? 180 : eastLongitude;
+    }
+
+    // Second longitude range: -180 up to the east edge when the box wraps, else the first range again
+    public double getWrappedMinLongitude() {
+        return crossesAntimeridian() ? -180 : westLongitude;
+    }
+
+    public double getWrappedMaxLongitude() {
+        return eastLongitude;
+    }
+
+    public boolean contains(double latitude, double longitude) {
+        if (latitude < minLatitude || latitude > maxLatitude) {
+            return false;
+        }
+        return (longitude >= getMinLongitude() && longitude <= getMaxLongitude())
+                || (longitude >= getWrappedMinLongitude() && longitude <= getWrappedMaxLongitude());
+    }
+
+    private static double normalize(double longitude) {
+        double wrapped = ((longitude + 180) % 360 + 360) % 360 - 180;
+        // Keep +180 on the east edge rather than folding it onto -180
+        return wrapped == -180 && longitude > 0 ? 180 : wrapped;
+    }
+
+    @Override
+    public String toString() {
+        return "GeoBoundingBox[lat " + minLatitude + ".." + maxLatitude
+                + ", lng " + westLongitude + ".." + eastLongitude + (allLongitudes ? " (all)" : "") + "]";
+    }
+}
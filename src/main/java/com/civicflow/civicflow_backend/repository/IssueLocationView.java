@@ -0,0 +1,11 @@
+package com.civicflow.civicflow_backend.repository;
+
+// Columns the in-memory spatial index needs, loaded without hydrating Issue entities
+public interface IssueLocationView {
+    Long getId();
+    Double getLatitude();
+    Double getLongitude();
+    String getCategory();
+    Boolean getCritical();
+    Long getVersion();
+}
@@ -0,0 +1,64 @@
+package com.civicflow.civicflow_backend.repository;
+
+import com.civicflow.civicflow_backend.dto.IssueSummary;
+import com.civicflow.civicflow_backend.model.Issue;
+import com.civicflow.civicflow_backend.model.IssueSortMode;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+// Hand-written Criteria queries that Spring Data cannot derive (mixed into IssueRepository)
+public interface IssueQueryRepository {
+
+    /**
+     * Keyset page of issues matching the filters, ordered by the sort mode.
+     * @param afterKey sort key of the last row of the previous page (null for the first page)
+     * @param limit maximum number of rows to return
+     * @return rows with their sort keys, in order
+     */
+    List<KeysetRow<Issue>> findPageAfter(Specification<Issue> filters, IssueSortMode sortMode,
+                                         Double latitude, Double longitude,
+                                         List<Object> afterKey, int limit);
+
+    /**
+     * findPageAfter selecting only the IssueSummary columns
+     */
+    List<KeysetRow<IssueSummary>> findSummaryPageAfter(Specification<Issue> filters, IssueSortMode sortMode,
+                                                       Double latitude, Double longitude,
+                                                       List<Object> afterKey, int limit);
+
+    /**
+     * Offset page of IssueSummary rows matching the filters, ordered by the sort mode
+     * (the count query runs only when the page does not reveal the total)
+     */
+    Page<IssueSummary> findSummaries(Specification<Issue> filters, IssueSortMode sortMode,
+                                     Double latitude, Double longitude, Pageable pageable);
+
+    /**
+     * The SMART ranking's inputs of every issue matching the filters, for ranking in memory.
+     * Rows are detached Issue instances with only id, voteCount, latitude, longitude, critical
+     * and createdAt set; the caller ranks them and loads just the page's rows.
+     */
+    List<Issue> findSmartRankingKeys(Specification<Issue> filters);
+
+    /**
+     * Issues within a radius, closest first, optionally filtered like findNearbyIssuesWithFilters.
+     * Uses ST_DWithin and KNN ordering on the geography column when PostGIS mode is enabled,
+     * otherwise the Haversine query.
+     * @param category exact category match (optional)
+     * @param critical critical flag match (optional)
+     */
+    List<Issue> findNearby(double latitude, double longitude, double radiusKm, String category, Boolean critical);
+
+    /**
+     * Every issue matching the filters in ID order, read through a server-side cursor.
+     * Creator and assigned NGO are fetched in the same row. Rows are read-only; the caller
+     * must consume the stream inside a transaction, close it, and clear the persistence
+     * context as it goes to keep memory flat.
+     * @param fetchSize rows the JDBC driver fetches per round-trip
+     */
+    Stream<Issue> streamForExport(Specification<Issue> filters, int fetchSize);
+}
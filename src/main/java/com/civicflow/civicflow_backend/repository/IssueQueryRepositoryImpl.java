@@ -0,0 +1,238 @@
+package com.civicflow.civicflow_backend.repository;
+
+import com.civicflow.civicflow_backend.dto.IssueSummary;
+import com.civicflow.civicflow_backend.model.Issue;
+import com.civicflow.civicflow_backend.model.IssueSortMode;
+import com.civicflow.civicflow_backend.model.IssueStatus;
+import com.civicflow.civicflow_backend.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+public class IssueQueryRepositoryImpl implements IssueQueryRepository {
+
+    // ST_DWithin prefilters through the GiST index; <-> orders by true distance to the point
+    private static final String POSTGIS_NEARBY_SQL =
+            "SELECT i.* FROM issue i " +
+            "WHERE ST_DWithin(i.geog, CAST(ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326) AS geography), :meters) " +
+            "AND (CAST(:category AS varchar) IS NULL OR i.category = :category) " +
+            "AND (CAST(:critical AS boolean) IS NULL OR i.critical = :critical) " +
+            "ORDER BY i.geog <-> CAST(ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326) AS geography), i.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${civicflow.geo.postgis.enabled:false}")
+    private boolean postgisEnabled;
+
+    // Lazy: the repository proxy this fragment belongs to is still being created
+    @Lazy
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @Override
+    public List<KeysetRow<Issue>> findPageAfter(Specification<Issue> filters, IssueSortMode sortMode,
+                                                Double latitude, Double longitude,
+                                                List<Object> afterKey, int limit) {
+        return pageAfter(filters, sortMode, latitude, longitude, afterKey, limit,
+                IssueQueryRepositoryImpl::withUsers, tuple -> tuple.get(0, Issue.class));
+    }
+
+    @Override
+    public List<KeysetRow<IssueSummary>> findSummaryPageAfter(Specification<Issue> filters, IssueSortMode sortMode,
+                                                              Double latitude, Double longitude,
+                                                              List<Object> afterKey, int limit) {
+        return pageAfter(filters, sortMode, latitude, longitude, afterKey, limit,
+                IssueQueryRepositoryImpl::summarySelections, IssueQueryRepositoryImpl::toSummary);
+    }
+
+    @Override
+    public Page<IssueSummary> findSummaries(Specification<Issue> filters, IssueSortMode sortMode,
+                                            Double latitude, Double longitude, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Issue> root = query.from(Issue.class);
+        Predicate filter = filters != null ? filters.toPredicate(root, query, cb) : null;
+        query.multiselect(summarySelections(root))
+                .orderBy(IssueSpecifications.orders(root, cb, sortMode, latitude, longitude));
+        if (filter != null) {
+            query.where(filter);
+        }
+
+        TypedQuery<Tuple> typed = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typed.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        }
+        List<IssueSummary> content = new ArrayList<>();
+        for (Tuple tuple : typed.getResultList()) {
+            content.add(toSummary(tuple));
+        }
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(filters));
+    }
+
+    @Override
+    public List<Issue> findSmartRankingKeys(Specification<Issue> filters) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Issue> root = query.from(Issue.class);
+        Predicate filter = filters != null ? filters.toPredicate(root, query, cb) : null;
+        query.multiselect(root.get("id"), root.get("voteCount"), root.get("latitude"), root.get("longitude"),
+                root.get("critical"), root.get("createdAt"));
+        if (filter != null) {
+            query.where(filter);
+        }
+
+        List<Tuple> tuples = entityManager.createQuery(query).getResultList();
+        List<Issue> keys = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Issue issue = new Issue();
+            issue.setId(tuple.get(0, Long.class));
+            issue.setVoteCount(tuple.get(1, Integer.class));
+            issue.setLatitude(tuple.get(2, Double.class));
+            issue.setLongitude(tuple.get(3, Double.class));
+            issue.setCritical(tuple.get(4, Boolean.class));
+            issue.setCreatedAt(tuple.get(5, LocalDateTime.class));
+            keys.add(issue);
+        }
+        return keys;
+    }
+
+    @Override
+    public Stream<Issue> streamForExport(Specification<Issue> filters, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Issue> query = cb.createQuery(Issue.class);
+        Root<Issue> root = query.from(Issue.class);
+        root.fetch("createdBy", JoinType.LEFT);
+        root.fetch("assignedNgo", JoinType.LEFT);
+        Predicate filter = filters != null ? filters.toPredicate(root, query, cb) : null;
+        query.select(root).orderBy(cb.asc(root.get("id")));
+        if (filter != null) {
+            query.where(filter);
+        }
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private long count(Specification<Issue> filters) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Issue> root = query.from(Issue.class);
+        Predicate filter = filters != null ? filters.toPredicate(root, query, cb) : null;
+        query.select(cb.count(root));
+        if (filter != null) {
+            query.where(filter);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private <T> List<KeysetRow<T>> pageAfter(Specification<Issue> filters, IssueSortMode sortMode,
+                                             Double latitude, Double longitude,
+                                             List<Object> afterKey, int limit,
+                                             Function<Root<Issue>, List<Selection<?>>> select,
+                                             Function<Tuple, T> read) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Issue> root = query.from(Issue.class);
+        List<Order> orders = IssueSpecifications.orders(root, cb, sortMode, latitude, longitude);
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate filter = filters != null ? filters.toPredicate(root, query, cb) : null;
+        if (filter != null) {
+            predicates.add(filter);
+        }
+        if (afterKey != null) {
+            predicates.add(IssueSpecifications.after(cb, orders, afterKey));
+        }
+
+        // Select the sort keys after the item so the cursor carries the database's own values
+        List<Selection<?>> selections = new ArrayList<>(select.apply(root));
+        int keyStart = selections.size();
+        for (Order order : orders) {
+            selections.add(order.getExpression());
+        }
+        query.multiselect(selections)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(orders);
+
+        List<Tuple> tuples = entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+
+        List<KeysetRow<T>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            List<Object> key = new ArrayList<>(orders.size());
+            for (int i = 0; i < orders.size(); i++) {
+                key.add(tuple.get(keyStart + i));
+            }
+            rows.add(new KeysetRow<>(read.apply(tuple), key));
+        }
+        return rows;
+    }
+
+    // The issue with its creator and NGO fetched in the same row, like Issue.WITH_USERS
+    private static List<Selection<?>> withUsers(Root<Issue> root) {
+        root.fetch("createdBy", JoinType.LEFT);
+        root.fetch("assignedNgo", JoinType.LEFT);
+        return List.of(root);
+    }
+
+    // Same columns, in the same order, as IssueRepository.SUMMARY
+    private static List<Selection<?>> summarySelections(Root<Issue> root) {
+        Join<Issue, User> creator = root.join("createdBy");
+        Join<Issue, User> ngo = root.join("assignedNgo", JoinType.LEFT);
+        return List.of(root.get("id"), root.get("title"), root.get("description"), root.get("imageUrl"),
+                root.get("category"), root.get("status"), root.get("latitude"), root.get("longitude"),
+                root.get("voteCount"), root.get("critical"), root.get("createdAt"), root.get("updatedAt"),
+                creator.get("id"), creator.get("username"), ngo.get("id"), ngo.get("username"));
+    }
+
+    private static IssueSummary toSummary(Tuple tuple) {
+        return new IssueSummary(tuple.get(0, Long.class), tuple.get(1, String.class), tuple.get(2, String.class),
+                tuple.get(3, String.class), tuple.get(4, String.class), tuple.get(5, IssueStatus.class),
+                tuple.get(6, Double.class), tuple.get(7, Double.class), tuple.get(8, Integer.class),
+                tuple.get(9, Boolean.class), tuple.get(10, LocalDateTime.class), tuple.get(11, LocalDateTime.class),
+                tuple.get(12, Long.class), tuple.get(13, String.class), tuple.get(14, Long.class),
+                tuple.get(15, String.class));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Issue> findNearby(double latitude, double longitude, double radiusKm,
+                                  String category, Boolean critical) {
+        if (!postgisEnabled) {
+            return issueRepository.findNearbyIssuesWithFilters(latitude, longitude, radiusKm, category, critical);
+        }
+        return entityManager.createNativeQuery(POSTGIS_NEARBY_SQL, Issue.class)
+                .setParameter("latitude", latitude)
+                .setParameter("longitude", longitude)
+                .setParameter("meters", radiusKm * 1000)
+                .setParameter("category", category)
+                .setParameter("critical", critical)
+                .getResultList();
+    }
+}
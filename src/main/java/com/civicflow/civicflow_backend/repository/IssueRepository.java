@@ -1,23 +1,62 @@
 package com.civicflow.civicflow_backend.repository;
 
+import com.civicflow.civicflow_backend.dto.IssueSummary;
 import com.civicflow.civicflow_backend.model.Issue;
 import com.civicflow.civicflow_backend.model.IssueStatus;
 import com.civicflow.civicflow_backend.model.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+
+public interface IssueRepository extends JpaRepository<Issue, Long>, JpaSpecificationExecutor<Issue>, IssueQueryRepository {
+
+    // Lat/lng prefilter bound from a GeoBoundingBox parameter named "box" (two ranges cover the antimeridian)
+    String BOUNDING_BOX =
+           "i.latitude BETWEEN :#{#box.minLatitude} AND :#{#box.maxLatitude} " +
+           "AND (i.longitude BETWEEN :#{#box.minLongitude} AND :#{#box.maxLongitude} " +
+           "OR i.longitude BETWEEN :#{#box.wrappedMinLongitude} AND :#{#box.wrappedMaxLongitude}) ";
+
+    // List-view columns only: the creator and NGO contribute their id and username, not whole User rows
+    String SUMMARY =
+           "SELECT new com.civicflow.civicflow_backend.dto.IssueSummary(i.id, i.title, i.description, i.imageUrl, " +
+           "i.category, i.status, i.latitude, i.longitude, i.voteCount, i.critical, i.createdAt, i.updatedAt, " +
+           "c.id, c.username, n.id, n.username) " +
+           "FROM Issue i JOIN i.createdBy c LEFT JOIN i.assignedNgo n ";
+
+    // Detail views: the issue with its creator and NGO in one query
+    @EntityGraph(Issue.WITH_USERS)
+    Optional<Issue> findWithUsersById(Long id);
 
-public interface IssueRepository extends JpaRepository<Issue, Long> {
     // Find issues created by a specific user
     List<Issue> findByCreatedBy(User createdBy);
+
+    // 📋 LIST VIEWS (IssueSummary projections)
+    @Query(SUMMARY + "ORDER BY i.id")
+    List<IssueSummary> findAllSummaries();
+
+    @Query(SUMMARY + "WHERE i.createdBy = :user ORDER BY i.id")
+    List<IssueSummary> findSummariesByCreatedBy(@Param("user") User user);
+
+    // Unordered: callers put them back in the order of the IDs they asked for
+    @Query(SUMMARY + "WHERE i.id IN :ids")
+    List<IssueSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
     
     // Find issues assigned to a specific NGO
     List<Issue> findByAssignedNgo(User assignedNgo);
+    @EntityGraph(Issue.WITH_USERS)
     Page<Issue> findByAssignedNgo(User assignedNgo, Pageable pageable);
+    @EntityGraph(Issue.WITH_USERS)
     Page<Issue> findByAssignedNgoAndStatus(User assignedNgo, IssueStatus status, Pageable pageable);
     
     // Find issues by category
@@ -33,10 +72,49 @@ public interface IssueRepository extends JpaRepository<Issue, Long> {
     // User statistics queries
     Long countByCreatedBy(User createdBy);
     Long countByCreatedByAndCreatedAtAfter(User createdBy, LocalDateTime dateTime);
+
+    // Issues reported per user, for several users in one query (users with none are absent)
+    @Query("SELECT i.createdBy.id AS userId, COUNT(i) AS total FROM Issue i " +
+           "WHERE i.createdBy.id IN :userIds GROUP BY i.createdBy.id")
+    List<UserCountView> countByCreatorIds(@Param("userIds") Collection<Long> userIds);
+    
+    // Vote writes read the issue with its row locked until commit, so no other write can move its
+    // version in between: the version after addToVoteCount is the one read plus one
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Issue i WHERE i.id = :id")
+    Optional<Issue> findByIdForVoteWrite(@Param("id") Long id);
+    
+    // Vote counter change in one statement: concurrent votes add up instead of overwriting each other.
+    // updatedAt moves too, so conditional GETs of the issue see the new count, and so does the version.
+    @Modifying
+    @Query("UPDATE Issue i SET i.voteCount = i.voteCount + :delta, i.updatedAt = :now, i.version = i.version + 1 " +
+           "WHERE i.id = :id")
+    int addToVoteCount(@Param("id") Long id, @Param("delta") int delta, @Param("now") LocalDateTime now);
+    
+    // Issues with IDs in [fromId, toId] whose vote counter differs from the sum of their votes
+    @Query("SELECT i.id AS issueId, i.voteCount AS stored, " +
+           "COALESCE(SUM(CASE WHEN v.type = 'UPVOTE' THEN 1 WHEN v.type = 'DOWNVOTE' THEN -1 ELSE 0 END), 0) AS actual " +
+           "FROM Issue i LEFT JOIN Vote v ON v.issue = i " +
+           "WHERE i.id BETWEEN :fromId AND :toId GROUP BY i.id, i.voteCount " +
+           "HAVING i.voteCount <> COALESCE(SUM(CASE WHEN v.type = 'UPVOTE' THEN 1 WHEN v.type = 'DOWNVOTE' THEN -1 ELSE 0 END), 0)")
+    List<VoteCountDriftView> findVoteCountDrift(@Param("fromId") Long fromId, @Param("toId") Long toId);
+    
+    // Repair a drifted counter, unless a vote changed it since the drift was measured
+    @Modifying
+    @Query("UPDATE Issue i SET i.voteCount = :actual, i.updatedAt = :now, i.version = i.version + 1 " +
+           "WHERE i.id = :id AND i.voteCount = :stored")
+    int repairVoteCount(@Param("id") Long id, @Param("stored") int stored, @Param("actual") int actual,
+                        @Param("now") LocalDateTime now);
+    
+    @Query("SELECT MAX(i.id) FROM Issue i")
+    Long findMaxId();
     
-    // 🌍 LOCATION-BASED SEARCH: Find issues within radius using Haversine formula
+    // 🌍 LOCATION-BASED SEARCH: Find issues within radius using Haversine formula.
+    // The bounding-box range on latitude/longitude can use idx_issue_lat_lng, so the
+    // exact distance is only computed for rows inside the box.
     @Query("SELECT i FROM Issue i WHERE " +
-           "(6371 * acos(cos(radians(:latitude)) * cos(radians(i.latitude)) * " +
+           BOUNDING_BOX +
+           "AND (6371 * acos(cos(radians(:latitude)) * cos(radians(i.latitude)) * " +
            "cos(radians(i.longitude) - radians(:longitude)) + " +
            "sin(radians(:latitude)) * sin(radians(i.latitude)))) <= :radius " +
            "ORDER BY (6371 * acos(cos(radians(:latitude)) * cos(radians(i.latitude)) * " +
@@ -44,11 +122,18 @@ public interface IssueRepository extends JpaRepository<Issue, Long> {
            "sin(radians(:latitude)) * sin(radians(i.latitude))))")
     List<Issue> findIssuesWithinRadius(@Param("latitude") Double latitude, 
                                       @Param("longitude") Double longitude, 
-                                      @Param("radius") Double radiusKm);
+                                      @Param("radius") Double radiusKm,
+                                      @Param("box") GeoBoundingBox box);
+
+    default List<Issue> findIssuesWithinRadius(Double latitude, Double longitude, Double radiusKm) {
+        return findIssuesWithinRadius(latitude, longitude, radiusKm,
+                GeoBoundingBox.around(latitude, longitude, radiusKm));
+    }
     
     // 🌍 Find nearby issues with additional filters
     @Query("SELECT i FROM Issue i WHERE " +
-           "(6371 * acos(cos(radians(:latitude)) * cos(radians(i.latitude)) * " +
+           BOUNDING_BOX +
+           "AND (6371 * acos(cos(radians(:latitude)) * cos(radians(i.latitude)) * " +
            "cos(radians(i.longitude) - radians(:longitude)) + " +
            "sin(radians(:latitude)) * sin(radians(i.latitude)))) <= :radius " +
            "AND (:category IS NULL OR i.category = :category) " +
@@ -60,5 +145,60 @@ public interface IssueRepository extends JpaRepository<Issue, Long> {
                                            @Param("longitude") Double longitude, 
                                            @Param("radius") Double radiusKm,
                                            @Param("category") String category,
-                                           @Param("critical") Boolean critical);
+                                           @Param("critical") Boolean critical,
+                                           @Param("box") GeoBoundingBox box);
+
+    default List<Issue> findNearbyIssuesWithFilters(Double latitude, Double longitude, Double radiusKm,
+                                                    String category, Boolean critical) {
+        return findNearbyIssuesWithFilters(latitude, longitude, radiusKm, category, critical,
+                GeoBoundingBox.around(latitude, longitude, radiusKm));
+    }
+
+    // 🏷️ VERSIONS for conditional GETs (count + latest updatedAt, without loading the issues)
+    // The detail view embeds the reporter and the NGO, so their profile changes count too
+    @Query("SELECT COUNT(i) AS total, " +
+           "MAX(GREATEST(i.updatedAt, c.updatedAt, COALESCE(n.updatedAt, i.updatedAt))) AS lastModified " +
+           "FROM Issue i JOIN i.createdBy c LEFT JOIN i.assignedNgo n WHERE i.id = :id")
+    VersionView findVersionById(@Param("id") Long id);
+
+    @Query("SELECT COUNT(i) AS total, MAX(i.updatedAt) AS lastModified FROM Issue i WHERE " +
+           BOUNDING_BOX +
+           "AND (6371 * acos(cos(radians(:latitude)) * cos(radians(i.latitude)) * " +
+           "cos(radians(i.longitude) - radians(:longitude)) + " +
+           "sin(radians(:latitude)) * sin(radians(i.latitude)))) <= :radius " +
+           "AND (:category IS NULL OR i.category = :category) " +
+           "AND (:critical IS NULL OR i.critical = :critical)")
+    VersionView findNearbyVersion(@Param("latitude") Double latitude,
+                                  @Param("longitude") Double longitude,
+                                  @Param("radius") Double radiusKm,
+                                  @Param("category") String category,
+                                  @Param("critical") Boolean critical,
+                                  @Param("box") GeoBoundingBox box);
+
+    default VersionView findNearbyVersion(Double latitude, Double longitude, Double radiusKm,
+                                          String category, Boolean critical) {
+        return findNearbyVersion(latitude, longitude, radiusKm, category, critical,
+                GeoBoundingBox.around(latitude, longitude, radiusKm));
+    }
+
+    // Coordinates of every issue, for rebuilding the in-memory spatial index and cluster grid.
+    // Unlocated issues are included (null coordinates) so their versions are known too.
+    @Query("SELECT i.id AS id, i.latitude AS latitude, i.longitude AS longitude, " +
+           "i.category AS category, i.critical AS critical, i.version AS version FROM Issue i")
+    List<IssueLocationView> findAllLocations();
+
+    // Coordinates of the given issues in one query (latitude/longitude may be null)
+    @Query("SELECT i.id AS id, i.latitude AS latitude, i.longitude AS longitude, " +
+           "i.category AS category, i.critical AS critical, i.version AS version FROM Issue i WHERE i.id IN :ids")
+    List<IssueLocationView> findLocationsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Filter and sort columns of every issue, in id order, for rebuilding the in-memory issue snapshot
+    @Query("SELECT i.id AS id, i.latitude AS latitude, i.longitude AS longitude, i.voteCount AS voteCount, " +
+           "i.status AS status, i.category AS category, i.critical AS critical, i.createdAt AS createdAt, " +
+           "i.version AS version FROM Issue i ORDER BY i.id")
+    List<IssueSnapshotView> findAllSnapshotRows();
+
+    @Query("SELECT i.id AS id, i.title AS title, i.description AS description, i.category AS category, " +
+           "i.status AS status, i.latitude AS latitude, i.longitude AS longitude, i.version AS version FROM Issue i")
+    List<IssueSearchView> findAllSearchRows();
 }
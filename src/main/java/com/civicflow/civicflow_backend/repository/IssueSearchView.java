@@ -0,0 +1,15 @@
+package com.civicflow.civicflow_backend.repository;
+
+import com.civicflow.civicflow_backend.model.IssueStatus;
+
+// Columns of the in-memory search index (see findAllSearchRows)
+public interface IssueSearchView {
+    Long getId();
+    String getTitle();
+    String getDescription();
+    String getCategory();
+    IssueStatus getStatus();
+    Double getLatitude();
+    Double getLongitude();
+    Long getVersion();
+}
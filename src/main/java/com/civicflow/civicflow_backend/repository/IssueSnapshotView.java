@@ -0,0 +1,18 @@
+package com.civicflow.civicflow_backend.repository;
+
+import com.civicflow.civicflow_backend.model.IssueStatus;
+
+import java.time.LocalDateTime;
+
+// Columns of the in-memory issue snapshot (see findAllSnapshotRows)
+public interface IssueSnapshotView {
+    Long getId();
+    Double getLatitude();
+    Double getLongitude();
+    Integer getVoteCount();
+    IssueStatus getStatus();
+    String getCategory();
+    Boolean getCritical();
+    LocalDateTime getCreatedAt();
+    Long getVersion();
+}
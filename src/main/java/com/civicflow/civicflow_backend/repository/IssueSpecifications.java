@@ -0,0 +1,249 @@
+package com.civicflow.civicflow_backend.repository;
+
+import com.civicflow.civicflow_backend.model.Issue;
+import com.civicflow.civicflow_backend.model.IssueSortMode;
+import com.civicflow.civicflow_backend.model.IssueStatus;
+import com.civicflow.civicflow_backend.model.User;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.ClassUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Query building blocks for the smart issue filter.
+ * Each method returns null when its parameter is absent so callers can chain them with
+ * Specification.where(...).and(...) without null checks.
+ */
+public final class IssueSpecifications {
+
+    public static final double EARTH_RADIUS_KM = 6371;
+
+    private IssueSpecifications() {
+    }
+
+    public static Specification<Issue> hasCategory(String category) {
+        if (category == null || category.trim().isEmpty()) {
+            return null;
+        }
+        // Stored categories are compared trimmed and lower-cased too, as IssueSnapshot does
+        String normalized = category.trim().toLowerCase();
+        return (root, query, cb) -> cb.equal(cb.lower(cb.trim(root.get("category"))), normalized);
+    }
+
+    public static Specification<Issue> isCritical(Boolean critical) {
+        if (critical == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("critical"), critical);
+    }
+
+    public static Specification<Issue> hasStatus(IssueStatus status) {
+        if (status == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Issue> hasMinVotes(Integer minVotes) {
+        if (minVotes == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("voteCount"), minVotes);
+    }
+
+    // Every word somewhere in the title or description, case-insensitively (words are letters and digits)
+    public static Specification<Issue> containsWords(List<String> words) {
+        if (words == null || words.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            for (String word : words) {
+                String pattern = "%" + word.toLowerCase() + "%";
+                predicates.add(cb.or(cb.like(cb.lower(root.get("title")), pattern),
+                        cb.like(cb.lower(root.get("description")), pattern)));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    public static Specification<Issue> createdBy(User user) {
+        return (root, query, cb) -> cb.equal(root.get("createdBy"), user);
+    }
+
+    public static Specification<Issue> assignedTo(User ngo) {
+        return (root, query, cb) -> cb.equal(root.get("assignedNgo"), ngo);
+    }
+
+    public static Specification<Issue> createdAfter(LocalDateTime dateFrom) {
+        if (dateFrom == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThan(root.get("createdAt"), dateFrom);
+    }
+
+    public static Specification<Issue> createdBefore(LocalDateTime dateTo) {
+        if (dateTo == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThan(root.get("createdAt"), dateTo);
+    }
+
+    /**
+     * Issues within radiusKm of the given point (great-circle distance).
+     * Compares the cosine of the central angle instead of the distance itself:
+     * acos is monotonic, so this avoids acos() per row and its domain errors on rounding.
+     * A bounding-box range comes first so the lat/lng index narrows the rows to measure.
+     */
+    public static Specification<Issue> withinRadius(Double latitude, Double longitude, Number radiusKm) {
+        if (latitude == null || longitude == null || radiusKm == null) {
+            return null;
+        }
+        double angle = radiusKm.doubleValue() / EARTH_RADIUS_KM;
+        GeoBoundingBox box = GeoBoundingBox.around(latitude, longitude, radiusKm.doubleValue());
+        return (root, query, cb) -> {
+            if (angle >= Math.PI) {
+                return cb.and(cb.isNotNull(root.get("latitude")), cb.isNotNull(root.get("longitude")));
+            }
+            return cb.and(
+                    insideBox(root, cb, box),
+                    cb.greaterThanOrEqualTo(centralAngleCosine(root, cb, latitude, longitude), Math.cos(angle)));
+        };
+    }
+
+    static Predicate insideBox(Root<Issue> root, CriteriaBuilder cb, GeoBoundingBox box) {
+        Expression<Double> issueLat = root.get("latitude");
+        Expression<Double> issueLng = root.get("longitude");
+        Predicate latitudeRange = cb.between(issueLat, box.getMinLatitude(), box.getMaxLatitude());
+        if (box.isAllLongitudes()) {
+            return cb.and(latitudeRange, cb.isNotNull(issueLng));
+        }
+        Predicate longitudeRange = cb.between(issueLng, box.getMinLongitude(), box.getMaxLongitude());
+        if (box.crossesAntimeridian()) {
+            longitudeRange = cb.or(longitudeRange,
+                    cb.between(issueLng, box.getWrappedMinLongitude(), box.getWrappedMaxLongitude()));
+        }
+        return cb.and(latitudeRange, longitudeRange);
+    }
+
+    /**
+     * Applies the ORDER BY for a sort mode. Spring Data drops these orders from the
+     * count query, so the same specification can back a paged findAll.
+     * SMART with a user location is ranked in memory and is not handled here.
+     */
+    public static Specification<Issue> orderedBy(IssueSortMode sortMode, Double latitude, Double longitude) {
+        return (root, query, cb) -> {
+            query.orderBy(orders(root, cb, sortMode, latitude, longitude));
+            return null;
+        };
+    }
+
+    static List<Order> orders(Root<Issue> root, CriteriaBuilder cb, IssueSortMode sortMode,
+                              Double latitude, Double longitude) {
+        List<Order> orders = new ArrayList<>();
+        boolean hasLocation = latitude != null && longitude != null;
+        switch (sortMode) {
+            case LOCATION:
+                if (hasLocation) {
+                    // Issues without coordinates go last, then closest first (largest cosine)
+                    orders.add(cb.asc(cb.selectCase()
+                            .when(cb.or(cb.isNull(root.get("latitude")), cb.isNull(root.get("longitude"))), 1)
+                            .otherwise(0)));
+                    orders.add(cb.desc(centralAngleCosine(root, cb, latitude, longitude)));
+                    orders.add(cb.asc(root.get("id")));
+                    break;
+                }
+                orders.add(cb.desc(root.get("createdAt")));
+                orders.add(cb.desc(root.get("id")));
+                break;
+            case POPULAR:
+                orders.add(cb.desc(root.get("voteCount")));
+                orders.add(cb.desc(root.get("createdAt")));
+                orders.add(cb.desc(root.get("id")));
+                break;
+            case CRITICAL:
+                orders.add(cb.desc(root.get("critical")));
+                orders.add(cb.desc(root.get("voteCount")));
+                orders.add(cb.desc(root.get("createdAt")));
+                orders.add(cb.desc(root.get("id")));
+                break;
+            case NEWEST:
+                orders.add(cb.desc(root.get("createdAt")));
+                orders.add(cb.desc(root.get("id")));
+                break;
+            case OLDEST:
+                orders.add(cb.asc(root.get("createdAt")));
+                orders.add(cb.asc(root.get("id")));
+                break;
+            case SMART:
+            default:
+                // Without a user location the proximity step of SMART is a no-op
+                orders.add(cb.desc(root.get("voteCount")));
+                orders.add(cb.desc(root.get("critical")));
+                orders.add(cb.desc(root.get("createdAt")));
+                orders.add(cb.desc(root.get("id")));
+                break;
+        }
+        return orders;
+    }
+
+    /**
+     * Keyset predicate: rows that sort strictly after the given key under the given orders,
+     * i.e. (k1 > v1) OR (k1 = v1 AND k2 > v2) OR ... with the comparison flipped for DESC keys.
+     * Each value must have its sort key's type, so a tampered cursor is an invalid cursor rather
+     * than a failed query.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Predicate after(CriteriaBuilder cb, List<Order> orders, List<Object> key) {
+        if (key.size() != orders.size()) {
+            throw new RuntimeException("Invalid cursor");
+        }
+        List<Predicate> alternatives = new ArrayList<>();
+        List<Predicate> equalPrefix = new ArrayList<>();
+        for (int i = 0; i < orders.size(); i++) {
+            Expression expression = orders.get(i).getExpression();
+            Object keyValue = key.get(i);
+            Class<?> keyType = expression.getJavaType();
+            if (keyValue != null && keyType != null
+                    && !ClassUtils.resolvePrimitiveIfNecessary(keyType).isInstance(keyValue)) {
+                throw new RuntimeException("Invalid cursor");
+            }
+            Comparable value = (Comparable) keyValue;
+            if (value != null) {
+                Predicate beyond = orders.get(i).isAscending()
+                        ? cb.greaterThan(expression, value)
+                        : cb.lessThan(expression, value);
+                List<Predicate> alternative = new ArrayList<>(equalPrefix);
+                alternative.add(beyond);
+                alternatives.add(cb.and(alternative.toArray(new Predicate[0])));
+                equalPrefix.add(cb.equal(expression, value));
+            } else {
+                // Only reachable for the distance key of issues without coordinates, which all tie
+                equalPrefix.add(cb.isNull(expression));
+            }
+        }
+        return cb.or(alternatives.toArray(new Predicate[0]));
+    }
+
+    // cos(central angle) between the given point and the issue (spherical law of cosines)
+    static Expression<Double> centralAngleCosine(Root<Issue> root, CriteriaBuilder cb,
+                                                 double latitude, double longitude) {
+        double latRad = Math.toRadians(latitude);
+        double lngRad = Math.toRadians(longitude);
+        Expression<Double> issueLat = cb.function("radians", Double.class, root.get("latitude"));
+        Expression<Double> issueLng = cb.function("radians", Double.class, root.get("longitude"));
+
+        Expression<Double> cosTerm = cb.prod(
+                cb.prod(cb.function("cos", Double.class, issueLat), Math.cos(latRad)),
+                cb.function("cos", Double.class, cb.diff(issueLng, lngRad)));
+        Expression<Double> sinTerm = cb.prod(cb.function("sin", Double.class, issueLat), Math.sin(latRad));
+        return cb.sum(cosTerm, sinTerm);
+    }
+}
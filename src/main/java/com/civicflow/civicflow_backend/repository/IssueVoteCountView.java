@@ -0,0 +1,8 @@
+package com.civicflow.civicflow_backend.repository;
+
+// Upvote and downvote totals of one issue
+public interface IssueVoteCountView {
+    Long getIssueId();
+    Long getUpvotes();
+    Long getDownvotes();
+}
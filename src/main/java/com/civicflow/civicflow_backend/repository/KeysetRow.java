@@ -0,0 +1,17 @@
+package com.civicflow.civicflow_backend.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * A row of a keyset-paginated query together with the values of its sort keys,
+ * as computed by the database. The key of the last row becomes the next cursor.
+ */
+@Getter
+@AllArgsConstructor
+public class KeysetRow<T> {
+    private final T item;
+    private final List<Object> key;
+}
@@ -0,0 +1,7 @@
+package com.civicflow.civicflow_backend.repository;
+
+// A per-user count from a GROUP BY query (see IssueRepository.countByCreatorIds)
+public interface UserCountView {
+    Long getUserId();
+    Long getTotal();
+}
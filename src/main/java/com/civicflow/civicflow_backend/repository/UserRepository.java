@@ -20,6 +20,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
     
+    @Query("SELECT u.id FROM User u WHERE u.username = :username")
+    Optional<Long> findIdByUsername(@Param("username") String username);
+    
     // Admin statistics queries
     Long countByIsActive(Boolean isActive);
     Long countByRole(Role role);
@@ -0,0 +1,9 @@
+package com.civicflow.civicflow_backend.repository;
+
+import com.civicflow.civicflow_backend.model.VoteType;
+
+// One user's vote on one issue
+public interface UserVoteView {
+    Long getIssueId();
+    VoteType getType();
+}
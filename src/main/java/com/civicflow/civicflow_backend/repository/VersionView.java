@@ -0,0 +1,9 @@
+package com.civicflow.civicflow_backend.repository;
+
+import java.time.LocalDateTime;
+
+// Row count and latest modification of a query's result set, for conditional GETs
+public interface VersionView {
+    Long getTotal();
+    LocalDateTime getLastModified();
+}
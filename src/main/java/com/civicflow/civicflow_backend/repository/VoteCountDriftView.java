@@ -0,0 +1,8 @@
+package com.civicflow.civicflow_backend.repository;
+
+// An issue whose stored vote counter disagrees with its votes (see findVoteCountDrift)
+public interface VoteCountDriftView {
+    Long getIssueId();
+    Integer getStored();
+    Long getActual();
+}
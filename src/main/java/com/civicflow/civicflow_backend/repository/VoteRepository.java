@@ -1,13 +1,17 @@
 package com.civicflow.civicflow_backend.repository;
 
+import com.civicflow.civicflow_backend.dto.VoteResponse;
 import com.civicflow.civicflow_backend.model.Vote;
 import com.civicflow.civicflow_backend.model.VoteType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,12 +29,73 @@ public interface VoteRepository extends JpaRepository<Vote, Long> {
     @Query("SELECT COALESCE(SUM(CASE WHEN v.type = 'UPVOTE' THEN 1 ELSE -1 END), 0) FROM Vote v WHERE v.issue.id = :issueId")
     Long getVoteScoreByIssueId(@Param("issueId") Long issueId);
     
-    // Get all votes for an issue
+    // Vote summary of an issue in one round-trip; the username may be null (anonymous caller).
+    // A user has at most one vote per issue, so the sum over their votes is their vote.
+    @Query("SELECT COALESCE(SUM(CASE WHEN v.type = 'UPVOTE' THEN 1 ELSE 0 END), 0) AS upvotes, " +
+           "COALESCE(SUM(CASE WHEN v.type = 'DOWNVOTE' THEN 1 ELSE 0 END), 0) AS downvotes, " +
+           "COALESCE(SUM(CASE WHEN u.username = :username THEN (CASE WHEN v.type = 'UPVOTE' THEN 1 ELSE -1 END) ELSE 0 END), 0) AS userVote " +
+           "FROM Vote v JOIN v.user u WHERE v.issue.id = :issueId")
+    VoteSummaryView summarizeByIssueId(@Param("issueId") Long issueId, @Param("username") String username);
+    
+    // Batched variants for a page of issues (issues without votes are absent)
+    @Query("SELECT v.issue.id AS issueId, " +
+           "SUM(CASE WHEN v.type = 'UPVOTE' THEN 1 ELSE 0 END) AS upvotes, " +
+           "SUM(CASE WHEN v.type = 'DOWNVOTE' THEN 1 ELSE 0 END) AS downvotes " +
+           "FROM Vote v WHERE v.issue.id IN :issueIds GROUP BY v.issue.id")
+    List<IssueVoteCountView> countByIssueIds(@Param("issueIds") Collection<Long> issueIds);
+    
+    @Query("SELECT v.issue.id AS issueId, v.type AS type FROM Vote v " +
+           "WHERE v.user.username = :username AND v.issue.id IN :issueIds")
+    List<UserVoteView> findTypesByUsernameAndIssueIds(@Param("username") String username,
+                                                      @Param("issueIds") Collection<Long> issueIds);
+    
+    // Every vote of an issue with its voter's ID (loads the in-memory vote index; no join to users)
+    @Query("SELECT v.user.id AS userId, v.type AS type FROM Vote v WHERE v.issue.id = :issueId")
+    List<VoterView> findVotersByIssueId(@Param("issueId") Long issueId);
+    
+    // One user's vote on an issue, by username (no user lookup first)
+    @Query("SELECT v.type FROM Vote v WHERE v.issue.id = :issueId AND v.user.username = :username")
+    Optional<VoteType> findTypeByIssueIdAndUsername(@Param("issueId") Long issueId, @Param("username") String username);
+    
+    // Version of an issue's votes for conditional GETs (a removed vote lowers the count)
+    @Query("SELECT COUNT(v) AS total, MAX(v.updatedAt) AS lastModified FROM Vote v WHERE v.issue.id = :issueId")
+    VersionView findVersionByIssueId(@Param("issueId") Long issueId);
+    
+    // Stored votes of several users on one issue (write-behind flushes)
+    List<Vote> findByIssueIdAndUserIdIn(Long issueId, Collection<Long> userIds);
+    
+    // Get all votes for an issue, with their voters in the same query
+    @EntityGraph(attributePaths = "user")
     List<Vote> findByIssueIdOrderByCreatedAtDesc(Long issueId);
     
     // Get user's votes
     List<Vote> findByUserIdOrderByCreatedAtDesc(Long userId);
     
+    // 📜 Keyset pages of vote history, newest first (ties broken by id). Rows are projected
+    // straight into VoteResponse: only the voter's username is joined, the issue id is the FK.
+    // Pass PageRequest.of(0, limit) for the page size.
+    @Query("SELECT new com.civicflow.civicflow_backend.dto.VoteResponse(v.id, u.id, u.username, v.issue.id, v.type, v.createdAt) " +
+           "FROM Vote v JOIN v.user u WHERE v.issue.id = :issueId ORDER BY v.createdAt DESC, v.id DESC")
+    List<VoteResponse> findIssueVotePage(@Param("issueId") Long issueId, Pageable pageable);
+    
+    @Query("SELECT new com.civicflow.civicflow_backend.dto.VoteResponse(v.id, u.id, u.username, v.issue.id, v.type, v.createdAt) " +
+           "FROM Vote v JOIN v.user u WHERE v.issue.id = :issueId " +
+           "AND (v.createdAt < :createdAt OR (v.createdAt = :createdAt AND v.id < :id)) " +
+           "ORDER BY v.createdAt DESC, v.id DESC")
+    List<VoteResponse> findIssueVotePageAfter(@Param("issueId") Long issueId, @Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") Long id, Pageable pageable);
+    
+    @Query("SELECT new com.civicflow.civicflow_backend.dto.VoteResponse(v.id, u.id, u.username, v.issue.id, v.type, v.createdAt) " +
+           "FROM Vote v JOIN v.user u WHERE u.username = :username ORDER BY v.createdAt DESC, v.id DESC")
+    List<VoteResponse> findUserVotePage(@Param("username") String username, Pageable pageable);
+    
+    @Query("SELECT new com.civicflow.civicflow_backend.dto.VoteResponse(v.id, u.id, u.username, v.issue.id, v.type, v.createdAt) " +
+           "FROM Vote v JOIN v.user u WHERE u.username = :username " +
+           "AND (v.createdAt < :createdAt OR (v.createdAt = :createdAt AND v.id < :id)) " +
+           "ORDER BY v.createdAt DESC, v.id DESC")
+    List<VoteResponse> findUserVotePageAfter(@Param("username") String username, @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id, Pageable pageable);
+    
     // Check if user has voted on issue
     boolean existsByUserIdAndIssueId(Long userId, Long issueId);
     
@@ -47,4 +112,12 @@ public interface VoteRepository extends JpaRepository<Vote, Long> {
     // Count helpful votes received by a user's issues
     @Query("SELECT COUNT(v) FROM Vote v WHERE v.issue.createdBy.id = :userId AND v.type = 'UPVOTE'")
     Long countHelpfulVotesReceivedByUserId(@Param("userId") Long userId);
+    
+    // Batched variants for several users at once (users with no votes are absent)
+    @Query("SELECT v.user.id AS userId, COUNT(v) AS total FROM Vote v WHERE v.user.id IN :userIds GROUP BY v.user.id")
+    List<UserCountView> countByUserIds(@Param("userIds") Collection<Long> userIds);
+    
+    @Query("SELECT v.issue.createdBy.id AS userId, COUNT(v) AS total FROM Vote v " +
+           "WHERE v.issue.createdBy.id IN :userIds AND v.type = 'UPVOTE' GROUP BY v.issue.createdBy.id")
+    List<UserCountView> countHelpfulVotesReceivedByUserIds(@Param("userIds") Collection<Long> userIds);
 }
@@ -0,0 +1,8 @@
+package com.civicflow.civicflow_backend.repository;
+
+// Vote totals of one issue plus one user's own vote (1, -1, or 0 for none)
+public interface VoteSummaryView {
+    Long getUpvotes();
+    Long getDownvotes();
+    Long getUserVote();
+}
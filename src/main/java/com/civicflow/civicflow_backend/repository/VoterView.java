@@ -0,0 +1,9 @@
+package com.civicflow.civicflow_backend.repository;
+
+import com.civicflow.civicflow_backend.model.VoteType;
+
+// One vote of an issue with its voter's ID
+public interface VoterView {
+    Long getUserId();
+    VoteType getType();
+}
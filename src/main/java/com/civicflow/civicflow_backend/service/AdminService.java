@@ -4,9 +4,11 @@ import com.civicflow.civicflow_backend.dto.*;
 import com.civicflow.civicflow_backend.model.Role;
 import com.civicflow.civicflow_backend.model.User;
 import com.civicflow.civicflow_backend.repository.IssueRepository;
+import com.civicflow.civicflow_backend.repository.UserCountView;
 import com.civicflow.civicflow_backend.repository.UserRepository;
 import com.civicflow.civicflow_backend.repository.VoteRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -19,6 +21,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,6 +37,15 @@ public class AdminService {
     @Autowired
     private VoteRepository voteRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private IssueSnapshot issueSnapshot;
+    
+    @Autowired
+    private VoteIndex voteIndex;
+
     public AdminDashboardResponse getAdminDashboard() {
         validateAdminAccess();
         
@@ -237,32 +249,34 @@ public class AdminService {
     private List<TopUserResponse> getTopReporters() {
         // Get users ordered by creation date (recent users first)
         List<User> users = userRepository.findTop5ByOrderByCreatedAtDesc();
+        List<Long> userIds = users.stream().map(User::getId).collect(Collectors.toList());
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        
+        // One grouped query per statistic for all users, instead of three queries per user
+        Map<Long, Long> issuesReported = toCountMap(issueRepository.countByCreatorIds(userIds));
+        Map<Long, Long> votesCast = toCountMap(voteRepository.countByUserIds(userIds));
+        Map<Long, Long> helpfulVotesReceived = toCountMap(voteRepository.countHelpfulVotesReceivedByUserIds(userIds));
         
         return users.stream()
-                .map(user -> {
-                    // Calculate actual issues reported by this user
-                    Long issuesReported = issueRepository.countByCreatedBy(user);
-                    
-                    // Calculate actual votes cast by this user
-                    Long votesCast = voteRepository.countByUserId(user.getId());
-                    
-                    // Calculate helpful votes received (upvotes on user's issues)
-                    Long helpfulVotesReceived = voteRepository.countHelpfulVotesReceivedByUserId(user.getId());
-                    
-                    return TopUserResponse.builder()
-                            .userId(user.getId())
-                            .username(user.getUsername())
-                            .fullName(user.getFullName())
-                            .issuesReported(issuesReported.intValue())
-                            .votesCast(votesCast.intValue())
-                            .helpfulVotesReceived(helpfulVotesReceived.intValue())
-                            .city(user.getCity())
-                            .role(user.getRole().toString())
-                            .build();
-                })
+                .map(user -> TopUserResponse.builder()
+                        .userId(user.getId())
+                        .username(user.getUsername())
+                        .fullName(user.getFullName())
+                        .issuesReported(issuesReported.getOrDefault(user.getId(), 0L).intValue())
+                        .votesCast(votesCast.getOrDefault(user.getId(), 0L).intValue())
+                        .helpfulVotesReceived(helpfulVotesReceived.getOrDefault(user.getId(), 0L).intValue())
+                        .city(user.getCity())
+                        .role(user.getRole().toString())
+                        .build())
                 .collect(Collectors.toList());
     }
 
+    private Map<Long, Long> toCountMap(List<UserCountView> counts) {
+        return counts.stream().collect(Collectors.toMap(UserCountView::getUserId, UserCountView::getTotal));
+    }
+
     private List<TopAreaResponse> getTopAreas() {
         // For now, return empty list since Issue model doesn't have city field
         // This can be implemented when location data is available
@@ -352,7 +366,7 @@ public class AdminService {
         }
         
         issue.setAssignedNgo(ngo);
-        issueRepository.save(issue);
+        eventPublisher.publishEvent(IssueChangedEvent.saved(issueRepository.save(issue)));
     }
 
     public void unassignIssueFromNgo(Long issueId) {
@@ -362,6 +376,18 @@ public class AdminService {
                 .orElseThrow(() -> new RuntimeException("Issue not found"));
         
         issue.setAssignedNgo(null);
-        issueRepository.save(issue);
+        eventPublisher.publishEvent(IssueChangedEvent.saved(issueRepository.save(issue)));
+    }
+
+    public IssueSnapshotStatsResponse getIssueSnapshotStats() {
+        validateAdminAccess();
+        
+        return issueSnapshot.getStats();
+    }
+    
+    public VoteIndexStatsResponse getVoteIndexStats() {
+        validateAdminAccess();
+        
+        return voteIndex.getStats();
     }
 }
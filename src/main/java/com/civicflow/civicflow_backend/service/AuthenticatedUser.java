@@ -0,0 +1,32 @@
+package com.civicflow.civicflow_backend.service;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Principal of an authenticated request: Spring Security's User plus our user ID, so code
+ * that keys by user ID needs no lookup by username. The JWT filter loads it once per request.
+ */
+public class AuthenticatedUser extends User {
+
+    private final Long id;
+
+    public AuthenticatedUser(Long id, String username, String password,
+                             Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, authorities);
+        this.id = id;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    // The caller's user ID, or null when anonymous or authenticated some other way
+    public static Long idOf(Authentication authentication) {
+        return authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user
+                ? user.getId() : null;
+    }
+}
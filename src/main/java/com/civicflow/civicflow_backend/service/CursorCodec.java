@@ -0,0 +1,121 @@
+package com.civicflow.civicflow_backend.service;
+
+import com.civicflow.civicflow_backend.dto.CursorPage;
+import com.civicflow.civicflow_backend.repository.KeysetRow;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Encodes keyset pagination cursors. A cursor is the sort key of the last row a client saw,
+ * tagged with the listing it belongs to, serialized as URL-safe base64 so clients treat it as opaque.
+ */
+public final class CursorCodec {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec() {
+    }
+
+    public static int clampLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * Builds a page from rows fetched with limit pageSize + 1; the extra row only signals that more exist.
+     */
+    public static <T> CursorPage<T> toPage(String scope, List<KeysetRow<T>> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<KeysetRow<T>> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+        List<T> items = new ArrayList<>(pageRows.size());
+        for (KeysetRow<T> row : pageRows) {
+            items.add(row.getItem());
+        }
+        return CursorPage.<T>builder()
+                .items(items)
+                .nextCursor(hasMore ? encode(scope, pageRows.get(pageRows.size() - 1).getKey()) : null)
+                .hasMore(hasMore)
+                .limit(pageSize)
+                .build();
+    }
+
+    public static String encode(String scope, List<Object> key) {
+        StringBuilder raw = new StringBuilder(scope);
+        for (Object value : key) {
+            raw.append(SEPARATOR).append(encodeValue(value));
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the sort key, or null when no cursor was given (first page)
+     * @throws RuntimeException if the cursor is malformed or was issued for another listing
+     */
+    public static List<Object> decode(String scope, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (!parts[0].equals(scope)) {
+                throw new IllegalArgumentException("scope mismatch");
+            }
+            List<Object> key = new ArrayList<>(parts.length - 1);
+            for (int i = 1; i < parts.length; i++) {
+                key.add(decodeValue(parts[i]));
+            }
+            return key;
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    /**
+     * One element of a decoded key, checked against the type the listing encoded there
+     * @param nullable whether the sort column itself can be null
+     * @throws RuntimeException if the element is missing, null where it cannot be, or of another type
+     */
+    public static <T> T keyValue(List<Object> key, int index, Class<T> type, boolean nullable) {
+        Object value = index < key.size() ? key.get(index) : null;
+        if (value == null ? !nullable : !type.isInstance(value)) {
+            throw new RuntimeException("Invalid cursor");
+        }
+        return type.cast(value);
+    }
+
+    // One-letter type tag + value, so the key round-trips with the types the query compares against
+    private static String encodeValue(Object value) {
+        if (value == null) return "N";
+        if (value instanceof Long) return "L" + value;
+        if (value instanceof Integer) return "I" + value;
+        if (value instanceof Double) return "D" + value;
+        if (value instanceof Boolean) return "B" + value;
+        if (value instanceof LocalDateTime) return "T" + value;
+        throw new IllegalArgumentException("Unsupported cursor value: " + value.getClass());
+    }
+
+    private static Object decodeValue(String encoded) {
+        String value = encoded.substring(1);
+        switch (encoded.charAt(0)) {
+            case 'N': return null;
+            case 'L': return Long.valueOf(value);
+            case 'I': return Integer.valueOf(value);
+            case 'D': return Double.valueOf(value);
+            case 'B': return Boolean.valueOf(value);
+            case 'T': return LocalDateTime.parse(value);
+            default: throw new IllegalArgumentException("Unknown cursor value tag");
+        }
+    }
+}
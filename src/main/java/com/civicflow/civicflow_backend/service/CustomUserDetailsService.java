@@ -19,11 +19,13 @@ public class CustomUserDetailsService implements UserDetailsService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
-        // Use Spring Security’s User object (not our entity)
-        return org.springframework.security.core.userdetails.User
+        // Use Spring Security’s User object (not our entity), carrying our user ID
+        UserDetails details = org.springframework.security.core.userdetails.User
                 .withUsername(user.getUsername())
                 .password(user.getPassword())  // already hashed
                 .roles(user.getRole().name())  // Spring needs roles as string
                 .build();
+        return new AuthenticatedUser(user.getId(), details.getUsername(), details.getPassword(),
+                details.getAuthorities());
     }
 }
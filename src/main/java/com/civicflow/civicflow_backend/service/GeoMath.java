@@ -0,0 +1,27 @@
+package com.civicflow.civicflow_backend.service;
+
+public final class GeoMath {
+
+    public static final double EARTH_RADIUS_KM = 6371;
+
+    // Length of one degree of latitude (and of longitude at the equator)
+    public static final double KM_PER_DEGREE = EARTH_RADIUS_KM * Math.PI / 180;
+
+    private GeoMath() {
+    }
+
+    /**
+     * Great-circle distance using the Haversine formula
+     * @return Distance in kilometers
+     */
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double latDistance = Math.toRadians(lat2 - lat1);
+        double lonDistance = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+
+        return EARTH_RADIUS_KM * c;
+    }
+}
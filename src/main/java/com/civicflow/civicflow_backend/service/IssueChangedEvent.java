@@ -0,0 +1,40 @@
+package com.civicflow.civicflow_backend.service;
+
+import com.civicflow.civicflow_backend.model.Issue;
+import lombok.Getter;
+
+/**
+ * Published after an issue is written, so in-memory read models (spatial index, etc.) can follow.
+ * Listeners use @TransactionalEventListener so they only see committed changes.
+ */
+@Getter
+public class IssueChangedEvent {
+
+    private final Long issueId;
+    private final Issue issue; // null when the issue was deleted
+
+    private IssueChangedEvent(Long issueId, Issue issue) {
+        this.issueId = issueId;
+        this.issue = issue;
+    }
+
+    public static IssueChangedEvent saved(Issue issue) {
+        return new IssueChangedEvent(issue.getId(), issue);
+    }
+
+    public static IssueChangedEvent deleted(Long issueId) {
+        return new IssueChangedEvent(issueId, null);
+    }
+
+    /**
+     * Issue.version as committed. Read by the listeners, after the commit flushed the increment:
+     * events of one issue may be delivered out of commit order, and this tells which is newer.
+     */
+    public long getVersion() {
+        return issue != null ? issue.getVersion() : Long.MAX_VALUE;
+    }
+
+    public boolean isDeleted() {
+        return issue == null;
+    }
+}
@@ -0,0 +1,239 @@
+package com.civicflow.civicflow_backend.service;
+
+import com.civicflow.civicflow_backend.dto.IssueCluster;
+import com.civicflow.civicflow_backend.model.Issue;
+import com.civicflow.civicflow_backend.repository.IssueLocationView;
+import com.civicflow.civicflow_backend.repository.IssueRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precomputed map clusters: for every zoom level up to maxZoom, issue counts, coordinate sums,
+ * critical counts and category counts per grid cell. A cell is a quarter of a web-map tile
+ * side (360 / 2^zoom / 4 degrees), so a viewport holds a bounded number of cells and a pan
+ * costs O(cells in view) whatever the number of issues. Built on startup and kept current
+ * from committed IssueChangedEvents; each change touches one cell per level.
+ */
+@Component
+public class IssueClusterGrid extends RebuildableReadModel<IssueClusterGrid.Point, IssueClusterGrid.Grid> {
+
+    private static final int CELLS_PER_TILE = 4;
+
+    private final IssueRepository issueRepository;
+    private final int maxZoom;
+
+    public IssueClusterGrid(IssueRepository issueRepository,
+                            @Value("${civicflow.clusters.enabled:true}") boolean enabled,
+                            @Value("${civicflow.clusters.max-zoom:16}") int maxZoom) {
+        super("Cluster grid", enabled, new Grid(clampZoom(maxZoom)));
+        this.issueRepository = issueRepository;
+        this.maxZoom = clampZoom(maxZoom);
+    }
+
+    @Override
+    protected Grid load(Map<Long, Long> versions) {
+        Grid fresh = new Grid(maxZoom);
+        for (IssueLocationView row : issueRepository.findAllLocations()) {
+            versions.put(row.getId(), row.getVersion());
+            if (row.getLatitude() == null || row.getLongitude() == null) {
+                continue;
+            }
+            fresh.add(new Point(row.getId(), row.getLatitude(), row.getLongitude(),
+                    row.getCategory(), Boolean.TRUE.equals(row.getCritical())));
+        }
+        return fresh;
+    }
+
+    @Override
+    protected Point toValue(Issue issue) {
+        if (issue.getLatitude() == null || issue.getLongitude() == null) {
+            return null;
+        }
+        return new Point(issue.getId(), issue.getLatitude(), issue.getLongitude(),
+                issue.getCategory(), issue.isCritical());
+    }
+
+    @Override
+    protected void apply(Grid grid, Long issueId, Point point) {
+        grid.remove(issueId);
+        if (point != null) {
+            grid.add(point);
+        }
+    }
+
+    @Override
+    protected String describe(Grid grid) {
+        return grid.points.size() + " issues, zoom 0-" + maxZoom;
+    }
+
+    /**
+     * Clusters of the occupied cells inside a viewport. West greater than east means the
+     * viewport crosses the antimeridian. Zoom levels above maxZoom use the maxZoom grid.
+     */
+    public List<IssueCluster> clusters(double west, double south, double east, double north, int zoom) {
+        int level = Math.max(0, Math.min(zoom, maxZoom));
+        long columns = columns(level);
+        long rows = columns / 2;
+        double cellSize = cellSize(level);
+        long firstRow = clamp((long) Math.floor((south + 90) / cellSize), rows);
+        long lastRow = clamp((long) Math.floor((north + 90) / cellSize), rows);
+        // Walk eastwards from west; a span of 360 degrees or more covers every column
+        double span = west <= east ? east - west : east - west + 360;
+        long westColumn = (long) Math.floor((west + 180) / cellSize);
+        long eastColumn = (long) Math.floor((west + span + 180) / cellSize);
+        long firstColumn = Math.floorMod(westColumn, columns);
+        long columnCount = Math.min(eastColumn - westColumn + 1, columns);
+
+        List<IssueCluster> clusters = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Map<Long, Cell> cells = store.levels.get(level);
+            // A wide viewport spans more cells than are occupied: scan the occupied ones instead
+            if ((lastRow - firstRow + 1) * columnCount > cells.size()) {
+                for (Map.Entry<Long, Cell> entry : cells.entrySet()) {
+                    long row = entry.getKey() / columns;
+                    long column = entry.getKey() % columns;
+                    long offset = Math.floorMod(column - firstColumn, columns);
+                    if (row >= firstRow && row <= lastRow && offset < columnCount) {
+                        clusters.add(entry.getValue().toCluster());
+                    }
+                }
+            } else {
+                for (long row = firstRow; row <= lastRow; row++) {
+                    for (long i = 0; i < columnCount; i++) {
+                        Cell cell = cells.get(row * columns + (firstColumn + i) % columns);
+                        if (cell != null) {
+                            clusters.add(cell.toCluster());
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return clusters;
+    }
+
+    private static int clampZoom(int zoom) {
+        return Math.max(0, Math.min(zoom, 24));
+    }
+
+    private static long columns(int level) {
+        return (1L << level) * CELLS_PER_TILE;
+    }
+
+    private static double cellSize(int level) {
+        return 360.0 / columns(level);
+    }
+
+    private static long clamp(long row, long rows) {
+        return Math.max(0, Math.min(rows - 1, row));
+    }
+
+    private static long cellKey(int level, double latitude, double longitude) {
+        long columns = columns(level);
+        double cellSize = cellSize(level);
+        long row = clamp((long) Math.floor((latitude + 90) / cellSize), columns / 2);
+        long column = Math.floorMod((long) Math.floor((longitude + 180) / cellSize), columns);
+        return row * columns + column;
+    }
+
+    // Located issues and one cell map per zoom level (caller holds the write lock to change it)
+    static final class Grid {
+        final Map<Long, Point> points = new HashMap<>();
+        final List<Map<Long, Cell>> levels = new ArrayList<>();
+
+        Grid(int maxZoom) {
+            for (int level = 0; level <= maxZoom; level++) {
+                levels.add(new HashMap<>());
+            }
+        }
+
+        void add(Point point) {
+            points.put(point.id, point);
+            for (int level = 0; level < levels.size(); level++) {
+                levels.get(level).computeIfAbsent(cellKey(level, point.latitude, point.longitude), key -> new Cell())
+                        .add(point, 1);
+            }
+        }
+
+        void remove(Long id) {
+            Point previous = points.remove(id);
+            if (previous == null) {
+                return;
+            }
+            for (int level = 0; level < levels.size(); level++) {
+                long key = cellKey(level, previous.latitude, previous.longitude);
+                Cell cell = levels.get(level).get(key);
+                cell.add(previous, -1);
+                if (cell.count == 0) {
+                    levels.get(level).remove(key);
+                }
+            }
+        }
+    }
+
+    // Running aggregates of one cell; sign -1 subtracts a point again
+    private static final class Cell {
+        int count;
+        int critical;
+        double latitudeSum;
+        double longitudeSum;
+        final Map<String, Integer> categories = new HashMap<>();
+
+        void add(Point point, int sign) {
+            count += sign;
+            if (point.critical) {
+                critical += sign;
+            }
+            latitudeSum += sign * point.latitude;
+            longitudeSum += sign * point.longitude;
+            if (point.category != null) {
+                if (categories.merge(point.category, sign, Integer::sum) == 0) {
+                    categories.remove(point.category);
+                }
+            }
+        }
+
+        IssueCluster toCluster() {
+            String topCategory = null;
+            int topCount = 0;
+            for (Map.Entry<String, Integer> entry : categories.entrySet()) {
+                // Most issues wins, alphabetical on ties so the answer is stable
+                if (entry.getValue() > topCount
+                        || (entry.getValue() == topCount && entry.getKey().compareTo(topCategory) < 0)) {
+                    topCategory = entry.getKey();
+                    topCount = entry.getValue();
+                }
+            }
+            return IssueCluster.builder()
+                    .latitude(latitudeSum / count)
+                    .longitude(longitudeSum / count)
+                    .count(count)
+                    .criticalCount(critical)
+                    .topCategory(topCategory)
+                    .build();
+        }
+    }
+
+    static final class Point {
+        final long id;
+        final double latitude;
+        final double longitude;
+        final String category;
+        final boolean critical;
+
+        Point(long id, double latitude, double longitude, String category, boolean critical) {
+            this.id = id;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.category = category;
+            this.critical = critical;
+        }
+    }
+}
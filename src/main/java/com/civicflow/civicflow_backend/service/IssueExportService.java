@@ -0,0 +1,161 @@
+package com.civicflow.civicflow_backend.service;
+
+import com.civicflow.civicflow_backend.dto.IssueSummary;
+import com.civicflow.civicflow_backend.model.Issue;
+import com.civicflow.civicflow_backend.model.IssueStatus;
+import com.civicflow.civicflow_backend.repository.IssueRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes filtered issues as NDJSON or CSV straight from a database cursor, one row at a time.
+ * Memory stays flat however many rows match: the driver fetches FETCH_SIZE rows per
+ * round-trip and the persistence context is cleared every FETCH_SIZE rows.
+ */
+@Service
+public class IssueExportService {
+
+    static final int FETCH_SIZE = 1000;
+
+    static final String[] CSV_COLUMNS = {"id", "title", "description", "category", "status", "latitude",
+            "longitude", "voteCount", "critical", "createdAt", "updatedAt", "createdBy", "assignedNgo", "imageUrl"};
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String mediaType;
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public String getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Stream every issue matching the /filter filters to out, in ID order
+     * @return number of issues written
+     */
+    @Transactional(readOnly = true)
+    public long exportIssues(Format format, OutputStream out,
+                             Double userLat, Double userLng, Integer maxRadius,
+                             String category, Boolean critical, IssueStatus status,
+                             Integer minVotes, LocalDateTime dateFrom, LocalDateTime dateTo) {
+        long written = 0;
+        // Flushed but not closed: out belongs to the caller
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try (Stream<Issue> issues = issueRepository.streamForExport(IssueService.buildFilterSpecification(
+                userLat, userLng, maxRadius, category, critical, status, minVotes, dateFrom, dateTo), FETCH_SIZE)) {
+            if (format == Format.CSV) {
+                writeCsvRow(writer, CSV_COLUMNS);
+            }
+            Iterator<Issue> rows = issues.iterator();
+            while (rows.hasNext()) {
+                IssueSummary issue = IssueSummary.from(rows.next());
+                if (format == Format.CSV) {
+                    writeCsv(writer, issue);
+                } else {
+                    writeJsonLine(writer, issue);
+                }
+                // Rows are never written back: drop them so the session does not grow with the export
+                if (++written % FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Issue export failed after " + written + " rows", e);
+        }
+        return written;
+    }
+
+    private void writeJsonLine(Writer writer, IssueSummary issue) throws IOException {
+        // The writer stays open for the next line
+        objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(writer, issue);
+        writer.write('\n');
+    }
+
+    private void writeCsv(Writer writer, IssueSummary issue) throws IOException {
+        writeCsvRow(writer, new String[] {
+                String.valueOf(issue.getId()),
+                text(issue.getTitle()),
+                text(issue.getDescription()),
+                text(issue.getCategory()),
+                issue.getStatus() != null ? issue.getStatus().name() : "",
+                issue.getLatitude() != null ? issue.getLatitude().toString() : "",
+                issue.getLongitude() != null ? issue.getLongitude().toString() : "",
+                String.valueOf(issue.getVoteCount()),
+                String.valueOf(issue.isCritical()),
+                issue.getCreatedAt() != null ? issue.getCreatedAt().toString() : "",
+                issue.getUpdatedAt() != null ? issue.getUpdatedAt().toString() : "",
+                issue.getCreatedBy() != null ? text(issue.getCreatedBy().getUsername()) : "",
+                issue.getAssignedNgo() != null ? text(issue.getAssignedNgo().getUsername()) : "",
+                text(issue.getImageUrl())
+        });
+    }
+
+    // RFC 4180: quote fields holding separators, quotes or line breaks, doubling inner quotes
+    static void writeCsvRow(Writer writer, String[] fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String field = fields[i];
+            if (field.indexOf(',') >= 0 || field.indexOf('"') >= 0
+                    || field.indexOf('\n') >= 0 || field.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(field.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(field);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    // User-entered text: a leading =, +, - or @ would run as a formula in a spreadsheet, so prefix a quote
+    static String text(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        char first = value.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@') {
+            return "'" + value;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,243 @@
+package com.civicflow.civicflow_backend.service;
+
+import com.civicflow.civicflow_backend.dto.Heatmap;
+import com.civicflow.civicflow_backend.model.Issue;
+import com.civicflow.civicflow_backend.model.IssueStatus;
+import com.civicflow.civicflow_backend.repository.IssueRepository;
+import com.civicflow.civicflow_backend.repository.IssueSnapshotView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Density grid of unresolved issues at a fixed resolution, for heat layers. Each open
+ * (OPEN, ASSIGNED, IN_PROGRESS) issue adds 1 + ln(1 + votes) to its cell, and critical ones
+ * also to a separate critical layer. With a half-life set, weights decay with issue age:
+ * stored weights are scaled by 2^(age since startup / half-life) and the read divides by the
+ * same factor for now, so decay needs no periodic sweep. Built on startup and kept current
+ * from committed IssueChangedEvents (status and critical changes) and VoteCountChangedEvents.
+ */
+@Component
+public class IssueHeatmapGrid extends RebuildableReadModel<IssueHeatmapGrid.Point, IssueHeatmapGrid.Grid> {
+
+    // Longest side of a rendered heatmap; wider viewports merge fine cells into larger ones
+    static final int MAX_SIDE = 512;
+
+    public enum Layer { OPEN, CRITICAL }
+
+    private final IssueRepository issueRepository;
+    private final double cellSize;
+    private final long columns;
+    private final long rows;
+    // Decay per day (ln 2 / half-life), 0 when weights do not decay
+    private final double decayPerDay;
+    private final long epochMillis = System.currentTimeMillis();
+
+    public IssueHeatmapGrid(IssueRepository issueRepository,
+                            @Value("${civicflow.heatmap.enabled:true}") boolean enabled,
+                            @Value("${civicflow.heatmap.cell-size-degrees:0.01}") double cellSize,
+                            @Value("${civicflow.heatmap.half-life-days:0}") double halfLifeDays) {
+        super("Heatmap grid", enabled, new Grid());
+        this.issueRepository = issueRepository;
+        this.cellSize = cellSize;
+        this.columns = (long) Math.ceil(360 / cellSize);
+        this.rows = (long) Math.ceil(180 / cellSize);
+        this.decayPerDay = halfLifeDays > 0 ? Math.log(2) / halfLifeDays : 0;
+    }
+
+    @Override
+    protected Grid load(Map<Long, Long> versions) {
+        Grid fresh = new Grid();
+        for (IssueSnapshotView row : issueRepository.findAllSnapshotRows()) {
+            versions.put(row.getId(), row.getVersion());
+            Point point = toPoint(row.getId(), row.getLatitude(), row.getLongitude(), row.getStatus(),
+                    Boolean.TRUE.equals(row.getCritical()),
+                    row.getVoteCount() != null ? row.getVoteCount() : 0, row.getCreatedAt());
+            if (point != null) {
+                fresh.add(point);
+            }
+        }
+        return fresh;
+    }
+
+    @Override
+    protected Point toValue(Issue issue) {
+        return toPoint(issue.getId(), issue.getLatitude(), issue.getLongitude(), issue.getStatus(),
+                issue.isCritical(), issue.getVoteCount(), issue.getCreatedAt());
+    }
+
+    @Override
+    protected void apply(Grid grid, Long issueId, Point point) {
+        grid.remove(issueId);
+        if (point != null) {
+            grid.add(point);
+        }
+    }
+
+    @Override
+    protected boolean tracksVoteCount() {
+        return true;
+    }
+
+    // A vote only re-weights the issue in its own cell
+    @Override
+    protected void applyVoteDelta(Grid grid, Long issueId, int delta) {
+        Point point = grid.points.get(issueId);
+        if (point != null) {
+            grid.remove(issueId);
+            grid.add(point.withVotes(point.votes + delta));
+        }
+    }
+
+    @Override
+    protected String describe(Grid grid) {
+        return grid.points.size() + " open issues in " + grid.cells.size() + " cells";
+    }
+
+    /**
+     * Heat layer for a viewport. West greater than east means the viewport crosses the
+     * antimeridian. Viewports wider or taller than MAX_SIDE fine cells are downsampled by
+     * summing square blocks of fine cells.
+     */
+    public Heatmap render(double west, double south, double east, double north, Layer layer) {
+        double span = west <= east ? east - west : east - west + 360;
+        long westColumn = (long) Math.floor((west + 180) / cellSize);
+        long width = Math.min((long) Math.floor((west + span + 180) / cellSize) - westColumn + 1, columns);
+        long southRow = clampRow((long) Math.floor((south + 90) / cellSize));
+        long height = clampRow((long) Math.floor((north + 90) / cellSize)) - southRow + 1;
+        long firstColumn = Math.floorMod(westColumn, columns);
+
+        int scale = (int) Math.max(1, (Math.max(width, height) + MAX_SIDE - 1) / MAX_SIDE);
+        int outColumns = (int) ((width + scale - 1) / scale);
+        int outRows = (int) ((height + scale - 1) / scale);
+        float[] weights = new float[outColumns * outRows];
+        double decay = decayPerDay > 0 ? Math.exp(-decayPerDay * days(System.currentTimeMillis())) : 1;
+
+        lock.readLock().lock();
+        try {
+            // A large viewport spans more cells than are occupied: scan the occupied ones instead
+            if (width * height > store.cells.size()) {
+                for (Map.Entry<Long, Cell> entry : store.cells.entrySet()) {
+                    long row = entry.getKey() / columns - southRow;
+                    long column = Math.floorMod(entry.getKey() % columns - firstColumn, columns);
+                    if (row >= 0 && row < height && column < width) {
+                        weights[(int) (row / scale) * outColumns + (int) (column / scale)] +=
+                                (float) (entry.getValue().weight(layer) * decay);
+                    }
+                }
+            } else {
+                for (long row = 0; row < height; row++) {
+                    for (long column = 0; column < width; column++) {
+                        Cell cell = store.cells.get((southRow + row) * columns + (firstColumn + column) % columns);
+                        if (cell != null) {
+                            weights[(int) (row / scale) * outColumns + (int) (column / scale)] +=
+                                    (float) (cell.weight(layer) * decay);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new Heatmap(westColumn * cellSize - 180, southRow * cellSize - 90, cellSize * scale,
+                outColumns, outRows, weights);
+    }
+
+    // Only located, unresolved issues are part of the heat layers
+    private Point toPoint(Long id, Double latitude, Double longitude, IssueStatus status, boolean critical,
+                          int voteCount, LocalDateTime createdAt) {
+        if (latitude == null || longitude == null
+                || status == IssueStatus.RESOLVED || status == IssueStatus.REJECTED) {
+            return null;
+        }
+        double age = 1;
+        if (decayPerDay > 0) {
+            long created = createdAt != null
+                    ? createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                    : System.currentTimeMillis();
+            age = Math.exp(decayPerDay * days(created));
+        }
+        long row = clampRow((long) Math.floor((latitude + 90) / cellSize));
+        long column = Math.floorMod((long) Math.floor((longitude + 180) / cellSize), columns);
+        return new Point(id, row * columns + column, voteCount, age, critical);
+    }
+
+    private long clampRow(long row) {
+        return Math.max(0, Math.min(rows - 1, row));
+    }
+
+    // Days between startup and a time (negative for earlier times)
+    private double days(long millis) {
+        return (millis - epochMillis) / 86_400_000.0;
+    }
+
+    // Heat-layer issues and their cells (caller holds the write lock to change it)
+    static final class Grid {
+        final Map<Long, Point> points = new HashMap<>();
+        final Map<Long, Cell> cells = new HashMap<>();
+
+        void add(Point point) {
+            points.put(point.id, point);
+            cells.computeIfAbsent(point.cell, key -> new Cell()).add(point, 1);
+        }
+
+        void remove(Long id) {
+            Point previous = points.remove(id);
+            if (previous == null) {
+                return;
+            }
+            Cell cell = cells.get(previous.cell);
+            cell.add(previous, -1);
+            if (cell.count == 0) {
+                cells.remove(previous.cell);
+            }
+        }
+    }
+
+    // Running sums of one cell; sign -1 subtracts a point again
+    private static final class Cell {
+        int count;
+        double openWeight;
+        double criticalWeight;
+
+        void add(Point point, int sign) {
+            count += sign;
+            openWeight += sign * point.weight;
+            if (point.critical) {
+                criticalWeight += sign * point.weight;
+            }
+        }
+
+        // Subtraction can leave rounding dust behind; never report a negative weight
+        double weight(Layer layer) {
+            return Math.max(0, layer == Layer.CRITICAL ? criticalWeight : openWeight);
+        }
+    }
+
+    static final class Point {
+        final long id;
+        final long cell;
+        final int votes;
+        // Decay scale of the issue's age, 1 without a half-life
+        final double age;
+        final double weight;
+        final boolean critical;
+
+        Point(long id, long cell, int votes, double age, boolean critical) {
+            this.id = id;
+            this.cell = cell;
+            this.votes = votes;
+            this.age = age;
+            this.weight = (1 + Math.log1p(Math.max(votes, 0))) * age;
+            this.critical = critical;
+        }
+
+        Point withVotes(int votes) {
+            return new Point(id, cell, votes, age, critical);
+        }
+    }
+}
@@ -0,0 +1,417 @@
+package com.civicflow.civicflow_backend.service;
+
+import com.civicflow.civicflow_backend.dto.ImportProgress;
+import com.civicflow.civicflow_backend.model.Issue;
+import com.civicflow.civicflow_backend.model.IssueStatus;
+import com.civicflow.civicflow_backend.model.User;
+import com.civicflow.civicflow_backend.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bulk issue import from CSV or NDJSON in the IssueExportService layouts, e.g. for migrating
+ * legacy complaints. Rows are parsed as they stream in and committed in chunks, each chunk in
+ * its own transaction; with pooled sequence IDs and hibernate.jdbc.batch_size the inserts of
+ * a chunk go out as a few JDBC batches. Rejected rows are counted and skipped. Read models
+ * rebuild once at the end (IssuesImportedEvent) instead of following every row.
+ */
+@Service
+public class IssueImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(IssueImportService.class);
+
+    private static final int MAX_REPORTED_ERRORS = 20;
+    // Field key carrying why an input line could not be parsed (not a valid column name)
+    private static final String PARSE_ERROR = "#error";
+
+    // Auditing stamps new rows with the current time; legacy timestamps are written back per chunk
+    private static final String RESTORE_DATES_SQL = "UPDATE issue SET created_at = ?, updated_at = ? WHERE id = ?";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile ImportProgress progress = ImportProgress.builder().errors(List.of()).build();
+
+    public IssueImportService(PlatformTransactionManager transactionManager,
+                              @Value("${civicflow.import.chunk-size:1000}") int chunkSize) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    public ImportProgress getProgress() {
+        return progress;
+    }
+
+    /**
+     * Import every row of in. Only one import runs at a time.
+     * @param defaultCreator username recorded as creator for rows without a createdBy
+     * @return final counts and throughput (also kept as getProgress())
+     */
+    public ImportProgress importIssues(IssueExportService.Format format, InputStream in, String defaultCreator) {
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("An import is already running");
+        }
+        try {
+            return runImport(format, in, defaultCreator);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ImportProgress runImport(IssueExportService.Format format, InputStream in, String defaultCreator) {
+        Run run = new Run(format, userId(defaultCreator, new HashMap<>()));
+        publish(run, true);
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        try {
+            Iterator<Map<String, String>> rows = format == IssueExportService.Format.CSV
+                    ? csvRows(in) : ndjsonRows(in);
+            while (rows.hasNext()) {
+                Map<String, String> fields = rows.next();
+                run.rowsRead++;
+                try {
+                    chunk.add(toRow(fields, run));
+                } catch (RuntimeException e) {
+                    run.reject(run.rowsRead, e.getMessage());
+                }
+                if (chunk.size() == chunkSize) {
+                    commit(chunk, run);
+                }
+            }
+            commit(chunk, run);
+        } catch (RuntimeException e) {
+            run.abortedReason = "Stopped after " + run.rowsRead + " rows: " + e.getMessage();
+            log.warn("Issue import {}", run.abortedReason);
+        }
+
+        ImportProgress result = publish(run, false);
+        log.info("Issue import finished: {} imported, {} rejected in {} ms ({} rows/s)",
+                result.getImported(), result.getFailed(), result.getElapsedMs(), Math.round(result.getRowsPerSecond()));
+        if (run.imported > 0) {
+            eventPublisher.publishEvent(new IssuesImportedEvent(run.imported));
+        }
+        return result;
+    }
+
+    // One transaction per chunk: persist (batched inserts), restore legacy dates, then drop the entities
+    private void commit(List<Row> chunk, Run run) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Row row : chunk) {
+                row.issue.setCreatedBy(entityManager.getReference(User.class, row.createdById));
+                if (row.assignedNgoId != null) {
+                    row.issue.setAssignedNgo(entityManager.getReference(User.class, row.assignedNgoId));
+                }
+                entityManager.persist(row.issue);
+            }
+            entityManager.flush();
+
+            List<Object[]> dates = new ArrayList<>();
+            for (Row row : chunk) {
+                if (row.createdAt != null) {
+                    LocalDateTime updatedAt = row.updatedAt != null ? row.updatedAt : row.createdAt;
+                    dates.add(new Object[] {Timestamp.valueOf(row.createdAt), Timestamp.valueOf(updatedAt),
+                            row.issue.getId()});
+                }
+            }
+            if (!dates.isEmpty()) {
+                jdbcTemplate.batchUpdate(RESTORE_DATES_SQL, dates);
+            }
+            entityManager.clear();
+        });
+        run.imported += chunk.size();
+        chunk.clear();
+        ImportProgress current = publish(run, true);
+        log.info("Issue import: {} rows imported ({} rows/s)", current.getImported(), Math.round(current.getRowsPerSecond()));
+    }
+
+    private ImportProgress publish(Run run, boolean stillRunning) {
+        long elapsed = System.currentTimeMillis() - run.startedMillis;
+        progress = ImportProgress.builder()
+                .running(stillRunning)
+                .format(run.format.name())
+                .rowsRead(run.rowsRead)
+                .imported(run.imported)
+                .failed(run.failed)
+                .startedAt(run.startedAt)
+                .elapsedMs(elapsed)
+                .rowsPerSecond(elapsed > 0 ? run.imported * 1000.0 / elapsed : 0)
+                .errors(List.copyOf(run.errors))
+                .abortedReason(run.abortedReason)
+                .build();
+        return progress;
+    }
+
+    // Validate one input row and build its unsaved issue
+    private Row toRow(Map<String, String> fields, Run run) {
+        if (fields.containsKey(PARSE_ERROR)) {
+            throw new RuntimeException(fields.get(PARSE_ERROR));
+        }
+        String title = text(fields.get("title"));
+        if (title == null) {
+            throw new RuntimeException("title is required");
+        }
+        Issue issue = new Issue();
+        issue.setTitle(title);
+        issue.setDescription(text(fields.get("description")));
+        issue.setCategory(text(fields.get("category")));
+        issue.setImageUrl(text(fields.get("imageurl")));
+        // Votes are not imported, so the counter starts at 0 like the votes table
+        issue.setVoteCount(0);
+        issue.setCritical(Boolean.parseBoolean(value(fields.get("critical"))));
+
+        String status = value(fields.get("status"));
+        if (status != null) {
+            try {
+                issue.setStatus(IssueStatus.valueOf(status.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("invalid status: " + status);
+            }
+        }
+
+        Double latitude = number(fields.get("latitude"), "latitude");
+        Double longitude = number(fields.get("longitude"), "longitude");
+        if ((latitude == null) != (longitude == null)) {
+            throw new RuntimeException("latitude and longitude must be given together");
+        }
+        if (latitude != null && (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180)) {
+            throw new RuntimeException("coordinates out of range");
+        }
+        issue.setLatitude(latitude);
+        issue.setLongitude(longitude);
+
+        Row row = new Row(issue);
+        row.createdAt = dateTime(fields.get("createdat"), "createdAt");
+        row.updatedAt = dateTime(fields.get("updatedat"), "updatedAt");
+        String creator = text(fields.get("createdby"));
+        row.createdById = creator != null ? userId(creator, run.userIds) : run.defaultCreatorId;
+        String ngo = text(fields.get("assignedngo"));
+        row.assignedNgoId = ngo != null ? userId(ngo, run.userIds) : null;
+        return row;
+    }
+
+    // One lookup per distinct username for the whole import
+    private Long userId(String username, Map<String, Long> cache) {
+        Long id = cache.computeIfAbsent(username, name -> userRepository.findByUsername(name)
+                .map(User::getId).orElse(-1L));
+        if (id < 0) {
+            throw new RuntimeException("unknown user: " + username);
+        }
+        return id;
+    }
+
+    private Iterator<Map<String, String>> csvRows(InputStream in) {
+        CsvRecordReader reader = new CsvRecordReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        List<String> header;
+        try {
+            header = reader.next();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read CSV header: " + e.getMessage());
+        }
+        if (header == null) {
+            return List.<Map<String, String>>of().iterator();
+        }
+        List<String> columns = new ArrayList<>();
+        for (String column : header) {
+            columns.add(column.trim().toLowerCase(Locale.ROOT));
+        }
+        return new RowIterator() {
+            @Override
+            Map<String, String> read() throws IOException {
+                List<String> record;
+                do {
+                    record = reader.next();
+                } while (record != null && record.size() == 1 && record.get(0).isEmpty()); // blank line
+                if (record == null) {
+                    return null;
+                }
+                Map<String, String> fields = new HashMap<>();
+                for (int i = 0; i < columns.size() && i < record.size(); i++) {
+                    fields.put(columns.get(i), record.get(i));
+                }
+                return fields;
+            }
+        };
+    }
+
+    private Iterator<Map<String, String>> ndjsonRows(InputStream in) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        return new RowIterator() {
+            @Override
+            Map<String, String> read() throws IOException {
+                String line;
+                do {
+                    line = reader.readLine();
+                } while (line != null && line.isBlank());
+                if (line == null) {
+                    return null;
+                }
+                Map<String, String> fields = new HashMap<>();
+                JsonNode node;
+                try {
+                    node = objectMapper.readTree(line);
+                } catch (IOException e) {
+                    fields.put(PARSE_ERROR, "invalid JSON"); // rejected as a row, the import goes on
+                    return fields;
+                }
+                node.properties().forEach(entry -> {
+                    JsonNode value = entry.getValue();
+                    // createdBy / assignedNgo are {id, username} objects in exports
+                    String text = value.isObject() ? value.path("username").asText(null)
+                            : value.isNull() ? null : value.asText();
+                    fields.put(entry.getKey().toLowerCase(Locale.ROOT), text);
+                });
+                return fields;
+            }
+        };
+    }
+
+    private static String value(String raw) {
+        return raw == null || raw.isBlank() ? null : raw.trim();
+    }
+
+    // Undo the formula guard IssueExportService.text adds to CSV exports
+    private static String text(String raw) {
+        String value = value(raw);
+        if (value != null && value.length() > 1 && value.charAt(0) == '\''
+                && "=+-@".indexOf(value.charAt(1)) >= 0) {
+            return value.substring(1);
+        }
+        return value;
+    }
+
+    private static Double number(String raw, String name) {
+        String value = value(raw);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("invalid " + name + ": " + value);
+        }
+    }
+
+    private static LocalDateTime dateTime(String raw, String name) {
+        String value = value(raw);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (RuntimeException e) {
+            throw new RuntimeException("invalid " + name + ": " + value);
+        }
+    }
+
+    // Iterator over parsed rows; read() returns null at the end of the input
+    private abstract static class RowIterator implements Iterator<Map<String, String>> {
+        private Map<String, String> next;
+        private boolean done;
+
+        abstract Map<String, String> read() throws IOException;
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                try {
+                    next = read();
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to read input: " + e.getMessage());
+                }
+                done = next == null;
+            }
+            return next != null;
+        }
+
+        @Override
+        public Map<String, String> next() {
+            hasNext();
+            Map<String, String> row = next;
+            next = null;
+            return row;
+        }
+    }
+
+    // A parsed row: the issue plus what is resolved when its chunk commits
+    private static final class Row {
+        final Issue issue;
+        Long createdById;
+        Long assignedNgoId;
+        LocalDateTime createdAt;
+        LocalDateTime updatedAt;
+
+        Row(Issue issue) {
+            this.issue = issue;
+        }
+    }
+
+    // Counters of one import
+    private static final class Run {
+        final IssueExportService.Format format;
+        final Long defaultCreatorId;
+        final LocalDateTime startedAt = LocalDateTime.now();
+        final long startedMillis = System.currentTimeMillis();
+        final Map<String, Long> userIds = new HashMap<>();
+        final List<String> errors = new ArrayList<>();
+        long rowsRead;
+        long imported;
+        long failed;
+        String abortedReason;
+
+        Run(IssueExportService.Format format, Long defaultCreatorId) {
+            this.format = format;
+            this.defaultCreatorId = defaultCreatorId;
+        }
+
+        void reject(long row, String reason) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("Row " + row + ": " + reason);
+            }
+        }
+    }
+}
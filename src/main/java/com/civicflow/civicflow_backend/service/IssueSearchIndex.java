@@ -0,0 +1,329 @@
+package com.civicflow.civicflow_backend.service;
+
+import com.civicflow.civicflow_backend.model.Issue;
+import com.civicflow.civicflow_backend.model.IssueStatus;
+import com.civicflow.civicflow_backend.repository.GeoBoundingBox;
+import com.civicflow.civicflow_backend.repository.IssueRepository;
+import com.civicflow.civicflow_backend.repository.IssueSearchView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * In-process inverted index over issue titles and descriptions for keyword search.
+ * Terms map to postings (issue ID → weighted term frequency) in a sorted map, so every query
+ * term also matches as a prefix with a range lookup. Results are ranked with BM25; title
+ * terms count double. Built on startup and kept current from committed IssueChangedEvents.
+ */
+@Component
+public class IssueSearchIndex extends RebuildableReadModel<IssueSearchIndex.Document, IssueSearchIndex.Index> {
+
+    private static final int TITLE_WEIGHT = 2;
+    // BM25 term-frequency saturation and length normalization
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // Prefix expansions score less than the exact word, and only the most frequent ones are used
+    private static final double PREFIX_WEIGHT = 0.5;
+    private static final int MAX_PREFIX_EXPANSIONS = 50;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "at", "be", "by", "for", "in", "is", "it", "near", "of", "on",
+            "or", "the", "this", "to", "was", "with");
+
+    private final IssueRepository issueRepository;
+
+    public IssueSearchIndex(IssueRepository issueRepository,
+                            @Value("${civicflow.search-index.enabled:true}") boolean enabled) {
+        super("Search index", enabled, new Index());
+        this.issueRepository = issueRepository;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return store.documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    protected Index load(Map<Long, Long> versions) {
+        Index fresh = new Index();
+        for (IssueSearchView row : issueRepository.findAllSearchRows()) {
+            versions.put(row.getId(), row.getVersion());
+            fresh.add(Document.of(row.getId(), row.getTitle(), row.getDescription(), row.getCategory(),
+                    row.getStatus(), row.getLatitude(), row.getLongitude()));
+        }
+        return fresh;
+    }
+
+    @Override
+    protected Document toValue(Issue issue) {
+        return Document.of(issue.getId(), issue.getTitle(), issue.getDescription(), issue.getCategory(),
+                issue.getStatus(), issue.getLatitude(), issue.getLongitude());
+    }
+
+    @Override
+    protected void apply(Index index, Long issueId, Document document) {
+        index.remove(issueId);
+        if (document != null) {
+            index.add(document);
+        }
+    }
+
+    @Override
+    protected String describe(Index index) {
+        return index.documents.size() + " issues, " + index.postings.size() + " terms";
+    }
+
+    /**
+     * Issues containing every query word (or a word starting with it), best match first
+     * @param category case-insensitive category match (optional)
+     * @param status status match (optional)
+     * @param radiusKm only issues within this distance of latitude/longitude (optional)
+     * @return IDs of the matches in [offset, offset + limit), and the total number of matches
+     */
+    public Result search(String query, String category, IssueStatus status,
+                         Double latitude, Double longitude, Double radiusKm, int offset, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty()) {
+            return new Result(List.of(), 0, false);
+        }
+        String categoryFilter = category != null && !category.trim().isEmpty()
+                ? category.trim().toLowerCase(Locale.ROOT) : null;
+        boolean radiusFilter = latitude != null && longitude != null && radiusKm != null;
+        GeoBoundingBox box = radiusFilter ? GeoBoundingBox.around(latitude, longitude, radiusKm) : null;
+
+        List<Hit> hits = new ArrayList<>();
+        boolean truncated = false;
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String term : terms) {
+                TermScores match = store.score(term);
+                Map<Long, Double> termScores = match.scores;
+                truncated |= match.truncated;
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    // Every query word must match: keep the intersection
+                    Map<Long, Double> both = new HashMap<>();
+                    for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                        Double more = termScores.get(entry.getKey());
+                        if (more != null) {
+                            both.put(entry.getKey(), entry.getValue() + more);
+                        }
+                    }
+                    scores = both;
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                Document document = store.documents.get(entry.getKey());
+                if (categoryFilter != null && !categoryFilter.equals(document.category)) continue;
+                if (status != null && status != document.status) continue;
+                if (radiusFilter) {
+                    if (document.latitude == null || document.longitude == null) continue;
+                    if (!box.contains(document.latitude, document.longitude)) continue;
+                    if (GeoMath.haversineKm(latitude, longitude, document.latitude, document.longitude) > radiusKm) continue;
+                }
+                hits.add(new Hit(entry.getKey(), entry.getValue()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Best score first, newer (higher ID) issues first on ties
+        hits.sort((a, b) -> {
+            int byScore = Double.compare(b.score, a.score);
+            return byScore != 0 ? byScore : Long.compare(b.id, a.id);
+        });
+        List<Long> ids = new ArrayList<>();
+        for (int i = offset; i < hits.size() && i < offset + limit; i++) {
+            ids.add(hits.get(i).id);
+        }
+        return new Result(ids, hits.size(), truncated);
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (token.length() >= 2 && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    public static final class Result {
+        private final List<Long> ids;
+        private final int total;
+        private final boolean truncated;
+
+        Result(List<Long> ids, int total, boolean truncated) {
+            this.ids = ids;
+            this.total = total;
+            this.truncated = truncated;
+        }
+
+        public List<Long> getIds() {
+            return ids;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        // A query word expanded to more words than are scored: rarer ones, and their matches, were left out
+        public boolean isTruncated() {
+            return truncated;
+        }
+    }
+
+    // One query word's scores per issue, and whether some of its prefix expansions were skipped
+    private static final class TermScores {
+        final Map<Long, Double> scores;
+        final boolean truncated;
+
+        TermScores(Map<Long, Double> scores, boolean truncated) {
+            this.scores = scores;
+            this.truncated = truncated;
+        }
+    }
+
+    private static final class Hit {
+        final long id;
+        final double score;
+
+        Hit(long id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+
+    // One issue's term frequencies and filter fields
+    static final class Document {
+        final long id;
+        final Map<String, Integer> frequencies;
+        final int length;
+        final String category;
+        final IssueStatus status;
+        final Double latitude;
+        final Double longitude;
+
+        private Document(long id, Map<String, Integer> frequencies, int length, String category,
+                         IssueStatus status, Double latitude, Double longitude) {
+            this.id = id;
+            this.frequencies = frequencies;
+            this.length = length;
+            this.category = category;
+            this.status = status;
+            this.latitude = latitude;
+            this.longitude = longitude;
+        }
+
+        static Document of(long id, String title, String description, String category,
+                           IssueStatus status, Double latitude, Double longitude) {
+            Map<String, Integer> frequencies = new HashMap<>();
+            int length = 0;
+            for (String token : tokenize(title)) {
+                frequencies.merge(token, TITLE_WEIGHT, Integer::sum);
+                length += TITLE_WEIGHT;
+            }
+            for (String token : tokenize(description)) {
+                frequencies.merge(token, 1, Integer::sum);
+                length++;
+            }
+            return new Document(id, frequencies, Math.max(length, 1),
+                    category != null ? category.trim().toLowerCase(Locale.ROOT) : null,
+                    status, latitude, longitude);
+        }
+    }
+
+    // Postings and documents that change together
+    static final class Index {
+        final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+        final Map<Long, Document> documents = new HashMap<>();
+        long totalLength;
+
+        void add(Document document) {
+            documents.put(document.id, document);
+            totalLength += document.length;
+            for (Map.Entry<String, Integer> entry : document.frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new HashMap<>()).put(document.id, entry.getValue());
+            }
+        }
+
+        void remove(Long id) {
+            Document previous = documents.remove(id);
+            if (previous == null) {
+                return;
+            }
+            totalLength -= previous.length;
+            for (String term : previous.frequencies.keySet()) {
+                Map<Long, Integer> posting = postings.get(term);
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+
+        // BM25 contribution of one query word per issue: the best of the exact word and its prefix
+        // expansions. Short prefixes can expand to many words: the exact word and the
+        // MAX_PREFIX_EXPANSIONS words found in the most issues are scored, the rest are reported.
+        TermScores score(String term) {
+            double averageLength = documents.isEmpty() ? 1 : (double) totalLength / documents.size();
+            List<Map.Entry<String, Map<Long, Integer>>> used = new ArrayList<>();
+            // Least frequent on top, alphabetically last among equals, so ties drop the same words every time
+            PriorityQueue<Map.Entry<String, Map<Long, Integer>>> mostFrequent = new PriorityQueue<>(
+                    Comparator.<Map.Entry<String, Map<Long, Integer>>>comparingInt(entry -> entry.getValue().size())
+                            .thenComparing(Map.Entry::getKey, Comparator.reverseOrder()));
+            boolean truncated = false;
+            for (Map.Entry<String, Map<Long, Integer>> entry
+                    : postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+                if (entry.getKey().equals(term)) {
+                    used.add(entry);
+                    continue;
+                }
+                mostFrequent.add(entry);
+                if (mostFrequent.size() > MAX_PREFIX_EXPANSIONS) {
+                    mostFrequent.poll();
+                    truncated = true;
+                }
+            }
+            used.addAll(mostFrequent);
+
+            Map<Long, Double> scores = new HashMap<>();
+            for (Map.Entry<String, Map<Long, Integer>> entry : used) {
+                Map<Long, Integer> posting = entry.getValue();
+                double weight = entry.getKey().equals(term) ? 1 : PREFIX_WEIGHT;
+                double idf = Math.log(1 + (documents.size() - posting.size() + 0.5) / (posting.size() + 0.5));
+                for (Map.Entry<Long, Integer> hit : posting.entrySet()) {
+                    int frequency = hit.getValue();
+                    double lengthRatio = documents.get(hit.getKey()).length / averageLength;
+                    double score = weight * idf * frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * lengthRatio));
+                    scores.merge(hit.getKey(), score, Math::max);
+                }
+            }
+            return new TermScores(scores, truncated);
+        }
+    }
+}
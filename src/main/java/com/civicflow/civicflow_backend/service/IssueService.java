@@ -1,41 +1,113 @@
 package com.civicflow.civicflow_backend.service;
 
+import com.civicflow.civicflow_backend.dto.CursorPage;
+import com.civicflow.civicflow_backend.dto.Heatmap;
+import com.civicflow.civicflow_backend.dto.IssueCluster;
+import com.civicflow.civicflow_backend.dto.IssueSearchPage;
+import com.civicflow.civicflow_backend.dto.IssueSummary;
+import com.civicflow.civicflow_backend.dto.NearbyBatchRequest;
+import com.civicflow.civicflow_backend.dto.ResourceVersion;
 import com.civicflow.civicflow_backend.model.Issue;
+import com.civicflow.civicflow_backend.model.IssueSortMode;
 import com.civicflow.civicflow_backend.model.User;
 import com.civicflow.civicflow_backend.model.IssueStatus;
 import com.civicflow.civicflow_backend.model.Role;
+import com.civicflow.civicflow_backend.repository.IssueLocationView;
 import com.civicflow.civicflow_backend.repository.IssueRepository;
+import com.civicflow.civicflow_backend.repository.IssueSpecifications;
+import com.civicflow.civicflow_backend.repository.KeysetRow;
+import com.civicflow.civicflow_backend.repository.VersionView;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.Comparator;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.Objects;
+import java.util.function.Function;
 
 @Service
 public class IssueService {
 
+    // Most queries or issue IDs one batch call may carry
+    static final int MAX_BATCH_SIZE = 500;
+
+    // Most issues an unpaged list view answers; the page's nextCursor continues the listing
+    static final int MAX_LIST_SIZE = 1000;
+
     @Autowired
     private IssueRepository issueRepository;
 
+    @Autowired
+    private IssueSpatialIndex spatialIndex;
+
+    @Autowired
+    private IssueSnapshot issueSnapshot;
+
+    @Autowired
+    private RankingPool rankingPool;
+
+    @Autowired
+    private IssueSearchIndex searchIndex;
+
+    @Autowired
+    private IssueClusterGrid clusterGrid;
+
+    @Autowired
+    private IssueHeatmapGrid heatmapGrid;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public Issue createIssue(Issue issue) {
-        return issueRepository.save(issue);
+        // Votes own the counter; a new issue has none whatever the request body says
+        issue.setVoteCount(0);
+        return saveAndPublish(issue);
     }
 
-    public List<Issue> getAllIssues() {
-        return issueRepository.findAll();
+    // Save and let in-memory read models (spatial index, snapshot) pick up the change once it commits
+    private Issue saveAndPublish(Issue issue) {
+        Issue saved = issueRepository.save(issue);
+        eventPublisher.publishEvent(IssueChangedEvent.saved(saved));
+        return saved;
+    }
+
+    private void deleteAndPublish(Long id) {
+        issueRepository.deleteById(id);
+        eventPublisher.publishEvent(IssueChangedEvent.deleted(id));
+    }
+
+    // List views get IssueSummary rows; full entities are only loaded for single-issue views and writes
+    // Unpaged form of getIssuesPage: the newest MAX_LIST_SIZE issues
+    public CursorPage<IssueSummary> getAllIssues() {
+        return keysetPage("all", null, IssueSortMode.NEWEST, null, null, null, MAX_LIST_SIZE);
     }
 
     public Optional<Issue> getIssueById(Long id) {
-        return issueRepository.findById(id);
+        return issueRepository.findWithUsersById(id);
+    }
+
+    // Version of getIssueById's response, without loading the issue
+    public ResourceVersion getIssueVersion(Long id) {
+        return toVersion(issueRepository.findVersionById(id), null);
     }
     // Update issue with ownership validation
     public Issue updateIssue(Long id, Issue issueDetails, User currentUser) {
-        return issueRepository.findById(id).map(issue -> {
+        return issueRepository.findWithUsersById(id).map(issue -> {
             // Check if current user is the creator
             if (!issue.getCreatedBy().getId().equals(currentUser.getId())) {
                 throw new RuntimeException("You can only update issues you created");
@@ -47,32 +119,30 @@ public class IssueService {
             issue.setCategory(issueDetails.getCategory());
             issue.setLatitude(issueDetails.getLatitude());
             issue.setLongitude(issueDetails.getLongitude());
-            issue.setVoteCount(issueDetails.getVoteCount());
             issue.setCritical(issueDetails.isCritical());
             issue.setStatus(issueDetails.getStatus());
-            return issueRepository.save(issue);
+            return saveAndPublish(issue);
         }).orElseThrow(() -> new RuntimeException("Issue not found with id " + id));
     }
 
     // Keep the old method for admin use (without ownership validation)
     public Issue updateIssue(Long id, Issue issueDetails) {
-        return issueRepository.findById(id).map(issue -> {
+        return issueRepository.findWithUsersById(id).map(issue -> {
             issue.setTitle(issueDetails.getTitle());
             issue.setDescription(issueDetails.getDescription());
             issue.setImageUrl(issueDetails.getImageUrl());
             issue.setCategory(issueDetails.getCategory());
             issue.setLatitude(issueDetails.getLatitude());
             issue.setLongitude(issueDetails.getLongitude());
-            issue.setVoteCount(issueDetails.getVoteCount());
             issue.setCritical(issueDetails.isCritical());
             issue.setStatus(issueDetails.getStatus());
-            return issueRepository.save(issue);
+            return saveAndPublish(issue);
         }).orElseThrow(() -> new RuntimeException("Issue not found with id " + id));
     }
 
     // Update issue status with ownership validation
     public Issue updateIssueStatus(Long id, String status, User currentUser) {
-        Issue issue = issueRepository.findById(id)
+        Issue issue = issueRepository.findWithUsersById(id)
                 .orElseThrow(() -> new RuntimeException("Issue not found"));
 
         // Check if current user is the creator OR is an admin
@@ -87,12 +157,12 @@ public class IssueService {
             throw new RuntimeException("Invalid status. Allowed: OPEN, ASSIGNED, IN_PROGRESS, RESOLVED, REJECTED");
         }
 
-        return issueRepository.save(issue);
+        return saveAndPublish(issue);
     }
 
     // Update issue critical status (only admin can update)
     public Issue updateIssueCritical(Long id, Boolean critical, User currentUser) {
-        Issue issue = issueRepository.findById(id)
+        Issue issue = issueRepository.findWithUsersById(id)
                 .orElseThrow(() -> new RuntimeException("Issue not found"));
 
         // Check if current user is an admin (only admins can toggle critical status)
@@ -101,12 +171,12 @@ public class IssueService {
         }
 
         issue.setCritical(critical);
-        return issueRepository.save(issue);
+        return saveAndPublish(issue);
     }
 
     // Keep the old method for admin use (without ownership validation)
     public Issue updateIssueStatus(Long id, String status) {
-        Issue issue = issueRepository.findById(id)
+        Issue issue = issueRepository.findWithUsersById(id)
                 .orElseThrow(() -> new RuntimeException("Issue not found"));
 
         try {
@@ -115,12 +185,13 @@ public class IssueService {
             throw new RuntimeException("Invalid status. Allowed: OPEN, IN_PROGRESS, RESOLVED, REJECTED");
         }
 
-        return issueRepository.save(issue);
+        return saveAndPublish(issue);
     }
 
-    // Get issues created by specific user
-    public List<Issue> getIssuesByUser(User user) {
-        return issueRepository.findByCreatedBy(user);
+    // Get issues created by specific user (unpaged form of getIssuesByUserPage: the newest MAX_LIST_SIZE)
+    public CursorPage<IssueSummary> getIssuesByUser(User user) {
+        return keysetPage("mine", IssueSpecifications.createdBy(user), IssueSortMode.NEWEST,
+                null, null, null, MAX_LIST_SIZE);
     }
 
     // Delete issue (only creator can delete)
@@ -134,7 +205,7 @@ public class IssueService {
             throw new RuntimeException("You can only delete issues you created");
         }
         
-        issueRepository.deleteById(id);
+        deleteAndPublish(id);
     }
 
     // Update issue image with ownership validation
@@ -148,12 +219,12 @@ public class IssueService {
         }
         
         issue.setImageUrl(imageUrl);
-        return issueRepository.save(issue);
+        return saveAndPublish(issue);
     }
 
     // Keep the old delete method for admin use
     public void deleteIssue(Long id) {
-        issueRepository.deleteById(id);
+        deleteAndPublish(id);
     }
 
     // 🌍 LOCATION-BASED SEARCH METHODS
@@ -165,12 +236,34 @@ public class IssueService {
      * @param radiusKm Search radius in kilometers
      * @return List of nearby issues sorted by distance
      */
-    public List<Issue> getNearbyIssues(Double latitude, Double longitude, Double radiusKm) {
+    public List<IssueSummary> getNearbyIssues(Double latitude, Double longitude, Double radiusKm) {
         // Default radius of 10km if not specified
         if (radiusKm == null || radiusKm <= 0) {
             radiusKm = 10.0;
         }
-        return issueRepository.findIssuesWithinRadius(latitude, longitude, radiusKm);
+        if (spatialIndex.isReady()) {
+            return findSummariesInOrder(spatialIndex.findWithinRadius(latitude, longitude, radiusKm, null, null));
+        }
+        return toSummaries(issueRepository.findNearby(latitude, longitude, radiusKm, null, null));
+    }
+
+    /**
+     * Version of a getNearbyIssuesWithFilters result: from the spatial index (the matches and
+     * their versions) when it is ready, else count and latest updatedAt of the matches
+     */
+    public ResourceVersion getNearbyVersion(Double latitude, Double longitude, Double radiusKm,
+                                            String category, Boolean critical) {
+        if (radiusKm == null || radiusKm <= 0) {
+            radiusKm = 10.0;
+        }
+        if (spatialIndex.isReady()) {
+            return spatialIndex.versionWithinRadius(latitude, longitude, radiusKm, category, critical);
+        }
+        return toVersion(issueRepository.findNearbyVersion(latitude, longitude, radiusKm, category, critical), null);
+    }
+
+    static ResourceVersion toVersion(VersionView view, String variant) {
+        return new ResourceVersion(view.getTotal() != null ? view.getTotal() : 0, view.getLastModified(), variant);
     }
 
     /**
@@ -182,13 +275,118 @@ public class IssueService {
      * @param critical Filter by critical status (optional)
      * @return Filtered list of nearby issues
      */
-    public List<Issue> getNearbyIssuesWithFilters(Double latitude, Double longitude, 
+    public List<IssueSummary> getNearbyIssuesWithFilters(Double latitude, Double longitude, 
                                                  Double radiusKm, String category, Boolean critical) {
         // Default radius of 10km if not specified
         if (radiusKm == null || radiusKm <= 0) {
             radiusKm = 10.0;
         }
-        return issueRepository.findNearbyIssuesWithFilters(latitude, longitude, radiusKm, category, critical);
+        if (spatialIndex.isReady()) {
+            return findSummariesInOrder(spatialIndex.findWithinRadius(latitude, longitude, radiusKm, category, critical));
+        }
+        return toSummaries(issueRepository.findNearby(latitude, longitude, radiusKm, category, critical));
+    }
+
+    /**
+     * Many getNearbyIssuesWithFilters lookups at once, e.g. every stop of a route
+     * The spatial index answers all queries in one pass; the matched issues are then loaded
+     * in one query. Without the index each query falls back to its own SQL search.
+     * @return matches per query key (the query's position when it has no key), in query order
+     */
+    public Map<String, List<IssueSummary>> getNearbyIssuesBatch(List<NearbyBatchRequest.NearbyQuery> queries) {
+        if (queries == null || queries.isEmpty()) {
+            throw new RuntimeException("At least one query is required");
+        }
+        if (queries.size() > MAX_BATCH_SIZE) {
+            throw new RuntimeException("At most " + MAX_BATCH_SIZE + " queries are allowed per batch");
+        }
+        List<String> keys = new ArrayList<>();
+        List<NearbyBatchRequest.NearbyQuery> normalized = new ArrayList<>();
+        for (int i = 0; i < queries.size(); i++) {
+            NearbyBatchRequest.NearbyQuery query = queries.get(i);
+            if (query == null || query.getLatitude() == null || query.getLongitude() == null) {
+                throw new RuntimeException("Latitude and longitude are required for query " + i);
+            }
+            String key = query.getKey() != null ? query.getKey() : String.valueOf(i);
+            if (keys.contains(key)) {
+                throw new RuntimeException("Duplicate query key: " + key);
+            }
+            keys.add(key);
+            normalized.add(NearbyBatchRequest.NearbyQuery.builder()
+                    .key(key)
+                    .latitude(query.getLatitude())
+                    .longitude(query.getLongitude())
+                    .radius(query.getRadius() == null || query.getRadius() <= 0 ? 10.0 : query.getRadius())
+                    .category(query.getCategory())
+                    .critical(query.getCritical())
+                    .build());
+        }
+
+        Map<String, List<IssueSummary>> results = new LinkedHashMap<>();
+        if (!spatialIndex.isReady()) {
+            for (NearbyBatchRequest.NearbyQuery query : normalized) {
+                results.put(query.getKey(), toSummaries(issueRepository.findNearby(query.getLatitude(),
+                        query.getLongitude(), query.getRadius(), query.getCategory(), query.getCritical())));
+            }
+            return results;
+        }
+
+        List<List<Long>> matches = spatialIndex.findWithinRadius(normalized);
+        Set<Long> allIds = new LinkedHashSet<>();
+        matches.forEach(allIds::addAll);
+        Map<Long, IssueSummary> byId = allIds.isEmpty() ? Map.of()
+                : issueRepository.findSummariesByIdIn(allIds).stream()
+                        .collect(Collectors.toMap(IssueSummary::getId, Function.identity()));
+        for (int i = 0; i < normalized.size(); i++) {
+            results.put(normalized.get(i).getKey(), matches.get(i).stream()
+                    .map(byId::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList()));
+        }
+        return results;
+    }
+
+    /**
+     * Coordinates of many issues in one query, for distance lookups
+     * @return the issues that exist, keyed by ID in the order requested
+     */
+    public Map<Long, IssueLocationView> getIssueLocations(List<Long> issueIds) {
+        if (issueIds == null || issueIds.isEmpty()) {
+            throw new RuntimeException("At least one issue ID is required");
+        }
+        if (issueIds.size() > MAX_BATCH_SIZE) {
+            throw new RuntimeException("At most " + MAX_BATCH_SIZE + " issue IDs are allowed per batch");
+        }
+        Set<Long> ids = new LinkedHashSet<>(issueIds);
+        ids.remove(null);
+        Map<Long, IssueLocationView> found = ids.isEmpty() ? Map.of()
+                : issueRepository.findLocationsByIdIn(ids).stream()
+                        .collect(Collectors.toMap(IssueLocationView::getId, Function.identity()));
+        Map<Long, IssueLocationView> locations = new LinkedHashMap<>();
+        for (Long id : ids) {
+            if (found.containsKey(id)) {
+                locations.put(id, found.get(id));
+            }
+        }
+        return locations;
+    }
+
+    // Load list rows by primary key, keeping the order of the given IDs
+    private List<IssueSummary> findSummariesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, IssueSummary> byId = issueRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(IssueSummary::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    // For paths that still rank or query whole entities
+    private List<IssueSummary> toSummaries(List<Issue> issues) {
+        return issues.stream().map(IssueSummary::from).collect(Collectors.toList());
     }
 
     /**
@@ -200,186 +398,226 @@ public class IssueService {
      * @return Distance in kilometers
      */
     public double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        final int EARTH_RADIUS = 6371; // Earth's radius in kilometers
-
-        double latDistance = Math.toRadians(lat2 - lat1);
-        double lonDistance = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-
-        return EARTH_RADIUS * c;
+        return GeoMath.haversineKm(lat1, lon1, lat2, lon2);
     }
 
     /**
      * Smart filtering and sorting like real-world platforms
      * Priority order: Location → Critical → Vote count → Recency
+     * Filters, sorting and paging run in the database. Only SMART sorting around a user
+     * location is ranked in memory, and only over the already-filtered candidates.
      */
-    public List<Issue> getSmartFilteredIssues(
+    public Page<IssueSummary> getSmartFilteredIssues(
             Double userLat, Double userLng, Integer maxRadius,
             String category, Boolean critical, IssueStatus status,
             Integer minVotes, LocalDateTime dateFrom, LocalDateTime dateTo,
             String sortBy, Integer page, Integer size) {
         
-        try {
-            List<Issue> issues = getAllIssues();
-            if (issues == null) {
-                return List.of(); // Return empty list if null
-            }
+        Specification<Issue> filters = buildFilterSpecification(userLat, userLng, maxRadius,
+                category, critical, status, minVotes, dateFrom, dateTo);
         
-        // 1. LOCATION FILTERING (if coordinates provided)
-        if (userLat != null && userLng != null && maxRadius != null) {
-            issues = issues.stream()
-                    .filter(issue -> {
-                        if (issue.getLatitude() == null || issue.getLongitude() == null) return false;
-                        double distance = calculateDistance(userLat, userLng, 
-                                issue.getLatitude(), issue.getLongitude());
-                        return distance <= maxRadius;
-                    })
-                    .collect(Collectors.toList());
-        }
+        IssueSortMode sortMode = IssueSortMode.fromParam(sortBy);
+        Pageable pageable = page != null && size != null ? PageRequest.of(page, size) : Pageable.unpaged();
         
-        // 2. CATEGORY FILTERING
-        if (category != null && !category.trim().isEmpty()) {
-            issues = issues.stream()
-                    .filter(issue -> category.equalsIgnoreCase(issue.getCategory()))
-                    .collect(Collectors.toList());
+        // Columnar snapshot: filter and rank in memory, then load only the page's issues
+        if (issueSnapshot.isReady()) {
+            int needed = pageable.isPaged()
+                    ? (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize())
+                    : Integer.MAX_VALUE;
+            IssueSnapshot.Result result = issueSnapshot.query(userLat, userLng, maxRadius,
+                    category, critical, status, minVotes, dateFrom, dateTo, sortMode, needed);
+            List<Long> ids = result.getIds();
+            int start = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), ids.size()) : 0;
+            return new PageImpl<>(findSummariesInOrder(ids.subList(start, ids.size())), pageable, result.getTotal());
         }
         
-        // 3. CRITICAL STATUS FILTERING
-        if (critical != null) {
-            issues = issues.stream()
-                    .filter(issue -> issue.isCritical() == critical)
-                    .collect(Collectors.toList());
+        // SMART + location compares distances only inside a 20km window, which has no SQL ORDER BY equivalent
+        if (sortMode == IssueSortMode.SMART && userLat != null && userLng != null) {
+            // Only the issues up to the end of the requested page are ranked (bounded heap, O(n log k)),
+            // on their sort keys alone; then only the page's issues are loaded
+            List<Issue> candidates = issueRepository.findSmartRankingKeys(filters);
+            int needed = pageable.isPaged()
+                    ? (int) Math.min(candidates.size(), pageable.getOffset() + pageable.getPageSize())
+                    : candidates.size();
+            List<Issue> ranked = SmartRanking.rankTop(candidates, userLat, userLng, needed, rankingPool);
+            int start = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), ranked.size()) : 0;
+            return new PageImpl<>(findSummariesInOrder(ids(ranked.subList(start, ranked.size()))),
+                    pageable, candidates.size());
         }
         
-        // 4. STATUS FILTERING
-        if (status != null) {
-            issues = issues.stream()
-                    .filter(issue -> issue.getStatus() == status)
-                    .collect(Collectors.toList());
+        return issueRepository.findSummaries(filters, sortMode, userLat, userLng, pageable);
+    }
+    
+    /**
+     * Keyword search over titles and descriptions, best match first
+     * Every word must match, as a whole word or a prefix ("pot" finds "pothole").
+     * Served from the in-memory inverted index; only the page's issues are loaded. While the
+     * index is loading or disabled, SQL finds issues containing every word, newest first.
+     */
+    public IssueSearchPage searchIssues(String query, String category, IssueStatus status,
+                                    Double latitude, Double longitude, Double radiusKm,
+                                    int page, int size) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new RuntimeException("Search query is required");
         }
-        
-        // 5. MINIMUM VOTES FILTERING
-        if (minVotes != null) {
-            issues = issues.stream()
-                    .filter(issue -> issue.getVoteCount() >= minVotes)
-                    .collect(Collectors.toList());
+        Pageable pageable = PageRequest.of(page, size);
+        if (!searchIndex.isReady()) {
+            List<String> words = IssueSearchIndex.tokenize(query);
+            if (words.isEmpty()) {
+                return new IssueSearchPage(List.of(), pageable, 0, false);
+            }
+            Specification<Issue> filters = Specification.where(IssueSpecifications.containsWords(words))
+                    .and(IssueSpecifications.hasCategory(category))
+                    .and(IssueSpecifications.hasStatus(status))
+                    .and(IssueSpecifications.withinRadius(latitude, longitude, radiusKm));
+            Page<IssueSummary> found = issueRepository.findSummaries(filters, IssueSortMode.NEWEST, null, null, pageable);
+            return new IssueSearchPage(found.getContent(), pageable, found.getTotalElements(), false);
         }
-        
-        // 6. DATE RANGE FILTERING
-        if (dateFrom != null) {
-            issues = issues.stream()
-                    .filter(issue -> issue.getCreatedAt().isAfter(dateFrom))
-                    .collect(Collectors.toList());
+        IssueSearchIndex.Result result = searchIndex.search(query, category, status,
+                latitude, longitude, radiusKm, (int) pageable.getOffset(), size);
+        return new IssueSearchPage(findSummariesInOrder(result.getIds()), pageable, result.getTotal(),
+                result.isTruncated());
+    }
+    
+    /**
+     * Map clusters for a viewport at a zoom level, from the precomputed per-zoom grid.
+     * West greater than east means the viewport crosses the antimeridian.
+     */
+    public List<IssueCluster> getClusters(double west, double south, double east, double north, int zoom) {
+        if (south > north) {
+            throw new RuntimeException("Bounding box south must not be greater than north");
         }
-        if (dateTo != null) {
-            issues = issues.stream()
-                    .filter(issue -> issue.getCreatedAt().isBefore(dateTo))
-                    .collect(Collectors.toList());
+        if (!clusterGrid.isReady()) {
+            throw new RuntimeException("Clusters are not available yet, please try again shortly");
         }
-        
-        // 7. SMART SORTING (Real-world platform logic)
-        Comparator<Issue> comparator = getSmartComparator(sortBy, userLat, userLng);
-        issues = issues.stream()
-                .sorted(comparator)
-                .collect(Collectors.toList());
-        
-        // 8. PAGINATION
-        if (page != null && size != null) {
-            int start = page * size;
-            int end = Math.min(start + size, issues.size());
-            if (start < issues.size()) {
-                issues = issues.subList(start, end);
-            } else {
-                issues = List.of(); // Empty list if page out of bounds
-            }
+        return clusterGrid.clusters(west, south, east, north, zoom);
+    }
+    
+    /**
+     * Heat layer of open (or open and critical) issues for a viewport, from the precomputed density grid.
+     * West greater than east means the viewport crosses the antimeridian.
+     */
+    public Heatmap getHeatmap(double west, double south, double east, double north, IssueHeatmapGrid.Layer layer) {
+        if (south > north) {
+            throw new RuntimeException("Bounding box south must not be greater than north");
         }
-        
-        return issues;
-        
-        } catch (Exception e) {
-            // Log the error and return empty list
-            System.err.println("Error in getSmartFilteredIssues: " + e.getMessage());
-            e.printStackTrace();
-            return List.of();
+        if (!heatmapGrid.isReady()) {
+            throw new RuntimeException("Heatmap is not available yet, please try again shortly");
         }
+        return heatmapGrid.render(west, south, east, north, layer);
+    }
+    
+    // Also used by IssueExportService, so exports take the same filters as /filter
+    static Specification<Issue> buildFilterSpecification(
+            Double userLat, Double userLng, Integer maxRadius,
+            String category, Boolean critical, IssueStatus status,
+            Integer minVotes, LocalDateTime dateFrom, LocalDateTime dateTo) {
+        return Specification.allOf(
+                IssueSpecifications.withinRadius(userLat, userLng, maxRadius),
+                IssueSpecifications.hasCategory(category),
+                IssueSpecifications.isCritical(critical),
+                IssueSpecifications.hasStatus(status),
+                IssueSpecifications.hasMinVotes(minVotes),
+                IssueSpecifications.createdAfter(dateFrom),
+                IssueSpecifications.createdBefore(dateTo));
+    }
+    
+    private static List<Long> ids(List<Issue> issues) {
+        return issues.stream().map(Issue::getId).collect(Collectors.toList());
     }
     
+    // 📄 KEYSET (CURSOR) PAGINATION
+    // Each page seeks past the sort key of the previous page's last row, so page N costs the same as page 1.
+
+    /**
+     * All issues, newest first, one page at a time
+     * @param cursor nextCursor of the previous page (null for the first page)
+     * @param limit page size (default 20, max 100)
+     */
+    public CursorPage<IssueSummary> getIssuesPage(String cursor, Integer limit) {
+        return keysetPage("all", null, IssueSortMode.NEWEST, null, null, cursor, CursorCodec.clampLimit(limit));
+    }
+
+    /**
+     * Issues created by the given user, newest first, one page at a time
+     */
+    public CursorPage<IssueSummary> getIssuesByUserPage(User user, String cursor, Integer limit) {
+        return keysetPage("mine", IssueSpecifications.createdBy(user), IssueSortMode.NEWEST,
+                null, null, cursor, CursorCodec.clampLimit(limit));
+    }
+
     /**
-     * Smart comparator logic like real-world platforms
+     * Cursor-paginated variant of getSmartFilteredIssues (same filters and sort modes)
      */
-    private Comparator<Issue> getSmartComparator(String sortBy, Double userLat, Double userLng) {
-        switch (sortBy != null ? sortBy.toLowerCase() : "smart") {
-            case "location":
-                // Sort by distance (closest first)
-                if (userLat != null && userLng != null) {
-                    return Comparator.comparing(issue -> {
-                        if (issue.getLatitude() == null || issue.getLongitude() == null) return Double.MAX_VALUE;
-                        return calculateDistance(userLat, userLng, issue.getLatitude(), issue.getLongitude());
-                    });
-                }
-                return Comparator.comparing(Issue::getCreatedAt).reversed();
-                
-            case "popular":
-            case "votes":
-                // Sort by votes (most voted first), then by recency
-                return Comparator.comparing(Issue::getVoteCount).reversed()
-                        .thenComparing(Issue::getCreatedAt).reversed();
-                
-            case "critical":
-                // Critical first, then by votes, then by recency
-                return Comparator.comparing(Issue::isCritical).reversed()
-                        .thenComparing(Issue::getVoteCount).reversed()
-                        .thenComparing(Issue::getCreatedAt).reversed();
-                
-            case "newest":
-                // Newest first
-                return Comparator.comparing(Issue::getCreatedAt).reversed();
-                
-            case "oldest":
-                // Oldest first
-                return Comparator.comparing(Issue::getCreatedAt);
-                
-            case "smart":
-            default:
-                // 1. VOTE COUNT is primary factor (popularity/engagement)
-                // 2. Location proximity matters (local relevance)
-                // 3. Critical issues get slight boost
-                // 4. Recency as final tiebreaker
-                return (issue1, issue2) -> {
-                    
-                    // PRIMARY: Vote count matters most (engagement/popularity)
-                    int voteCompare = Integer.compare(issue2.getVoteCount(), issue1.getVoteCount());
-                    if (voteCompare != 0) return voteCompare;
-                    
-                    // SECONDARY: Location proximity (if user location provided)
-                    if (userLat != null && userLng != null) {
-                        Double dist1 = issue1.getLatitude() != null && issue1.getLongitude() != null 
-                                ? calculateDistance(userLat, userLng, issue1.getLatitude(), issue1.getLongitude())
-                                : Double.MAX_VALUE;
-                        Double dist2 = issue2.getLatitude() != null && issue2.getLongitude() != null
-                                ? calculateDistance(userLat, userLng, issue2.getLatitude(), issue2.getLongitude())
-                                : Double.MAX_VALUE;
-                        
-                        // Closer issues get priority (within 20km radius)
-                        if (dist1 <= 20 && dist2 <= 20) {
-                            int distCompare = Double.compare(dist1, dist2);
-                            if (distCompare != 0) return distCompare;
-                        }
-                    }
-                    
-                    // TERTIARY: Critical issues get slight boost (but not overwhelming)
-                    int criticalCompare = Boolean.compare(issue2.isCritical(), issue1.isCritical());
-                    if (criticalCompare != 0) return criticalCompare;
-                    
-                    // FINAL: Newer issues
-                    return issue2.getCreatedAt().compareTo(issue1.getCreatedAt());
-                };
+    public CursorPage<IssueSummary> getSmartFilteredIssuesPage(
+            Double userLat, Double userLng, Integer maxRadius,
+            String category, Boolean critical, IssueStatus status,
+            Integer minVotes, LocalDateTime dateFrom, LocalDateTime dateTo,
+            String sortBy, String cursor, Integer limit) {
+        
+        Specification<Issue> filters = buildFilterSpecification(userLat, userLng, maxRadius,
+                category, critical, status, minVotes, dateFrom, dateTo);
+        IssueSortMode sortMode = IssueSortMode.fromParam(sortBy);
+        String scope = "filter-" + sortMode.name().toLowerCase();
+        
+        if (sortMode == IssueSortMode.SMART && userLat != null && userLng != null) {
+            return smartKeysetPage(scope, filters, userLat, userLng, cursor, limit);
+        }
+        return keysetPage(scope, filters, sortMode, userLat, userLng, cursor, CursorCodec.clampLimit(limit));
+    }
+
+    private CursorPage<IssueSummary> keysetPage(String scope, Specification<Issue> filters, IssueSortMode sortMode,
+                                         Double userLat, Double userLng, String cursor, int pageSize) {
+        List<Object> afterKey = CursorCodec.decode(scope, cursor);
+        
+        // Fetch one extra row to know whether another page exists
+        List<KeysetRow<IssueSummary>> rows = issueRepository.findSummaryPageAfter(
+                filters, sortMode, userLat, userLng, afterKey, pageSize + 1);
+        return CursorCodec.toPage(scope, rows, pageSize);
+    }
+
+    // SMART + location ranks in memory, so the cursor holds the comparator's inputs for the last issue
+    private CursorPage<IssueSummary> smartKeysetPage(String scope, Specification<Issue> filters,
+                                              Double userLat, Double userLng, String cursor, int pageSize) {
+        List<Object> afterKey = CursorCodec.decode(scope, cursor);
+        Issue anchor = afterKey != null ? smartCursorAnchor(afterKey) : null;
+        
+        // Ranked on the sort keys alone; only the page's issues are loaded
+        List<Issue> ranked = SmartRanking.rankAfter(issueRepository.findSmartRankingKeys(filters),
+                userLat, userLng, anchor, pageSize + 1, rankingPool);
+        boolean hasMore = ranked.size() > pageSize;
+        if (hasMore) {
+            ranked = ranked.subList(0, pageSize);
         }
+        
+        return CursorPage.<IssueSummary>builder()
+                .items(findSummariesInOrder(ids(ranked)))
+                .nextCursor(hasMore ? CursorCodec.encode(scope, smartCursorKey(ranked.get(ranked.size() - 1))) : null)
+                .hasMore(hasMore)
+                .limit(pageSize)
+                .build();
+    }
+
+    private List<Object> smartCursorKey(Issue issue) {
+        return Arrays.asList(issue.getVoteCount(), issue.getLatitude(), issue.getLongitude(),
+                issue.isCritical(), issue.getCreatedAt(), issue.getId());
     }
 
+    private Issue smartCursorAnchor(List<Object> key) {
+        if (key.size() != 6) {
+            throw new RuntimeException("Invalid cursor");
+        }
+        // Cursors arrive from clients: check every element before unboxing it
+        Issue anchor = new Issue();
+        anchor.setVoteCount(CursorCodec.keyValue(key, 0, Integer.class, false));
+        anchor.setLatitude(CursorCodec.keyValue(key, 1, Double.class, true));
+        anchor.setLongitude(CursorCodec.keyValue(key, 2, Double.class, true));
+        anchor.setCritical(CursorCodec.keyValue(key, 3, Boolean.class, false));
+        anchor.setCreatedAt(CursorCodec.keyValue(key, 4, LocalDateTime.class, false));
+        anchor.setId(CursorCodec.keyValue(key, 5, Long.class, false));
+        return anchor;
+    }
+    
     // Dashboard methods for user statistics
     public Map<String, Object> getUserDashboardStats(User user) {
         Map<String, Object> stats = new HashMap<>();
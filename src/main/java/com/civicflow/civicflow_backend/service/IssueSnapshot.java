@@ -0,0 +1,504 @@
+package com.civicflow.civicflow_backend.service;
+
+import com.civicflow.civicflow_backend.dto.IssueSnapshotStatsResponse;
+import com.civicflow.civicflow_backend.model.Issue;
+import com.civicflow.civicflow_backend.model.IssueSortMode;
+import com.civicflow.civicflow_backend.model.IssueStatus;
+import com.civicflow.civicflow_backend.repository.GeoBoundingBox;
+import com.civicflow.civicflow_backend.repository.IssueRepository;
+import com.civicflow.civicflow_backend.repository.IssueSnapshotView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Columnar read model of every issue for the smart filter: parallel primitive arrays
+ * (coordinates, votes, status and category codes, createdAt) plus bitsets, kept in id order.
+ * A filter is one loop over the columns with no per-issue objects; only the IDs of the
+ * requested page leave the snapshot and the caller hydrates those. Large snapshots are
+ * filtered and ranked in parallel chunks on the RankingPool.
+ * Built on startup and kept current from committed IssueChangedEvents, like IssueSpatialIndex,
+ * and from VoteCountChangedEvents, which only touch the votes column.
+ */
+@Component
+public class IssueSnapshot extends RebuildableReadModel<IssueSnapshot.Row, IssueSnapshot.Columns> {
+
+    // ids, latitudes, longitudes, createdAt (8 each) + votes, categories (4 each) + statuses (1)
+    private static final int BYTES_PER_SLOT = 8 * 4 + 4 * 2 + 1;
+    // Out-of-order inserts and deletes leave dead slots; compact once they outnumber live ones
+    private static final int COMPACT_MIN_DEAD_SLOTS = 1024;
+
+    private final IssueRepository issueRepository;
+    private final RankingPool rankingPool;
+
+    // Lower-cased category → code; only grows, shared by every rebuild
+    private final Map<String, Integer> categoryCodes = new ConcurrentHashMap<>();
+    private final AtomicInteger nextCategoryCode = new AtomicInteger();
+
+    public IssueSnapshot(IssueRepository issueRepository, RankingPool rankingPool,
+                         @Value("${civicflow.issue-snapshot.enabled:false}") boolean enabled) {
+        super("Issue snapshot", enabled, new Columns(0));
+        this.issueRepository = issueRepository;
+        this.rankingPool = rankingPool;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return store.liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    protected Columns load(Map<Long, Long> versions) {
+        List<IssueSnapshotView> rows = issueRepository.findAllSnapshotRows();
+        Columns fresh = new Columns(rows.size());
+        for (IssueSnapshotView row : rows) {
+            versions.put(row.getId(), row.getVersion());
+            fresh.put(Row.of(row, this));
+        }
+        return fresh;
+    }
+
+    @Override
+    protected Row toValue(Issue issue) {
+        return Row.of(issue, this);
+    }
+
+    @Override
+    protected void apply(Columns columns, Long issueId, Row row) {
+        if (row != null) {
+            columns.put(row);
+        } else {
+            columns.remove(issueId);
+        }
+    }
+
+    @Override
+    protected boolean tracksVoteCount() {
+        return true;
+    }
+
+    @Override
+    protected void applyVoteDelta(Columns columns, Long issueId, int delta) {
+        columns.addVotes(issueId, delta);
+    }
+
+    @Override
+    protected String describe(Columns columns) {
+        return columns.liveCount + " issues, ~" + estimatedBytes(columns) / 1024 + " KB";
+    }
+
+    /**
+     * Same filters and sort modes as the smart filter's Specifications
+     * @param limit number of leading IDs to return (the end of the requested page)
+     * @return IDs of the first limit matches in order, and the total number of matches
+     */
+    public Result query(Double userLat, Double userLng, Integer maxRadius,
+                        String category, Boolean critical, IssueStatus status,
+                        Integer minVotes, LocalDateTime dateFrom, LocalDateTime dateTo,
+                        IssueSortMode sortMode, int limit) {
+        boolean hasLocation = userLat != null && userLng != null;
+        boolean radiusFilter = hasLocation && maxRadius != null;
+        // Circles reaching the antipode contain every located issue
+        boolean everywhere = radiusFilter && maxRadius / GeoMath.EARTH_RADIUS_KM >= Math.PI;
+        GeoBoundingBox box = radiusFilter && !everywhere ? GeoBoundingBox.around(userLat, userLng, maxRadius) : null;
+
+        boolean hasCategory = category != null && !category.trim().isEmpty();
+        Integer code = hasCategory ? categoryCodes.get(category.trim().toLowerCase()) : null;
+        if (hasCategory && code == null) {
+            return new Result(List.of(), 0);
+        }
+        int categoryCode = code != null ? code : -1;
+        int statusCode = status != null ? status.ordinal() : -1;
+        long from = dateFrom != null ? SmartRanking.epochNanos(dateFrom) : 0;
+        long to = dateTo != null ? SmartRanking.epochNanos(dateTo) : 0;
+
+        lock.readLock().lock();
+        try {
+            Columns c = store;
+            AtomicInteger total = new AtomicInteger();
+            // Each chunk collects its matches, measuring only rows that passed the other filters
+            // and the bounding box, then keeps its own top
+            List<Matches> chunkTops = rankingPool.mapChunks(c.size, (fromSlot, toSlot) -> {
+                Matches matched = new Matches(hasLocation);
+                for (int slot = c.live.nextSetBit(fromSlot); slot >= 0 && slot < toSlot; slot = c.live.nextSetBit(slot + 1)) {
+                    if (statusCode >= 0 && c.statuses[slot] != statusCode) continue;
+                    if (critical != null && c.critical.get(slot) != critical) continue;
+                    if (minVotes != null && c.votes[slot] < minVotes) continue;
+                    if (categoryCode >= 0 && c.categories[slot] != categoryCode) continue;
+                    // Null createdAt is stored as Long.MIN_VALUE and, like SQL NULL, matches neither bound
+                    if (dateFrom != null && !(c.createdAt[slot] > from)) continue;
+                    if (dateTo != null && !(c.createdAt[slot] < to && c.createdAt[slot] != Long.MIN_VALUE)) continue;
+
+                    double distance = 0;
+                    if (hasLocation) {
+                        double lat = c.latitudes[slot];
+                        double lng = c.longitudes[slot];
+                        boolean located = !Double.isNaN(lat) && !Double.isNaN(lng);
+                        if (radiusFilter && (!located || (box != null && !box.contains(lat, lng)))) continue;
+                        distance = located
+                                ? GeoMath.haversineKm(userLat, userLng, lat, lng)
+                                : Double.POSITIVE_INFINITY;
+                        if (box != null && distance > maxRadius) continue;
+                    }
+                    matched.add(slot, distance);
+                }
+                total.addAndGet(matched.count);
+                return matched.top(limit, order(c, sortMode, matched));
+            });
+
+            Matches top = chunkTops.get(0);
+            if (chunkTops.size() > 1) {
+                Matches candidates = new Matches(hasLocation);
+                chunkTops.forEach(candidates::addAll);
+                top = candidates.top(limit, order(c, sortMode, candidates));
+            }
+            List<Long> ids = new ArrayList<>(top.count);
+            for (int i = 0; i < top.count; i++) {
+                ids.add(c.ids[top.slots[i]]);
+            }
+            return new Result(ids, total.get());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Mirrors IssueSpecifications.orders (and SmartRanking for SMART around a location).
+     * Compares positions in the given matches, so distances are only kept for matching rows.
+     */
+    private static IntBinaryOperator order(Columns c, IssueSortMode sortMode, Matches matches) {
+        int[] s = matches.slots;
+        double[] distances = matches.distances;
+        IntBinaryOperator newest = (a, b) -> {
+            int byRecency = Long.compare(c.createdAt[s[b]], c.createdAt[s[a]]);
+            return byRecency != 0 ? byRecency : Long.compare(c.ids[s[b]], c.ids[s[a]]);
+        };
+        switch (sortMode) {
+            case LOCATION:
+                if (distances == null) {
+                    return newest;
+                }
+                // Issues without coordinates have an infinite distance and go last
+                return (a, b) -> {
+                    int byDistance = Double.compare(distances[a], distances[b]);
+                    return byDistance != 0 ? byDistance : Long.compare(c.ids[s[a]], c.ids[s[b]]);
+                };
+            case POPULAR:
+                return (a, b) -> {
+                    int byVotes = Integer.compare(c.votes[s[b]], c.votes[s[a]]);
+                    return byVotes != 0 ? byVotes : newest.applyAsInt(a, b);
+                };
+            case CRITICAL:
+                return (a, b) -> {
+                    int byCritical = Boolean.compare(c.critical.get(s[b]), c.critical.get(s[a]));
+                    if (byCritical != 0) return byCritical;
+                    int byVotes = Integer.compare(c.votes[s[b]], c.votes[s[a]]);
+                    return byVotes != 0 ? byVotes : newest.applyAsInt(a, b);
+                };
+            case NEWEST:
+                return newest;
+            case OLDEST:
+                return (a, b) -> {
+                    int byAge = Long.compare(c.createdAt[s[a]], c.createdAt[s[b]]);
+                    return byAge != 0 ? byAge : Long.compare(c.ids[s[a]], c.ids[s[b]]);
+                };
+            case SMART:
+            default:
+                if (distances == null) {
+                    return (a, b) -> {
+                        int byVotes = Integer.compare(c.votes[s[b]], c.votes[s[a]]);
+                        if (byVotes != 0) return byVotes;
+                        int byCritical = Boolean.compare(c.critical.get(s[b]), c.critical.get(s[a]));
+                        return byCritical != 0 ? byCritical : newest.applyAsInt(a, b);
+                    };
+                }
+                return (a, b) -> {
+                    int byVotes = Integer.compare(c.votes[s[b]], c.votes[s[a]]);
+                    if (byVotes != 0) return byVotes;
+                    int byDistance = Double.compare(window(distances[a]), window(distances[b]));
+                    if (byDistance != 0) return byDistance;
+                    int byCritical = Boolean.compare(c.critical.get(s[b]), c.critical.get(s[a]));
+                    if (byCritical != 0) return byCritical;
+                    int byRecency = Long.compare(c.createdAt[s[b]], c.createdAt[s[a]]);
+                    return byRecency != 0 ? byRecency : Long.compare(c.ids[s[a]], c.ids[s[b]]);
+                };
+        }
+    }
+
+    private static double window(double distance) {
+        return distance <= SmartRanking.PROXIMITY_WINDOW_KM ? distance : Double.POSITIVE_INFINITY;
+    }
+
+    // Matching slots in a growing buffer, with their distances when the query has a location
+    private static final class Matches {
+        int[] slots = new int[64];
+        double[] distances;
+        int count;
+
+        Matches(boolean withDistances) {
+            distances = withDistances ? new double[slots.length] : null;
+        }
+
+        void add(int slot, double distance) {
+            if (count == slots.length) {
+                slots = Arrays.copyOf(slots, count * 2);
+                if (distances != null) {
+                    distances = Arrays.copyOf(distances, count * 2);
+                }
+            }
+            slots[count] = slot;
+            if (distances != null) {
+                distances[count] = distance;
+            }
+            count++;
+        }
+
+        void addAll(Matches other) {
+            for (int i = 0; i < other.count; i++) {
+                add(other.slots[i], other.distances != null ? other.distances[i] : 0);
+            }
+        }
+
+        // The first limit matches under the order (which compares positions in this buffer)
+        Matches top(int limit, IntBinaryOperator order) {
+            int[] positions = new int[count];
+            for (int i = 0; i < count; i++) {
+                positions[i] = i;
+            }
+            Matches top = new Matches(distances != null);
+            for (int position : SlotSorter.top(positions, count, limit, order)) {
+                top.add(slots[position], distances != null ? distances[position] : 0);
+            }
+            return top;
+        }
+    }
+
+    /**
+     * Memory held by the columns, and the same layout projected to 1M issues
+     */
+    public IssueSnapshotStatsResponse getStats() {
+        lock.readLock().lock();
+        try {
+            Columns c = store;
+            long bytes = estimatedBytes(c);
+            long bytesPerIssue = (long) BYTES_PER_SLOT + 1; // plus two bits for the critical and live bitsets
+            return IssueSnapshotStatsResponse.builder()
+                    .enabled(isEnabled())
+                    .ready(isReady())
+                    .issues(c.liveCount)
+                    .slots(c.size)
+                    .capacity(c.ids.length)
+                    .categories(categoryCodes.size())
+                    .estimatedBytes(bytes)
+                    .bytesPerIssue(bytesPerIssue)
+                    .estimatedBytesPerMillionIssues(bytesPerIssue * 1_000_000L)
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long estimatedBytes(Columns c) {
+        long capacity = c.ids.length;
+        return capacity * BYTES_PER_SLOT + (c.critical.size() + c.live.size()) / 8;
+    }
+
+    private int categoryCode(String category) {
+        if (category == null) {
+            return -1;
+        }
+        return categoryCodes.computeIfAbsent(category.trim().toLowerCase(),
+                key -> nextCategoryCode.getAndIncrement());
+    }
+
+    public static final class Result {
+        private final List<Long> ids;
+        private final int total;
+
+        Result(List<Long> ids, int total) {
+            this.ids = ids;
+            this.total = total;
+        }
+
+        public List<Long> getIds() {
+            return ids;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+    }
+
+    // One issue's column values
+    static final class Row {
+        final long id;
+        final double latitude;
+        final double longitude;
+        final int votes;
+        final byte status;
+        final int category;
+        final boolean critical;
+        final long createdAt;
+
+        private Row(long id, Double latitude, Double longitude, int votes, IssueStatus status,
+                    int category, boolean critical, LocalDateTime createdAt) {
+            this.id = id;
+            this.latitude = latitude != null ? latitude : Double.NaN;
+            this.longitude = longitude != null ? longitude : Double.NaN;
+            this.votes = votes;
+            this.status = status != null ? (byte) status.ordinal() : -1;
+            this.category = category;
+            this.critical = critical;
+            this.createdAt = SmartRanking.epochNanos(createdAt);
+        }
+
+        static Row of(IssueSnapshotView view, IssueSnapshot snapshot) {
+            return new Row(view.getId(), view.getLatitude(), view.getLongitude(),
+                    view.getVoteCount() != null ? view.getVoteCount() : 0, view.getStatus(),
+                    snapshot.categoryCode(view.getCategory()), Boolean.TRUE.equals(view.getCritical()),
+                    view.getCreatedAt());
+        }
+
+        static Row of(Issue issue, IssueSnapshot snapshot) {
+            return new Row(issue.getId(), issue.getLatitude(), issue.getLongitude(), issue.getVoteCount(),
+                    issue.getStatus(), snapshot.categoryCode(issue.getCategory()), issue.isCritical(),
+                    issue.getCreatedAt());
+        }
+    }
+
+    // Parallel arrays sorted by id; slots [0, size) are in use, deleted ones are cleared in live
+    static final class Columns {
+        long[] ids;
+        double[] latitudes;
+        double[] longitudes;
+        int[] votes;
+        byte[] statuses;
+        int[] categories;
+        long[] createdAt;
+        final BitSet critical = new BitSet();
+        final BitSet live = new BitSet();
+        int size;
+        int liveCount;
+
+        Columns(int capacity) {
+            allocate(Math.max(capacity, 16));
+        }
+
+        void put(Row row) {
+            int slot = Arrays.binarySearch(ids, 0, size, row.id);
+            if (slot < 0) {
+                slot = -slot - 1;
+                if (size == ids.length) {
+                    grow();
+                }
+                // IDs usually arrive in increasing order; a transaction committing late needs a shift
+                if (slot < size) {
+                    shiftRight(slot);
+                }
+                size++;
+            }
+            if (!live.get(slot)) {
+                live.set(slot);
+                liveCount++;
+            }
+            ids[slot] = row.id;
+            latitudes[slot] = row.latitude;
+            longitudes[slot] = row.longitude;
+            votes[slot] = row.votes;
+            statuses[slot] = row.status;
+            categories[slot] = row.category;
+            createdAt[slot] = row.createdAt;
+            critical.set(slot, row.critical);
+        }
+
+        void addVotes(long id, int delta) {
+            int slot = Arrays.binarySearch(ids, 0, size, id);
+            if (slot >= 0 && live.get(slot)) {
+                votes[slot] += delta;
+            }
+        }
+
+        void remove(long id) {
+            int slot = Arrays.binarySearch(ids, 0, size, id);
+            if (slot < 0 || !live.get(slot)) {
+                return;
+            }
+            live.clear(slot);
+            liveCount--;
+            int dead = size - liveCount;
+            if (dead >= COMPACT_MIN_DEAD_SLOTS && dead > liveCount) {
+                compact();
+            }
+        }
+
+        private void allocate(int capacity) {
+            ids = new long[capacity];
+            latitudes = new double[capacity];
+            longitudes = new double[capacity];
+            votes = new int[capacity];
+            statuses = new byte[capacity];
+            categories = new int[capacity];
+            createdAt = new long[capacity];
+        }
+
+        private void grow() {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            latitudes = Arrays.copyOf(latitudes, capacity);
+            longitudes = Arrays.copyOf(longitudes, capacity);
+            votes = Arrays.copyOf(votes, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            categories = Arrays.copyOf(categories, capacity);
+            createdAt = Arrays.copyOf(createdAt, capacity);
+        }
+
+        private void shiftRight(int from) {
+            int length = size - from;
+            System.arraycopy(ids, from, ids, from + 1, length);
+            System.arraycopy(latitudes, from, latitudes, from + 1, length);
+            System.arraycopy(longitudes, from, longitudes, from + 1, length);
+            System.arraycopy(votes, from, votes, from + 1, length);
+            System.arraycopy(statuses, from, statuses, from + 1, length);
+            System.arraycopy(categories, from, categories, from + 1, length);
+            System.arraycopy(createdAt, from, createdAt, from + 1, length);
+            for (int i = size; i > from; i--) {
+                critical.set(i, critical.get(i - 1));
+                live.set(i, live.get(i - 1));
+            }
+            live.clear(from);
+        }
+
+        // Move live slots to the front, keeping id order
+        private void compact() {
+            int target = 0;
+            for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+                ids[target] = ids[slot];
+                latitudes[target] = latitudes[slot];
+                longitudes[target] = longitudes[slot];
+                votes[target] = votes[slot];
+                statuses[target] = statuses[slot];
+                categories[target] = categories[slot];
+                createdAt[target] = createdAt[slot];
+                critical.set(target, critical.get(slot));
+                target++;
+            }
+            critical.clear(target, size);
+            live.clear();
+            live.set(0, target);
+            size = target;
+        }
+    }
+}
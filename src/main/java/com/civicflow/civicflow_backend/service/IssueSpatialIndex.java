@@ -0,0 +1,269 @@
+package com.civicflow.civicflow_backend.service;
+
+import com.civicflow.civicflow_backend.dto.NearbyBatchRequest;
+import com.civicflow.civicflow_backend.dto.ResourceVersion;
+import com.civicflow.civicflow_backend.model.Issue;
+import com.civicflow.civicflow_backend.repository.GeoBoundingBox;
+import com.civicflow.civicflow_backend.repository.IssueLocationView;
+import com.civicflow.civicflow_backend.repository.IssueRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory grid index over issue coordinates for "nearby" queries.
+ * The globe is cut into fixed-size lat/lng cells; a radius query only measures the issues
+ * in the cells overlapping the search circle, then the caller hydrates the matching IDs.
+ * Built from the database on startup and kept current from committed IssueChangedEvents.
+ * Vote count changes only move the versions it tracks, which version nearby responses.
+ */
+@Component
+public class IssueSpatialIndex extends RebuildableReadModel<IssueSpatialIndex.Entry, IssueSpatialIndex.Grid> {
+
+    private final IssueRepository issueRepository;
+    private final double cellSizeDegrees;
+    private final int rows;
+    private final int columns;
+
+    public IssueSpatialIndex(IssueRepository issueRepository,
+                             @Value("${civicflow.spatial-index.enabled:true}") boolean enabled,
+                             @Value("${civicflow.spatial-index.cell-size-degrees:0.05}") double cellSizeDegrees) {
+        super("Spatial index", enabled, new Grid());
+        this.issueRepository = issueRepository;
+        this.cellSizeDegrees = cellSizeDegrees;
+        this.rows = (int) Math.ceil(180 / cellSizeDegrees);
+        this.columns = (int) Math.ceil(360 / cellSizeDegrees);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return store.entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    protected Grid load(Map<Long, Long> versions) {
+        Grid fresh = new Grid();
+        for (IssueLocationView row : issueRepository.findAllLocations()) {
+            versions.put(row.getId(), row.getVersion());
+            if (row.getLatitude() == null || row.getLongitude() == null) {
+                continue;
+            }
+            fresh.put(new Entry(row.getId(), row.getLatitude(), row.getLongitude(),
+                    row.getCategory(), Boolean.TRUE.equals(row.getCritical()), cellKey(row.getLatitude(), row.getLongitude())));
+        }
+        return fresh;
+    }
+
+    @Override
+    protected Entry toValue(Issue issue) {
+        if (issue.getLatitude() == null || issue.getLongitude() == null) {
+            return null;
+        }
+        return new Entry(issue.getId(), issue.getLatitude(), issue.getLongitude(),
+                issue.getCategory(), issue.isCritical(), cellKey(issue.getLatitude(), issue.getLongitude()));
+    }
+
+    @Override
+    protected void apply(Grid grid, Long issueId, Entry entry) {
+        grid.remove(issueId);
+        if (entry != null) {
+            grid.put(entry);
+        }
+    }
+
+    // Nearby responses show vote counts, so their ETags must follow votes
+    @Override
+    protected boolean tracksVoteCount() {
+        return true;
+    }
+
+    @Override
+    protected String describe(Grid grid) {
+        return grid.entries.size() + " issues in " + grid.cells.size() + " cells";
+    }
+
+    /**
+     * Version of a findWithinRadius result: the matched IDs in order and each issue's version,
+     * so a conditional nearby GET is answered without SQL
+     */
+    public ResourceVersion versionWithinRadius(double latitude, double longitude, double radiusKm,
+                                               String category, Boolean critical) {
+        lock.readLock().lock();
+        try {
+            List<Long> ids = matchesWithinRadius(latitude, longitude, radiusKm, category, critical);
+            return new ResourceVersion(ids.size(), null, Long.toHexString(fingerprint(ids)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find issues within a radius, optionally filtered like findNearbyIssuesWithFilters
+     * @param category exact category match (optional)
+     * @param critical critical flag match (optional)
+     * @return IDs of matching issues sorted by distance (closest first)
+     */
+    public List<Long> findWithinRadius(double latitude, double longitude, double radiusKm,
+                                       String category, Boolean critical) {
+        lock.readLock().lock();
+        try {
+            return matchesWithinRadius(latitude, longitude, radiusKm, category, critical);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Answer many findWithinRadius queries in one pass over the index, under one read lock,
+     * so every answer sees the same state
+     * @return one ID list per query, in query order
+     */
+    public List<List<Long>> findWithinRadius(List<NearbyBatchRequest.NearbyQuery> queries) {
+        List<List<Long>> results = new ArrayList<>(queries.size());
+        lock.readLock().lock();
+        try {
+            for (NearbyBatchRequest.NearbyQuery query : queries) {
+                results.add(matchesWithinRadius(query.getLatitude(), query.getLongitude(), query.getRadius(),
+                        query.getCategory(), query.getCritical()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return results;
+    }
+
+    // Caller holds the read lock
+    private List<Long> matchesWithinRadius(double latitude, double longitude, double radiusKm,
+                                           String category, Boolean critical) {
+        List<Match> matches = new ArrayList<>();
+        for (Entry entry : candidates(latitude, longitude, radiusKm)) {
+            if (category != null && !category.equals(entry.category)) continue;
+            if (critical != null && critical != entry.critical) continue;
+            double distance = GeoMath.haversineKm(latitude, longitude, entry.latitude, entry.longitude);
+            if (distance <= radiusKm) {
+                matches.add(new Match(entry.id, distance));
+            }
+        }
+
+        matches.sort((a, b) -> {
+            int byDistance = Double.compare(a.distance, b.distance);
+            return byDistance != 0 ? byDistance : Long.compare(a.id, b.id);
+        });
+        List<Long> ids = new ArrayList<>(matches.size());
+        for (Match match : matches) {
+            ids.add(match.id);
+        }
+        return ids;
+    }
+
+    // Entries in the cells overlapping the circle's bounding box (caller holds the read lock)
+    private Collection<Entry> candidates(double latitude, double longitude, double radiusKm) {
+        GeoBoundingBox box = GeoBoundingBox.around(latitude, longitude, radiusKm);
+        int firstRow = row(box.getMinLatitude());
+        int lastRow = row(box.getMaxLatitude());
+        int firstColumn;
+        int columnCount;
+        if (box.isAllLongitudes()) {
+            firstColumn = 0;
+            columnCount = columns;
+        } else {
+            firstColumn = column(box.getWestLongitude());
+            int lastColumn = column(box.getEastLongitude());
+            if (box.crossesAntimeridian()) {
+                lastColumn += columns;
+            }
+            columnCount = Math.min(lastColumn - firstColumn + 1, columns);
+        }
+
+        // Huge circles touch more cells than are occupied: measuring every entry is cheaper
+        long cellCount = (long) (lastRow - firstRow + 1) * columnCount;
+        if (cellCount > store.cells.size()) {
+            return store.entries.values();
+        }
+
+        List<Entry> candidates = new ArrayList<>();
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int i = 0; i < columnCount; i++) {
+                // floorMod wraps columns across the antimeridian
+                int column = Math.floorMod(firstColumn + i, columns);
+                List<Entry> cell = store.cells.get((long) row * columns + column);
+                if (cell != null) {
+                    candidates.addAll(cell);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private int row(double latitude) {
+        return Math.min(rows - 1, Math.max(0, (int) Math.floor((latitude + 90) / cellSizeDegrees)));
+    }
+
+    private int column(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / cellSizeDegrees), columns);
+    }
+
+    private long cellKey(double latitude, double longitude) {
+        return (long) row(latitude) * columns + column(longitude);
+    }
+
+    // Located issues and the entries of each occupied cell (caller holds the write lock to change it)
+    static final class Grid {
+        final Map<Long, Entry> entries = new HashMap<>();
+        final Map<Long, List<Entry>> cells = new HashMap<>();
+
+        void put(Entry entry) {
+            entries.put(entry.id, entry);
+            cells.computeIfAbsent(entry.cellKey, key -> new ArrayList<>()).add(entry);
+        }
+
+        void remove(Long issueId) {
+            Entry previous = entries.remove(issueId);
+            if (previous == null) {
+                return;
+            }
+            List<Entry> cell = cells.get(previous.cellKey);
+            cell.remove(previous);
+            if (cell.isEmpty()) {
+                cells.remove(previous.cellKey);
+            }
+        }
+    }
+
+    static final class Entry {
+        final long id;
+        final double latitude;
+        final double longitude;
+        final String category;
+        final boolean critical;
+        final long cellKey;
+
+        Entry(long id, double latitude, double longitude, String category, boolean critical, long cellKey) {
+            this.id = id;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.category = category;
+            this.critical = critical;
+            this.cellKey = cellKey;
+        }
+    }
+
+    private static final class Match {
+        final long id;
+        final double distance;
+
+        Match(long id, double distance) {
+            this.id = id;
+            this.distance = distance;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.civicflow.civicflow_backend.service;
+
+import lombok.Getter;
+
+/**
+ * Published once a bulk import has committed, instead of one IssueChangedEvent per row.
+ * In-memory read models rebuild from the database when they receive it.
+ */
+@Getter
+public class IssuesImportedEvent {
+
+    private final long imported;
+
+    public IssuesImportedEvent(long imported) {
+        this.imported = imported;
+    }
+}
@@ -1,22 +1,31 @@
 package com.civicflow.civicflow_backend.service;
 
+import com.civicflow.civicflow_backend.dto.CursorPage;
 import com.civicflow.civicflow_backend.dto.IssueResponse;
 import com.civicflow.civicflow_backend.model.Issue;
+import com.civicflow.civicflow_backend.model.IssueSortMode;
 import com.civicflow.civicflow_backend.model.IssueStatus;
 import com.civicflow.civicflow_backend.model.Role;
 import com.civicflow.civicflow_backend.model.User;
 import com.civicflow.civicflow_backend.repository.IssueRepository;
+import com.civicflow.civicflow_backend.repository.IssueSpecifications;
+import com.civicflow.civicflow_backend.repository.KeysetRow;
 import com.civicflow.civicflow_backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 @Service
 @Transactional
 public class NgoService {
@@ -27,6 +36,9 @@ public class NgoService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public Page<IssueResponse> getMyAssignedIssues(int page, int size, String sortBy, String sortDir, String status) {
         User currentNgo = getCurrentNgo();
         
@@ -38,7 +50,7 @@ public class NgoService {
         
         Page<Issue> issues;
         if (status != null && !status.trim().isEmpty()) {
-            IssueStatus issueStatus = IssueStatus.valueOf(status.toUpperCase());
+            IssueStatus issueStatus = parseStatus(status);
             issues = issueRepository.findByAssignedNgoAndStatus(currentNgo, issueStatus, pageable);
         } else {
             issues = issueRepository.findByAssignedNgo(currentNgo, pageable);
@@ -47,6 +59,34 @@ public class NgoService {
         return issues.map(this::convertToIssueResponse);
     }
 
+    /**
+     * Keyset-paginated variant of getMyAssignedIssues, ordered by creation time
+     * @param cursor nextCursor of the previous page (null for the first page)
+     */
+    public CursorPage<IssueResponse> getMyAssignedIssuesPage(String cursor, Integer limit, String sortDir, String status) {
+        User currentNgo = getCurrentNgo();
+        
+        IssueSortMode sortMode = "asc".equalsIgnoreCase(sortDir) ? IssueSortMode.OLDEST : IssueSortMode.NEWEST;
+        String scope = "ngo-" + sortMode.name().toLowerCase();
+        int pageSize = CursorCodec.clampLimit(limit);
+        
+        Specification<Issue> filters = IssueSpecifications.assignedTo(currentNgo);
+        if (status != null && !status.trim().isEmpty()) {
+            filters = filters.and(IssueSpecifications.hasStatus(parseStatus(status)));
+        }
+        
+        List<KeysetRow<Issue>> rows = issueRepository.findPageAfter(
+                filters, sortMode, null, null, CursorCodec.decode(scope, cursor), pageSize + 1);
+        CursorPage<Issue> issues = CursorCodec.toPage(scope, rows, pageSize);
+        
+        return CursorPage.<IssueResponse>builder()
+                .items(issues.getItems().stream().map(this::convertToIssueResponse).collect(Collectors.toList()))
+                .nextCursor(issues.getNextCursor())
+                .hasMore(issues.isHasMore())
+                .limit(issues.getLimit())
+                .build();
+    }
+
     public void updateIssueStatus(Long issueId, String status) {
         User currentNgo = getCurrentNgo();
         
@@ -58,15 +98,15 @@ public class NgoService {
             throw new RuntimeException("You can only update issues assigned to your NGO");
         }
         
-        IssueStatus issueStatus = IssueStatus.valueOf(status.toUpperCase());
+        IssueStatus issueStatus = parseStatus(status);
         issue.setStatus(issueStatus);
-        issueRepository.save(issue);
+        eventPublisher.publishEvent(IssueChangedEvent.saved(issueRepository.save(issue)));
     }
 
     public IssueResponse getIssueDetails(Long issueId) {
         User currentNgo = getCurrentNgo();
         
-        Issue issue = issueRepository.findById(issueId)
+        Issue issue = issueRepository.findWithUsersById(issueId)
                 .orElseThrow(() -> new RuntimeException("Issue not found"));
         
         // Verify the issue is assigned to the current NGO
@@ -96,6 +136,14 @@ public class NgoService {
                 .build();
     }
 
+    private IssueStatus parseStatus(String status) {
+        try {
+            return IssueStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new RuntimeException("Invalid status. Allowed: OPEN, ASSIGNED, IN_PROGRESS, RESOLVED, REJECTED");
+        }
+    }
+
     private User getCurrentNgo() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
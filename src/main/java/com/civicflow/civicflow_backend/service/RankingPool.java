@@ -0,0 +1,96 @@
+package com.civicflow.civicflow_backend.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+
+/**
+ * Dedicated, bounded ForkJoinPool for the in-memory filter and ranking stages.
+ * Candidate sets at or above the threshold are split into contiguous chunks that run in
+ * parallel; chunk results come back in chunk order, so callers can merge them into exactly
+ * what a sequential pass would produce. The common pool is never used.
+ */
+@Component
+public class RankingPool {
+
+    // Smallest chunk worth handing to another thread
+    private static final int MIN_CHUNK_SIZE = 4096;
+
+    // Parallelism 1 never forks, so its pool never starts a thread
+    private static final RankingPool SEQUENTIAL = new RankingPool(1, Integer.MAX_VALUE);
+
+    private final ForkJoinPool pool;
+    private final int parallelism;
+    private final int threshold;
+
+    public RankingPool(@Value("${civicflow.ranking.parallelism:0}") int parallelism,
+                       @Value("${civicflow.ranking.parallel-threshold:20000}") int threshold) {
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.threshold = threshold;
+        this.pool = new ForkJoinPool(this.parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("ranking-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    // Sequential-only pool, for callers and tests that never want to fork
+    static RankingPool sequential() {
+        return SEQUENTIAL;
+    }
+
+    public boolean isParallel(int candidates) {
+        return parallelism > 1 && candidates >= threshold;
+    }
+
+    /**
+     * Run task over [0, size) in contiguous chunks, in parallel when size reaches the threshold
+     * @return one result per chunk, in chunk order (a single result when run sequentially)
+     */
+    public <T> List<T> mapChunks(int size, ChunkTask<T> task) {
+        if (!isParallel(size)) {
+            return List.of(task.run(0, size));
+        }
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, (size + parallelism * 4 - 1) / (parallelism * 4));
+        List<Callable<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < size; from += chunkSize) {
+            int start = from;
+            int end = Math.min(from + chunkSize, size);
+            chunks.add(() -> task.run(start, end));
+        }
+
+        List<T> results = new ArrayList<>(chunks.size());
+        try {
+            for (Future<T> future : pool.invokeAll(chunks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Ranking interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Ranking failed", e.getCause());
+        }
+        return results;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @FunctionalInterface
+    public interface ChunkTask<T> {
+        T run(int from, int to);
+    }
+}
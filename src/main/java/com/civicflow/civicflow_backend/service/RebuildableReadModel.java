@@ -0,0 +1,316 @@
+package com.civicflow.civicflow_backend.service;
+
+import com.civicflow.civicflow_backend.model.Issue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Base of the in-memory issue read models (spatial index, snapshot, search index, cluster and
+ * heatmap grids). Owns the lock, the rebuild on startup and after imports, and the changes
+ * that commit while a rebuild is loading, which are replayed before the fresh store is swapped
+ * in. Subclasses only say how to load a store, what one issue contributes, and how to apply it.
+ * <p>
+ * Each writer publishes its own copy of the issue after its commit, so two writers of one issue
+ * can deliver their events in reverse commit order. Every change is therefore checked against
+ * the Issue.version the store already reflects: older ones are dropped, and a deleted issue is
+ * remembered for a while so a late save cannot bring it back (issue IDs are never reused).
+ * <p>
+ * Models that rank or weight by votes also follow VoteCountChangedEvents. A vote delta can
+ * overtake the event of the version before it; it is applied right away and kept until that
+ * gap closes, so a save arriving later does not overwrite it.
+ * @param <V> what one issue contributes to the store
+ * @param <S> the store queries read
+ */
+public abstract class RebuildableReadModel<V, S> {
+
+    // Listeners run on the committing thread right after its commit, so a late save trails the
+    // delete of its issue by a thread's scheduling delay, seconds at worst: ten minutes is ample.
+    // A rebuild can load for longer, which is why tombstones never expire while one is loading.
+    private static final long TOMBSTONE_TTL_MS = 10 * 60 * 1000;
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final String name;
+    private final boolean enabled;
+
+    // Guards everything below: queries share the read lock, writers take the write lock
+    protected final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    protected S store;
+    // Issue ID → version the store reflects, including issues that contribute nothing to it
+    private Map<Long, Long> versions = new HashMap<>();
+    // Issue ID → vote deltas applied past a version gap, by the version they produced
+    private Map<Long, NavigableMap<Long, Integer>> earlyDeltas = new HashMap<>();
+    // Deleted issue ID → when, oldest first
+    private final LinkedHashMap<Long, Long> tombstones = new LinkedHashMap<>();
+    // Non-null while a rebuild is loading: the newest change per issue, to replay onto the fresh store
+    private Map<Long, Change<V>> pendingChanges;
+    private List<VoteCountChangedEvent> pendingDeltas;
+    private volatile boolean ready;
+
+    protected RebuildableReadModel(String name, boolean enabled, S emptyStore) {
+        this.name = name;
+        this.enabled = enabled;
+        this.store = emptyStore;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Until the first rebuild finishes, callers should fall back to the database
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Reload every issue from the database. Writes that commit while the rows are
+     * loading are recorded and replayed before the new store is swapped in.
+     */
+    @EventListener({ApplicationReadyEvent.class, IssuesImportedEvent.class})
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new HashMap<>();
+            pendingDeltas = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        S fresh;
+        Map<Long, Long> freshVersions = new HashMap<>();
+        try {
+            fresh = load(freshVersions);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+                pendingDeltas = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // A change is only newer than the loaded row if the load read the issue before it committed
+            Map<Long, NavigableMap<Long, Integer>> freshEarlyDeltas = new HashMap<>();
+            for (Map.Entry<Long, Change<V>> change : pendingChanges.entrySet()) {
+                applyIfNewer(fresh, freshVersions, freshEarlyDeltas, change.getKey(), change.getValue());
+            }
+            for (VoteCountChangedEvent delta : pendingDeltas) {
+                if (!tombstones.containsKey(delta.getIssueId())) {
+                    applyDeltaIfNewer(fresh, freshVersions, freshEarlyDeltas, delta);
+                }
+            }
+            store = fresh;
+            versions = freshVersions;
+            earlyDeltas = freshEarlyDeltas;
+            pendingChanges = null;
+            pendingDeltas = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("{} built: {} ({} ms)", name, describe(fresh), System.currentTimeMillis() - started);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIssueChanged(IssueChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Long issueId = event.getIssueId();
+        Change<V> change = event.isDeleted() ? Change.deleted()
+                : new Change<>(event.getVersion(), toValue(event.getIssue()));
+
+        lock.writeLock().lock();
+        try {
+            if (change.deleted) {
+                long now = System.currentTimeMillis();
+                expireTombstones(now);
+                tombstones.put(issueId, now);
+            } else if (tombstones.containsKey(issueId)) {
+                return;
+            }
+            applyIfNewer(store, versions, earlyDeltas, issueId, change);
+            if (pendingChanges != null) {
+                pendingChanges.merge(issueId, change, Change::newest);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVoteCountChanged(VoteCountChangedEvent event) {
+        if (!enabled || !tracksVoteCount()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (tombstones.containsKey(event.getIssueId())) {
+                return;
+            }
+            applyDeltaIfNewer(store, versions, earlyDeltas, event);
+            if (pendingDeltas != null) {
+                pendingDeltas.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void applyIfNewer(S target, Map<Long, Long> targetVersions,
+                              Map<Long, NavigableMap<Long, Integer>> targetEarlyDeltas, Long issueId, Change<V> change) {
+        if (change.deleted) {
+            apply(target, issueId, null);
+            targetVersions.remove(issueId);
+            targetEarlyDeltas.remove(issueId);
+            return;
+        }
+        Long current = targetVersions.get(issueId);
+        if (current != null && current >= change.version) {
+            return;
+        }
+        apply(target, issueId, change.value);
+        targetVersions.put(issueId, change.version);
+        // Vote deltas that overtook this save are not part of it yet
+        NavigableMap<Long, Integer> early = targetEarlyDeltas.get(issueId);
+        if (early != null) {
+            early.headMap(change.version, true).clear();
+            early.values().forEach(delta -> applyVoteDelta(target, issueId, delta));
+            closeGaps(targetVersions, targetEarlyDeltas, issueId);
+        }
+    }
+
+    // Caller holds the write lock
+    private void applyDeltaIfNewer(S target, Map<Long, Long> targetVersions,
+                                   Map<Long, NavigableMap<Long, Integer>> targetEarlyDeltas, VoteCountChangedEvent event) {
+        Long issueId = event.getIssueId();
+        Long current = targetVersions.get(issueId);
+        NavigableMap<Long, Integer> early = targetEarlyDeltas.get(issueId);
+        if ((current != null && current >= event.getVersion())
+                || (early != null && early.containsKey(event.getVersion()))) {
+            return;
+        }
+        applyVoteDelta(target, issueId, event.getDelta());
+        if (current != null && current == event.getVersion() - 1) {
+            targetVersions.put(issueId, event.getVersion());
+            closeGaps(targetVersions, targetEarlyDeltas, issueId);
+        } else {
+            targetEarlyDeltas.computeIfAbsent(issueId, key -> new TreeMap<>()).put(event.getVersion(), event.getDelta());
+        }
+    }
+
+    // Early deltas that now follow the issue's version without a gap are simply part of it
+    private static void closeGaps(Map<Long, Long> targetVersions,
+                                  Map<Long, NavigableMap<Long, Integer>> targetEarlyDeltas, Long issueId) {
+        NavigableMap<Long, Integer> early = targetEarlyDeltas.get(issueId);
+        if (early == null) {
+            return;
+        }
+        long version = targetVersions.get(issueId);
+        while (early.remove(version + 1) != null) {
+            version++;
+        }
+        targetVersions.put(issueId, version);
+        if (early.isEmpty()) {
+            targetEarlyDeltas.remove(issueId);
+        }
+    }
+
+    /**
+     * Hash of the issues' IDs, in list order, and the newest version of each the store has seen,
+     * for ETags of responses built from them (caller holds the lock)
+     */
+    protected long fingerprint(List<Long> issueIds) {
+        long hash = 1;
+        for (Long issueId : issueIds) {
+            Long version = versions.get(issueId);
+            NavigableMap<Long, Integer> early = earlyDeltas.get(issueId);
+            long newest = early != null ? early.lastKey() : version != null ? version : -1;
+            hash = 31 * (31 * hash + issueId) + newest;
+        }
+        return hash;
+    }
+
+    // Caller holds the write lock
+    private void expireTombstones(long now) {
+        if (pendingChanges != null) {
+            return;
+        }
+        Iterator<Long> deletedAt = tombstones.values().iterator();
+        while (deletedAt.hasNext() && now - deletedAt.next() > TOMBSTONE_TTL_MS) {
+            deletedAt.remove();
+        }
+    }
+
+    // Read every issue into a new store, recording each issue's version (no lock held)
+    protected abstract S load(Map<Long, Long> versions);
+
+    // What a saved issue contributes, or null when it is not part of this model
+    protected abstract V toValue(Issue issue);
+
+    // Replace the issue's contribution to the store; null removes it (caller holds the write lock)
+    protected abstract void apply(S store, Long issueId, V value);
+
+    // Size of a freshly built store, for the build log line
+    protected abstract String describe(S store);
+
+    // Models whose values (or whose versions, when they feed ETags) follow Issue.voteCount
+    protected boolean tracksVoteCount() {
+        return false;
+    }
+
+    // Move the issue's vote count in the store, if it is part of it (caller holds the write lock)
+    protected void applyVoteDelta(S store, Long issueId, int delta) {
+    }
+
+    // One committed save (value null when the issue is not part of the model) or delete
+    private static final class Change<V> {
+        final long version;
+        final V value;
+        final boolean deleted;
+
+        private Change(long version, V value, boolean deleted) {
+            this.version = version;
+            this.value = value;
+            this.deleted = deleted;
+        }
+
+        Change(long version, V value) {
+            this(version, value, false);
+        }
+
+        static <V> Change<V> deleted() {
+            return new Change<>(Long.MAX_VALUE, null, true);
+        }
+
+        // A delete is final; otherwise the higher version wins
+        static <V> Change<V> newest(Change<V> a, Change<V> b) {
+            if (a.deleted || b.deleted) {
+                return a.deleted ? a : b;
+            }
+            return b.version > a.version ? b : a;
+        }
+    }
+}
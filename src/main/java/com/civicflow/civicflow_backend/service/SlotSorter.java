@@ -0,0 +1,112 @@
+package com.civicflow.civicflow_backend.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Sorting for column-oriented rankings: rows are int slot numbers into parallel primitive
+ * arrays and the order is an IntBinaryOperator over two slots (negative = first ranks earlier).
+ */
+final class SlotSorter {
+
+    private SlotSorter() {
+    }
+
+    /**
+     * The first limit of the count candidate slots, in order. Below the full count a bounded
+     * heap picks them in O(n log k) and only those are sorted.
+     */
+    static int[] top(int[] candidates, int count, int limit, IntBinaryOperator order) {
+        int[] top = limit < count
+                ? selectTop(candidates, count, Math.max(limit, 0), order)
+                : Arrays.copyOf(candidates, count);
+        return sort(top, order);
+    }
+
+    /**
+     * Combine per-chunk results (each the first limit of its chunk, in order) into the overall
+     * first limit. Every overall winner is among its own chunk's first limit, so for a total
+     * order this equals a sequential top() over all candidates.
+     */
+    static int[] mergeTops(List<int[]> tops, int limit, IntBinaryOperator order) {
+        if (tops.size() == 1) {
+            return tops.get(0);
+        }
+        int count = 0;
+        for (int[] top : tops) {
+            count += top.length;
+        }
+        int[] candidates = new int[count];
+        int offset = 0;
+        for (int[] top : tops) {
+            System.arraycopy(top, 0, candidates, offset, top.length);
+            offset += top.length;
+        }
+        return top(candidates, count, limit, order);
+    }
+
+    /**
+     * Bounded max-heap selection: keeps the k best slots seen so far with the worst at the root,
+     * so each candidate costs O(log k) and only k slots are ever retained (unordered)
+     */
+    private static int[] selectTop(int[] candidates, int count, int k, IntBinaryOperator order) {
+        int[] heap = new int[k];
+        if (k == 0) {
+            return heap;
+        }
+        int size = 0;
+        for (int c = 0; c < count; c++) {
+            int slot = candidates[c];
+            if (size < k) {
+                // Sift up
+                int child = size++;
+                while (child > 0) {
+                    int parent = (child - 1) / 2;
+                    if (order.applyAsInt(heap[parent], slot) >= 0) break;
+                    heap[child] = heap[parent];
+                    child = parent;
+                }
+                heap[child] = slot;
+            } else if (order.applyAsInt(slot, heap[0]) < 0) {
+                // Replace the worst kept slot and sift down
+                int parent = 0;
+                while (true) {
+                    int child = 2 * parent + 1;
+                    if (child >= k) break;
+                    if (child + 1 < k && order.applyAsInt(heap[child + 1], heap[child]) > 0) child++;
+                    if (order.applyAsInt(heap[child], slot) <= 0) break;
+                    heap[parent] = heap[child];
+                    parent = child;
+                }
+                heap[parent] = slot;
+            }
+        }
+        return heap;
+    }
+
+    // Bottom-up merge sort of slot indexes; returns whichever buffer holds the result
+    private static int[] sort(int[] slots, IntBinaryOperator order) {
+        int[] source = slots;
+        int[] target = new int[slots.length];
+        for (int width = 1; width < slots.length; width *= 2) {
+            for (int low = 0; low < slots.length; low += 2 * width) {
+                int mid = Math.min(low + width, slots.length);
+                int high = Math.min(low + 2 * width, slots.length);
+                int left = low;
+                int right = mid;
+                for (int k = low; k < high; k++) {
+                    if (left < mid && (right >= high || order.applyAsInt(source[left], source[right]) <= 0)) {
+                        target[k] = source[left++];
+                    } else {
+                        target[k] = source[right++];
+                    }
+                }
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        return source;
+    }
+}
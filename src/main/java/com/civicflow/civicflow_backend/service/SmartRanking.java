@@ -0,0 +1,124 @@
+package com.civicflow.civicflow_backend.service;
+
+import com.civicflow.civicflow_backend.model.Issue;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SMART ranking around a user location: votes → proximity → critical → recency → id.
+ * Each issue's sort keys (including its distance) are computed once into parallel primitive
+ * arrays, then an index array is merge-sorted on those keys, so a sort costs n Haversine
+ * calls instead of two per comparison and never boxes a key.
+ * When only a page is needed, a bounded heap picks the first k before sorting just those.
+ * Inputs above the RankingPool threshold are decorated and pre-ranked in parallel chunks.
+ */
+final class SmartRanking {
+
+    // Proximity only counts inside this window; farther issues tie on distance
+    static final double PROXIMITY_WINDOW_KM = 20;
+
+    private final List<Issue> issues;
+    // Slot issues.size() holds the keyset anchor, if any
+    private final int[] votes;
+    private final double[] distances;
+    private final boolean[] critical;
+    private final long[] createdAt;
+    private final long[] ids;
+
+    private SmartRanking(List<Issue> issues) {
+        this.issues = issues;
+        int slots = issues.size() + 1;
+        votes = new int[slots];
+        distances = new double[slots];
+        critical = new boolean[slots];
+        createdAt = new long[slots];
+        ids = new long[slots];
+    }
+
+    /**
+     * All issues in SMART order
+     */
+    static List<Issue> rank(List<Issue> issues, double userLat, double userLng) {
+        return rankTop(issues, userLat, userLng, issues.size());
+    }
+
+    /**
+     * The first limit issues in SMART order, without sorting the rest
+     */
+    static List<Issue> rankTop(List<Issue> issues, double userLat, double userLng, int limit) {
+        return rankAfter(issues, userLat, userLng, null, limit, RankingPool.sequential());
+    }
+
+    static List<Issue> rankTop(List<Issue> issues, double userLat, double userLng, int limit, RankingPool pool) {
+        return rankAfter(issues, userLat, userLng, null, limit, pool);
+    }
+
+    /**
+     * The first limit issues in SMART order that rank strictly after the anchor (all of them when null).
+     * Large inputs are decorated and pre-ranked in chunks on the pool, then merged.
+     */
+    static List<Issue> rankAfter(List<Issue> issues, double userLat, double userLng, Issue anchor,
+                                 int limit, RankingPool pool) {
+        SmartRanking ranking = new SmartRanking(issues);
+        int anchorSlot = issues.size();
+        if (anchor != null) {
+            ranking.decorate(anchorSlot, anchor, userLat, userLng);
+        }
+        List<int[]> chunkTops = pool.mapChunks(issues.size(), (from, to) -> {
+            int[] candidates = new int[to - from];
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                ranking.decorate(i, issues.get(i), userLat, userLng);
+                if (anchor == null || ranking.compare(i, anchorSlot) > 0) {
+                    candidates[count++] = i;
+                }
+            }
+            return SlotSorter.top(candidates, count, limit, ranking::compare);
+        });
+        int[] top = SlotSorter.mergeTops(chunkTops, limit, ranking::compare);
+        return ranking.collect(top, top.length);
+    }
+
+    private void decorate(int slot, Issue issue, double userLat, double userLng) {
+        votes[slot] = issue.getVoteCount();
+        double distance = Double.POSITIVE_INFINITY;
+        if (issue.getLatitude() != null && issue.getLongitude() != null) {
+            distance = GeoMath.haversineKm(userLat, userLng, issue.getLatitude(), issue.getLongitude());
+        }
+        distances[slot] = distance <= PROXIMITY_WINDOW_KM ? distance : Double.POSITIVE_INFINITY;
+        critical[slot] = issue.isCritical();
+        createdAt[slot] = epochNanos(issue.getCreatedAt());
+        ids[slot] = issue.getId() != null ? issue.getId() : Long.MAX_VALUE;
+    }
+
+    static long epochNanos(LocalDateTime time) {
+        if (time == null) {
+            return Long.MIN_VALUE;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + time.getNano();
+    }
+
+    // Negative when slot a ranks before slot b
+    int compare(int a, int b) {
+        int byVotes = Integer.compare(votes[b], votes[a]);
+        if (byVotes != 0) return byVotes;
+        int byDistance = Double.compare(distances[a], distances[b]);
+        if (byDistance != 0) return byDistance;
+        int byCritical = Boolean.compare(critical[b], critical[a]);
+        if (byCritical != 0) return byCritical;
+        int byRecency = Long.compare(createdAt[b], createdAt[a]);
+        if (byRecency != 0) return byRecency;
+        return Long.compare(ids[a], ids[b]);
+    }
+
+    private List<Issue> collect(int[] order, int limit) {
+        List<Issue> ranked = new ArrayList<>(limit);
+        for (int i = 0; i < limit; i++) {
+            ranked.add(issues.get(order[i]));
+        }
+        return ranked;
+    }
+}
@@ -0,0 +1,22 @@
+package com.civicflow.civicflow_backend.service;
+
+import com.civicflow.civicflow_backend.model.VoteType;
+import lombok.Getter;
+
+/**
+ * Published when a user's stored vote on an issue is written, so the in-memory vote index can
+ * follow. Listeners use @TransactionalEventListener so they only see committed votes.
+ */
+@Getter
+public class VoteChangedEvent {
+
+    private final Long issueId;
+    private final Long userId;
+    private final VoteType type; // null when the vote was removed
+
+    public VoteChangedEvent(Long issueId, Long userId, VoteType type) {
+        this.issueId = issueId;
+        this.userId = userId;
+        this.type = type;
+    }
+}
@@ -0,0 +1,95 @@
+package com.civicflow.civicflow_backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Upvote/downvote totals per issue for vote summaries, least recently used entries evicted
+ * beyond maxEntries. Every committed VoteChangedEvent (each stored vote written, directly or by
+ * a write-behind flush) and IssueChangedEvent invalidates the issue's entry. Loads are
+ * versioned: totals read before an invalidation are not stored after it.
+ */
+@Component
+public class VoteCountCache {
+
+    private final int maxEntries;
+    // Invalidations leave a versioned entry without totals behind
+    private final LinkedHashMap<Long, Entry> entries;
+    private final AtomicLong versions = new AtomicLong();
+
+    public VoteCountCache(@Value("${civicflow.votes.summary-cache.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > VoteCountCache.this.maxEntries;
+            }
+        };
+    }
+
+    // Cached totals, or null when they have to be loaded
+    public synchronized Counts get(Long issueId) {
+        Entry entry = entries.get(issueId);
+        return entry != null ? entry.counts : null;
+    }
+
+    // Take before loading; put only stores the loaded totals if the version is still current
+    public synchronized long version(Long issueId) {
+        Entry entry = entries.get(issueId);
+        return entry != null ? entry.version : 0;
+    }
+
+    public synchronized void put(Long issueId, long version, long upvotes, long downvotes) {
+        if (maxEntries <= 0 || version(issueId) != version) {
+            return;
+        }
+        entries.put(issueId, new Entry(version, new Counts(upvotes, downvotes)));
+    }
+
+    public synchronized void invalidate(Long issueId) {
+        entries.put(issueId, new Entry(versions.incrementAndGet(), null));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVoteChanged(VoteChangedEvent event) {
+        invalidate(event.getIssueId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIssueChanged(IssueChangedEvent event) {
+        invalidate(event.getIssueId());
+    }
+
+    public static final class Counts {
+        private final long upvotes;
+        private final long downvotes;
+
+        Counts(long upvotes, long downvotes) {
+            this.upvotes = upvotes;
+            this.downvotes = downvotes;
+        }
+
+        public long getUpvotes() {
+            return upvotes;
+        }
+
+        public long getDownvotes() {
+            return downvotes;
+        }
+    }
+
+    private static final class Entry {
+        final long version;
+        final Counts counts;
+
+        Entry(long version, Counts counts) {
+            this.version = version;
+            this.counts = counts;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.civicflow.civicflow_backend.service;
+
+import lombok.Getter;
+
+/**
+ * Published when a vote write moves an issue's stored vote counter, instead of an
+ * IssueChangedEvent: only read models that rank or weight by votes follow it, and none of
+ * them has to re-derive the rest of the issue. Listeners use @TransactionalEventListener so
+ * they only see committed counters.
+ */
+@Getter
+public class VoteCountChangedEvent {
+
+    private final Long issueId;
+    private final int delta;
+    private final long version; // Issue.version after the counter moved
+
+    public VoteCountChangedEvent(Long issueId, int delta, long version) {
+        this.issueId = issueId;
+        this.delta = delta;
+        this.version = version;
+    }
+}
@@ -0,0 +1,84 @@
+package com.civicflow.civicflow_backend.service;
+
+import com.civicflow.civicflow_backend.repository.IssueRepository;
+import com.civicflow.civicflow_backend.repository.VoteCountDriftView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Periodically repairs Issue.voteCount where it drifted from the issue's votes (the counter is
+ * maintained by deltas, see VoteService). Issues are checked in ID ranges, each range in its own
+ * short transaction. A repair only applies if the counter still holds the value that was
+ * measured, so it never overwrites a vote that landed in between.
+ */
+@Component
+public class VoteCountReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(VoteCountReconciler.class);
+
+    private final IssueRepository issueRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int rangeSize;
+
+    public VoteCountReconciler(IssueRepository issueRepository,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${civicflow.vote-count.reconcile-range:10000}") int rangeSize) {
+        this.issueRepository = issueRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rangeSize = Math.max(1, rangeSize);
+    }
+
+    /**
+     * Check every issue once
+     * @return number of counters repaired
+     */
+    @Scheduled(initialDelayString = "${civicflow.vote-count.reconcile-interval-ms:3600000}",
+               fixedDelayString = "${civicflow.vote-count.reconcile-interval-ms:3600000}")
+    public int reconcile() {
+        long started = System.currentTimeMillis();
+        Long maxId = issueRepository.findMaxId();
+        int repaired = 0;
+        for (long start = 1; maxId != null && start <= maxId; start += rangeSize) {
+            long from = start;
+            long to = start + rangeSize - 1;
+            Integer fixed = transactionTemplate.execute(status -> reconcileRange(from, to));
+            repaired += fixed != null ? fixed : 0;
+        }
+        if (repaired > 0) {
+            log.warn("Vote count reconciliation repaired {} issues ({} ms)", repaired, System.currentTimeMillis() - started);
+        } else {
+            log.info("Vote count reconciliation found no drift ({} ms)", System.currentTimeMillis() - started);
+        }
+        return repaired;
+    }
+
+    private int reconcileRange(long from, long to) {
+        List<VoteCountDriftView> drifted = issueRepository.findVoteCountDrift(from, to);
+        int repaired = 0;
+        for (VoteCountDriftView drift : drifted) {
+            int updated = issueRepository.repairVoteCount(drift.getIssueId(), drift.getStored(),
+                    drift.getActual().intValue(), LocalDateTime.now());
+            if (updated > 0) {
+                log.warn("Issue {} vote count drifted: stored {}, votes sum to {}",
+                        drift.getIssueId(), drift.getStored(), drift.getActual());
+                // Read models follow once the range commits
+                issueRepository.findById(drift.getIssueId())
+                        .ifPresent(issue -> eventPublisher.publishEvent(IssueChangedEvent.saved(issue)));
+                repaired++;
+            }
+        }
+        return repaired;
+    }
+}
@@ -0,0 +1,239 @@
+package com.civicflow.civicflow_backend.service;
+
+import com.civicflow.civicflow_backend.dto.VoteIndexStatsResponse;
+import com.civicflow.civicflow_backend.dto.VoteSummary;
+import com.civicflow.civicflow_backend.model.VoteType;
+import com.civicflow.civicflow_backend.repository.VoteRepository;
+import com.civicflow.civicflow_backend.repository.VoterView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Who voted which way, per issue: an upvoter and a downvoter VoterBitmap keyed by user ID, so
+ * vote summaries (totals and the caller's own vote) need no SQL. An issue is loaded on its
+ * first summary read, kept current from committed VoteChangedEvents, and evicted least
+ * recently used beyond maxIssues. Callers pass their own user ID, taken from their principal,
+ * so the index holds no usernames.
+ */
+@Component
+public class VoteIndex {
+
+    private final VoteRepository voteRepository;
+    private final boolean enabled;
+    private final int maxIssues;
+
+    // All guarded by this
+    private final LinkedHashMap<Long, Voters> issues = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Voters> eldest) {
+            return size() > maxIssues;
+        }
+    };
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public VoteIndex(VoteRepository voteRepository,
+                     @Value("${civicflow.votes.index.enabled:true}") boolean enabled,
+                     @Value("${civicflow.votes.index.max-issues:1000}") int maxIssues) {
+        this.voteRepository = voteRepository;
+        this.enabled = enabled && maxIssues > 0;
+        this.maxIssues = maxIssues;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Vote summary of one issue, loading the issue's voters if needed
+     * @param userId the caller's user ID (null when anonymous)
+     * @return null when the index cannot answer (disabled, or the issue is loading elsewhere)
+     */
+    public VoteSummary summary(Long issueId, Long userId) {
+        if (!enabled) {
+            return null;
+        }
+        Voters voters = loaded(issueId);
+        if (voters != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            voters = load(issueId);
+            if (voters == null) {
+                return null;
+            }
+        }
+        synchronized (this) {
+            return voters.summary(issueId, userId);
+        }
+    }
+
+    /**
+     * Vote summaries of the listed issues that are already loaded; nothing is loaded here
+     * @param userId the caller's user ID (null when anonymous), asked for only if one is loaded
+     */
+    public Map<Long, VoteSummary> loadedSummaries(Collection<Long> issueIds, Supplier<Long> userId) {
+        Map<Long, VoteSummary> summaries = new HashMap<>();
+        if (!enabled) {
+            return summaries;
+        }
+        Map<Long, Voters> found = new HashMap<>();
+        for (Long issueId : issueIds) {
+            Voters voters = loaded(issueId);
+            if (voters != null) {
+                found.put(issueId, voters);
+            }
+        }
+        if (found.isEmpty()) {
+            return summaries;
+        }
+        Long callerId = userId.get();
+        synchronized (this) {
+            found.forEach((issueId, voters) -> summaries.put(issueId, voters.summary(issueId, callerId)));
+        }
+        hits.addAndGet(found.size());
+        return summaries;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVoteChanged(VoteChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            Voters voters = issues.get(event.getIssueId());
+            if (voters == null) {
+                return;
+            }
+            if (voters.pendingChanges != null) {
+                voters.pendingChanges.put(event.getUserId(), event.getType());
+            } else {
+                voters.set(event.getUserId(), event.getType());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIssueChanged(IssueChangedEvent event) {
+        if (enabled && event.isDeleted()) {
+            synchronized (this) {
+                issues.remove(event.getIssueId());
+            }
+        }
+    }
+
+    /**
+     * Memory held by the bitmaps
+     */
+    public synchronized VoteIndexStatsResponse getStats() {
+        long votes = 0;
+        long bytes = 0;
+        for (Voters voters : issues.values()) {
+            votes += voters.upvoters.size() + voters.downvoters.size();
+            bytes += voters.estimatedBytes();
+        }
+        return VoteIndexStatsResponse.builder()
+                .enabled(enabled)
+                .issues(issues.size())
+                .maxIssues(maxIssues)
+                .votes(votes)
+                .estimatedBytes(bytes)
+                .hits(hits.get())
+                .misses(misses.get())
+                .build();
+    }
+
+    private synchronized Voters loaded(Long issueId) {
+        Voters voters = issues.get(issueId);
+        return voters != null && voters.pendingChanges == null ? voters : null;
+    }
+
+    // Load an issue's voters; votes committed meanwhile are recorded and replayed on top
+    private Voters load(Long issueId) {
+        Voters voters = new Voters();
+        synchronized (this) {
+            if (issues.containsKey(issueId)) {
+                return null;
+            }
+            voters.pendingChanges = new HashMap<>();
+            issues.put(issueId, voters);
+        }
+
+        List<VoterView> rows;
+        try {
+            rows = voteRepository.findVotersByIssueId(issueId);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                issues.remove(issueId, voters);
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            for (VoterView row : rows) {
+                if (!VoterBitmap.fits(row.getUserId())) {
+                    // IDs beyond 32 bits cannot be indexed: leave this issue to SQL
+                    issues.remove(issueId, voters);
+                    return null;
+                }
+                voters.set(row.getUserId(), row.getType());
+            }
+            voters.pendingChanges.forEach(voters::set);
+            voters.pendingChanges = null;
+        }
+        return voters;
+    }
+
+    // One issue's voters (guarded by the index)
+    private static final class Voters {
+        final VoterBitmap upvoters = new VoterBitmap();
+        final VoterBitmap downvoters = new VoterBitmap();
+        // Non-null while loading: votes committed meanwhile (null value = removed)
+        Map<Long, VoteType> pendingChanges;
+
+        void set(Long userId, VoteType type) {
+            if (!VoterBitmap.fits(userId)) {
+                return;
+            }
+            upvoters.remove(userId);
+            downvoters.remove(userId);
+            if (type == VoteType.UPVOTE) {
+                upvoters.add(userId);
+            } else if (type == VoteType.DOWNVOTE) {
+                downvoters.add(userId);
+            }
+        }
+
+        VoteSummary summary(Long issueId, Long userId) {
+            VoteType userVote = null;
+            if (userId != null && VoterBitmap.fits(userId)) {
+                userVote = upvoters.contains(userId) ? VoteType.UPVOTE
+                        : downvoters.contains(userId) ? VoteType.DOWNVOTE : null;
+            }
+            long upvotes = upvoters.size();
+            long downvotes = downvoters.size();
+            return VoteSummary.builder()
+                    .issueId(issueId)
+                    .upvotes(upvotes)
+                    .downvotes(downvotes)
+                    .totalScore(upvotes - downvotes)
+                    .userVote(userVote)
+                    .hasUserVoted(userVote != null)
+                    .build();
+        }
+
+        long estimatedBytes() {
+            return 32 + upvoters.estimatedBytes() + downvoters.estimatedBytes();
+        }
+    }
+}
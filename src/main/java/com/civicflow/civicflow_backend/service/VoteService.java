@@ -1,5 +1,7 @@
 package com.civicflow.civicflow_backend.service;
 
+import com.civicflow.civicflow_backend.dto.CursorPage;
+import com.civicflow.civicflow_backend.dto.ResourceVersion;
 import com.civicflow.civicflow_backend.dto.VoteRequest;
 import com.civicflow.civicflow_backend.dto.VoteResponse;
 import com.civicflow.civicflow_backend.dto.VoteSummary;
@@ -8,14 +10,28 @@ import com.civicflow.civicflow_backend.model.User;
 import com.civicflow.civicflow_backend.model.Vote;
 import com.civicflow.civicflow_backend.model.VoteType;
 import com.civicflow.civicflow_backend.repository.IssueRepository;
+import com.civicflow.civicflow_backend.repository.IssueVoteCountView;
+import com.civicflow.civicflow_backend.repository.KeysetRow;
 import com.civicflow.civicflow_backend.repository.UserRepository;
+import com.civicflow.civicflow_backend.repository.UserVoteView;
 import com.civicflow.civicflow_backend.repository.VoteRepository;
+import com.civicflow.civicflow_backend.repository.VoteSummaryView;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,22 +41,44 @@ public class VoteService {
     private final VoteRepository voteRepository;
     private final IssueRepository issueRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final VoteWriteBuffer voteBuffer;
+    private final VoteCountCache voteCountCache;
+    private final VoteIndex voteIndex;
     
     @Transactional
     public VoteResponse castVote(Long issueId, String username, VoteRequest voteRequest) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
-        Issue issue = issueRepository.findById(issueId)
+        // Write-behind mode: the vote is stored with the issue's next flush
+        if (voteBuffer.isEnabled()) {
+            if (!issueRepository.existsById(issueId)) {
+                throw new RuntimeException("Issue not found");
+            }
+            if (voteBuffer.put(issueId, user.getId(), voteRequest.getType())) {
+                return VoteResponse.builder()
+                        .userId(user.getId())
+                        .username(user.getUsername())
+                        .issueId(issueId)
+                        .type(voteRequest.getType())
+                        .createdAt(LocalDateTime.now())
+                        .build();
+            }
+        }
+        
+        Issue issue = issueRepository.findByIdForVoteWrite(issueId)
                 .orElseThrow(() -> new RuntimeException("Issue not found"));
         
         // Check if user already voted
         Optional<Vote> existingVote = voteRepository.findByUserIdAndIssueId(user.getId(), issueId);
         
         Vote vote;
+        int delta;
         if (existingVote.isPresent()) {
-            // Update existing vote
+            // Update existing vote: the counter moves by the difference between the two types
             vote = existingVote.get();
+            delta = voteRequest.getType().getValue() - vote.getType().getValue();
             vote.setType(voteRequest.getType());
         } else {
             // Create new vote
@@ -49,12 +87,14 @@ public class VoteService {
                     .issue(issue)
                     .type(voteRequest.getType())
                     .build();
+            delta = voteRequest.getType().getValue();
         }
         
         vote = voteRepository.save(vote);
+        eventPublisher.publishEvent(new VoteChangedEvent(issueId, user.getId(), vote.getType()));
         
         // Update issue vote count
-        updateIssueVoteCount(issueId);
+        applyVoteDelta(issue, delta);
         
         return VoteResponse.builder()
                 .id(vote.getId())
@@ -71,45 +111,171 @@ public class VoteService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
-        if (!voteRepository.existsByUserIdAndIssueId(user.getId(), issueId)) {
-            throw new RuntimeException("Vote not found");
+        // The buffer checks the vote exists before accepting the removal, buffered votes included
+        if (voteBuffer.isEnabled() && voteBuffer.put(issueId, user.getId(), null)) {
+            return;
         }
         
-        voteRepository.deleteByUserIdAndIssueId(user.getId(), issueId);
+        // A vote cannot outlive its issue
+        Issue issue = issueRepository.findByIdForVoteWrite(issueId)
+                .orElseThrow(() -> new RuntimeException("Vote not found"));
+        Vote vote = voteRepository.findByUserIdAndIssueId(user.getId(), issueId)
+                .orElseThrow(() -> new RuntimeException("Vote not found"));
+        
+        voteRepository.delete(vote);
+        eventPublisher.publishEvent(new VoteChangedEvent(issueId, user.getId(), null));
         
         // Update issue vote count
-        updateIssueVoteCount(issueId);
+        applyVoteDelta(issue, -vote.getType().getValue());
     }
     
     public VoteSummary getVoteSummary(Long issueId, String username) {
-        Long upvotes = voteRepository.countByIssueIdAndType(issueId, VoteType.UPVOTE);
-        Long downvotes = voteRepository.countByIssueIdAndType(issueId, VoteType.DOWNVOTE);
-        Long totalScore = voteRepository.getVoteScoreByIssueId(issueId);
-        
-        VoteType userVote = null;
-        boolean hasUserVoted = false;
-        
-        if (username != null) {
-            User user = userRepository.findByUsername(username).orElse(null);
-            if (user != null) {
-                Optional<Vote> vote = voteRepository.findByUserIdAndIssueId(user.getId(), issueId);
-                if (vote.isPresent()) {
-                    userVote = vote.get().getType();
-                    hasUserVoted = true;
-                }
+        return getVoteSummary(issueId, username, null);
+    }
+    
+    /**
+     * @param userId the caller's user ID from their principal; when null it is looked up by
+     *               username, once, and only if the vote index or the write buffer needs it
+     */
+    public VoteSummary getVoteSummary(Long issueId, String username, Long userId) {
+        Caller caller = new Caller(username, userId);
+        if (voteBuffer.isEnabled()) {
+            // Votes not flushed yet count too, so voters see their own vote right away
+            return voteBuffer.readThrough(List.of(issueId), caller.id(),
+                    ids -> Map.of(issueId, getStoredVoteSummary(issueId, caller))).get(issueId);
+        }
+        return getStoredVoteSummary(issueId, caller);
+    }
+    
+    public List<VoteSummary> getVoteSummaries(List<Long> issueIds, String username) {
+        return getVoteSummaries(issueIds, username, null);
+    }
+    
+    /**
+     * Vote summaries of a page of issues, in the order of the IDs (duplicates dropped).
+     * Uncached totals are loaded with one grouped query, the caller's votes with another.
+     */
+    public List<VoteSummary> getVoteSummaries(List<Long> issueIds, String username, Long userId) {
+        if (issueIds == null || issueIds.isEmpty()) {
+            throw new RuntimeException("At least one issue ID is required");
+        }
+        if (issueIds.size() > IssueService.MAX_BATCH_SIZE) {
+            throw new RuntimeException("At most " + IssueService.MAX_BATCH_SIZE + " issue IDs are allowed per batch");
+        }
+        Set<Long> ids = new LinkedHashSet<>(issueIds);
+        ids.remove(null);
+        
+        Caller caller = new Caller(username, userId);
+        Map<Long, VoteSummary> summaries;
+        if (voteBuffer.isEnabled()) {
+            summaries = voteBuffer.readThrough(ids, caller.id(), missing -> getStoredVoteSummaries(missing, caller));
+        } else {
+            summaries = getStoredVoteSummaries(ids, caller);
+        }
+        return ids.stream().map(summaries::get).collect(Collectors.toList());
+    }
+    
+    // Issues already in the vote index are answered from it, the rest from the cache or SQL
+    private Map<Long, VoteSummary> getStoredVoteSummaries(Collection<Long> issueIds, Caller caller) {
+        String username = caller.username;
+        Map<Long, VoteSummary> summaries = voteIndex.loadedSummaries(issueIds, caller::id);
+        if (summaries.size() == issueIds.size()) {
+            return summaries;
+        }
+        issueIds = issueIds.stream().filter(issueId -> !summaries.containsKey(issueId)).collect(Collectors.toList());
+        
+        Map<Long, VoteCountCache.Counts> totals = new HashMap<>();
+        Map<Long, Long> versions = new HashMap<>();
+        for (Long issueId : issueIds) {
+            VoteCountCache.Counts cached = voteCountCache.get(issueId);
+            if (cached != null) {
+                totals.put(issueId, cached);
+            } else {
+                versions.put(issueId, voteCountCache.version(issueId));
             }
         }
+        if (!versions.isEmpty()) {
+            Map<Long, IssueVoteCountView> rows = voteRepository.countByIssueIds(versions.keySet()).stream()
+                    .collect(Collectors.toMap(IssueVoteCountView::getIssueId, row -> row));
+            versions.forEach((issueId, version) -> {
+                IssueVoteCountView row = rows.get(issueId);
+                long upvotes = row != null ? row.getUpvotes() : 0;
+                long downvotes = row != null ? row.getDownvotes() : 0;
+                voteCountCache.put(issueId, version, upvotes, downvotes);
+                totals.put(issueId, new VoteCountCache.Counts(upvotes, downvotes));
+            });
+        }
+        
+        Map<Long, VoteType> userVotes = username == null ? Map.of()
+                : voteRepository.findTypesByUsernameAndIssueIds(username, issueIds).stream()
+                        .collect(Collectors.toMap(UserVoteView::getIssueId, UserVoteView::getType));
+        
+        for (Long issueId : issueIds) {
+            VoteCountCache.Counts counts = totals.get(issueId);
+            VoteType userVote = userVotes.get(issueId);
+            summaries.put(issueId, VoteSummary.builder()
+                    .issueId(issueId)
+                    .upvotes(counts.getUpvotes())
+                    .downvotes(counts.getDownvotes())
+                    .totalScore(counts.getUpvotes() - counts.getDownvotes())
+                    .userVote(userVote)
+                    .hasUserVoted(userVote != null)
+                    .build());
+        }
+        return summaries;
+    }
+    
+    // 🗳️ Answered from the vote index when it can; else totals come from the counter cache when
+    // present (then only the caller's own vote is queried), or totals and the caller's vote are
+    // loaded in one query
+    private VoteSummary getStoredVoteSummary(Long issueId, Caller caller) {
+        String username = caller.username;
+        VoteSummary indexed = voteIndex.isEnabled() ? voteIndex.summary(issueId, caller.id()) : null;
+        if (indexed != null) {
+            return indexed;
+        }
+        long upvotes;
+        long downvotes;
+        VoteType userVote;
+        VoteCountCache.Counts cached = voteCountCache.get(issueId);
+        if (cached != null) {
+            upvotes = cached.getUpvotes();
+            downvotes = cached.getDownvotes();
+            userVote = username != null
+                    ? voteRepository.findTypeByIssueIdAndUsername(issueId, username).orElse(null)
+                    : null;
+        } else {
+            long version = voteCountCache.version(issueId);
+            VoteSummaryView row = voteRepository.summarizeByIssueId(issueId, username);
+            upvotes = row.getUpvotes();
+            downvotes = row.getDownvotes();
+            userVote = row.getUserVote() > 0 ? VoteType.UPVOTE : row.getUserVote() < 0 ? VoteType.DOWNVOTE : null;
+            voteCountCache.put(issueId, version, upvotes, downvotes);
+        }
         
         return VoteSummary.builder()
                 .issueId(issueId)
                 .upvotes(upvotes)
                 .downvotes(downvotes)
-                .totalScore(totalScore)
+                .totalScore(upvotes - downvotes)
                 .userVote(userVote)
-                .hasUserVoted(hasUserVoted)
+                .hasUserVoted(userVote != null)
                 .build();
     }
     
+    /**
+     * Version of getVoteSummary's response for this caller (their own vote is part of it)
+     */
+    public ResourceVersion getVoteSummaryVersion(Long issueId, String username) {
+        String variant = username;
+        // Buffered votes are not in the votes table yet
+        long stamp = voteBuffer.isEnabled() ? voteBuffer.stamp(issueId) : 0;
+        if (stamp != 0) {
+            variant = username + "@" + stamp;
+        }
+        return IssueService.toVersion(voteRepository.findVersionByIssueId(issueId), variant);
+    }
+    
     public List<VoteResponse> getIssueVotes(Long issueId) {
         List<Vote> votes = voteRepository.findByIssueIdOrderByCreatedAtDesc(issueId);
         
@@ -125,6 +291,60 @@ public class VoteService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Votes on an issue, newest first, one page at a time
+     * @param cursor nextCursor of the previous page (null for the first page)
+     * @param limit page size (default 20, max 100)
+     */
+    public CursorPage<VoteResponse> getIssueVotesPage(Long issueId, String cursor, Integer limit) {
+        String scope = "issue-votes-" + issueId;
+        int pageSize = CursorCodec.clampLimit(limit);
+        List<Object> afterKey = CursorCodec.decode(scope, cursor);
+        
+        // Fetch one extra row to know whether another page exists
+        Pageable first = PageRequest.of(0, pageSize + 1);
+        List<VoteResponse> votes = afterKey == null
+                ? voteRepository.findIssueVotePage(issueId, first)
+                : voteRepository.findIssueVotePageAfter(issueId, cursorTime(afterKey), cursorId(afterKey), first);
+        return CursorCodec.toPage(scope, toKeysetRows(votes), pageSize);
+    }
+    
+    /**
+     * The user's votes, newest first, one page at a time
+     */
+    public CursorPage<VoteResponse> getUserVotesPage(String username, String cursor, Integer limit) {
+        String scope = "my-votes";
+        int pageSize = CursorCodec.clampLimit(limit);
+        List<Object> afterKey = CursorCodec.decode(scope, cursor);
+        
+        Pageable first = PageRequest.of(0, pageSize + 1);
+        List<VoteResponse> votes = afterKey == null
+                ? voteRepository.findUserVotePage(username, first)
+                : voteRepository.findUserVotePageAfter(username, cursorTime(afterKey), cursorId(afterKey), first);
+        return CursorCodec.toPage(scope, toKeysetRows(votes), pageSize);
+    }
+    
+    // Vote history pages are keyed by (createdAt, id)
+    private static List<KeysetRow<VoteResponse>> toKeysetRows(List<VoteResponse> votes) {
+        return votes.stream()
+                .map(vote -> new KeysetRow<>(vote, Arrays.<Object>asList(vote.getCreatedAt(), vote.getId())))
+                .collect(Collectors.toList());
+    }
+    
+    private static LocalDateTime cursorTime(List<Object> key) {
+        if (key.size() != 2 || !(key.get(0) instanceof LocalDateTime time)) {
+            throw new RuntimeException("Invalid cursor");
+        }
+        return time;
+    }
+    
+    private static Long cursorId(List<Object> key) {
+        if (!(key.get(1) instanceof Long id)) {
+            throw new RuntimeException("Invalid cursor");
+        }
+        return id;
+    }
+    
     public List<VoteResponse> getUserVotes(String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -143,13 +363,35 @@ public class VoteService {
                 .collect(Collectors.toList());
     }
     
-    @Transactional
-    private void updateIssueVoteCount(Long issueId) {
-        Long voteScore = voteRepository.getVoteScoreByIssueId(issueId);
-        Issue issue = issueRepository.findById(issueId)
-                .orElseThrow(() -> new RuntimeException("Issue not found"));
+    // ➕ One UPDATE adds delta to the stored counter (no recount over the issue's votes), in the
+    // caller's transaction. The issue row is locked since it was read, so the new version is known
+    // without reading it back, and only the read models that follow votes hear about it.
+    private void applyVoteDelta(Issue issue, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        issueRepository.addToVoteCount(issue.getId(), delta, LocalDateTime.now());
+        eventPublisher.publishEvent(new VoteCountChangedEvent(issue.getId(), delta, issue.getVersion() + 1));
+    }
+    
+    // Who asks for a vote summary; without a principal's ID, one lookup by username on first use
+    private final class Caller {
+        private final String username;
+        private Long id;
+        private boolean resolved;
         
-        issue.setVoteCount(voteScore.intValue());
-        issueRepository.save(issue);
+        Caller(String username, Long id) {
+            this.username = username;
+            this.id = id;
+            this.resolved = id != null || username == null;
+        }
+        
+        Long id() {
+            if (!resolved) {
+                id = userRepository.findIdByUsername(username).orElse(null);
+                resolved = true;
+            }
+            return id;
+        }
     }
 }
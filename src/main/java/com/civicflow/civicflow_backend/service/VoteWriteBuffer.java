@@ -0,0 +1,415 @@
+package com.civicflow.civicflow_backend.service;
+
+import com.civicflow.civicflow_backend.dto.VoteSummary;
+import com.civicflow.civicflow_backend.model.Issue;
+import com.civicflow.civicflow_backend.model.User;
+import com.civicflow.civicflow_backend.model.Vote;
+import com.civicflow.civicflow_backend.model.VoteType;
+import com.civicflow.civicflow_backend.repository.IssueRepository;
+import com.civicflow.civicflow_backend.repository.UserRepository;
+import com.civicflow.civicflow_backend.repository.VoteRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Optional write-behind mode for votes (civicflow.votes.write-behind.enabled). Votes are kept
+ * per issue in memory, last write wins per (user, issue), and every flush-interval-ms each
+ * issue's votes are written in one transaction: batched inserts/updates/deletes plus a single
+ * counter delta. A burst of votes on one issue then costs one counter update per flush instead
+ * of one per vote. Vote summaries read through the buffer, so voters see their own vote at once.
+ * On shutdown the buffer stops accepting votes and drains; votes still buffered when the
+ * process dies without a shutdown are lost, which is the trade-off of this mode.
+ */
+@Component
+public class VoteWriteBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(VoteWriteBuffer.class);
+
+    // IN-list size when loading the stored votes of a flush
+    private static final int LOOKUP_CHUNK = 1000;
+
+    private final VoteRepository voteRepository;
+    private final IssueRepository issueRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    private final Map<Long, IssueVotes> buffers = new ConcurrentHashMap<>();
+    // Source of per-issue stamps; every buffered change takes a fresh one
+    private final AtomicLong stamps = new AtomicLong();
+    private volatile boolean closed;
+    private final CountDownLatch drained = new CountDownLatch(1);
+
+    public VoteWriteBuffer(VoteRepository voteRepository,
+                           IssueRepository issueRepository,
+                           UserRepository userRepository,
+                           ApplicationEventPublisher eventPublisher,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${civicflow.votes.write-behind.enabled:false}") boolean enabled) {
+        this.voteRepository = voteRepository;
+        this.issueRepository = issueRepository;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled && !closed;
+    }
+
+    /**
+     * Buffer a user's vote on an issue; a null type removes their vote. Removing a vote the user
+     * has neither buffered nor stored fails here, before anything is buffered, so the caller gets
+     * the same "Vote not found" as without the buffer.
+     * @return false once the buffer is shutting down (after it drained): write the vote directly
+     */
+    public boolean put(Long issueId, Long userId, VoteType type) {
+        while (true) {
+            IssueVotes votes = buffers.computeIfAbsent(issueId, id -> new IssueVotes());
+            long generation;
+            synchronized (votes) {
+                if (closed) {
+                    break;
+                }
+                if (votes.retired) {
+                    continue;
+                }
+                Entry entry = votes.entries.get(userId);
+                if (entry != null) {
+                    if (type == null && entry.pending == null) {
+                        throw new RuntimeException("Vote not found");
+                    }
+                    votes.set(entry, type, stamps.incrementAndGet());
+                    return true;
+                }
+                generation = votes.awaitStable();
+            }
+
+            // First vote of this user since the last flush: remember what is stored, outside the lock
+            VoteType stored = voteRepository.findByUserIdAndIssueId(userId, issueId).map(Vote::getType).orElse(null);
+
+            synchronized (votes) {
+                if (closed) {
+                    break;
+                }
+                // A flush in between may have changed what is stored: look again
+                if (votes.retired || votes.flushing || votes.generation != generation) {
+                    continue;
+                }
+                Entry entry = votes.entries.get(userId);
+                if (type == null && (entry != null ? entry.pending : stored) == null) {
+                    throw new RuntimeException("Vote not found");
+                }
+                if (entry == null) {
+                    entry = new Entry(stored);
+                    votes.entries.put(userId, entry);
+                }
+                votes.set(entry, type, stamps.incrementAndGet());
+                return true;
+            }
+        }
+        awaitDrained();
+        return false;
+    }
+
+    /**
+     * Stored vote summaries with the buffered votes applied. Summaries of issues whose flush
+     * overlapped the read are read again, so buffered votes are never counted twice.
+     * @param stored loads the stored summaries of the given issue IDs
+     */
+    public Map<Long, VoteSummary> readThrough(Collection<Long> issueIds, Long userId,
+                                              Function<Collection<Long>, Map<Long, VoteSummary>> stored) {
+        Map<Long, VoteSummary> summaries = new HashMap<>();
+        Collection<Long> remaining = new LinkedHashSet<>(issueIds);
+        while (!remaining.isEmpty()) {
+            Map<Long, IssueVotes> observed = new HashMap<>();
+            Map<Long, Long> generations = new HashMap<>();
+            for (Long issueId : remaining) {
+                IssueVotes votes = buffers.get(issueId);
+                if (votes != null) {
+                    synchronized (votes) {
+                        // A retired buffer was flushed: what is stored is complete
+                        if (!votes.retired) {
+                            generations.put(issueId, votes.awaitStable());
+                            observed.put(issueId, votes);
+                        }
+                    }
+                }
+            }
+
+            Map<Long, VoteSummary> loaded = stored.apply(remaining);
+
+            Collection<Long> retry = new LinkedHashSet<>();
+            for (Long issueId : remaining) {
+                IssueVotes votes = observed.get(issueId);
+                if (votes == null) {
+                    summaries.put(issueId, loaded.get(issueId));
+                    continue;
+                }
+                synchronized (votes) {
+                    if (votes.retired || votes.flushing || votes.generation != generations.get(issueId)) {
+                        retry.add(issueId);
+                    } else {
+                        summaries.put(issueId, apply(votes, userId, loaded.get(issueId)));
+                    }
+                }
+            }
+            remaining = retry;
+        }
+        return summaries;
+    }
+
+    // Caller holds the monitor of votes
+    private static VoteSummary apply(IssueVotes votes, Long userId, VoteSummary summary) {
+        long upvotes = summary.getUpvotes();
+        long downvotes = summary.getDownvotes();
+        long score = summary.getTotalScore();
+        for (Entry entry : votes.entries.values()) {
+            upvotes += is(entry.pending, VoteType.UPVOTE) - is(entry.stored, VoteType.UPVOTE);
+            downvotes += is(entry.pending, VoteType.DOWNVOTE) - is(entry.stored, VoteType.DOWNVOTE);
+            score += value(entry.pending) - value(entry.stored);
+        }
+        Entry own = userId != null ? votes.entries.get(userId) : null;
+        return VoteSummary.builder()
+                .issueId(summary.getIssueId())
+                .upvotes(upvotes)
+                .downvotes(downvotes)
+                .totalScore(score)
+                .userVote(own != null ? own.pending : summary.getUserVote())
+                .hasUserVoted(own != null ? own.pending != null : summary.isHasUserVoted())
+                .build();
+    }
+
+    // Changes whenever the issue's buffered votes change (0 when nothing is buffered), for ETags
+    public long stamp(Long issueId) {
+        IssueVotes votes = buffers.get(issueId);
+        if (votes == null) {
+            return 0;
+        }
+        synchronized (votes) {
+            return votes.stamp;
+        }
+    }
+
+    /**
+     * Write every buffered vote, one transaction per issue. An issue whose write fails keeps
+     * its votes for the next flush.
+     * @return number of votes written
+     */
+    @Scheduled(fixedDelayString = "${civicflow.votes.write-behind.flush-interval-ms:250}")
+    public synchronized int flush() {
+        if (!enabled) {
+            return 0;
+        }
+        int written = 0;
+        for (Map.Entry<Long, IssueVotes> buffer : buffers.entrySet()) {
+            written += flush(buffer.getKey(), buffer.getValue());
+        }
+        return written;
+    }
+
+    // Stop accepting votes and write the buffered ones before the database goes away
+    @PreDestroy
+    public void drain() {
+        if (!enabled) {
+            return;
+        }
+        closed = true;
+        try {
+            int written = flush();
+            int lost = buffers.values().stream().mapToInt(votes -> votes.entries.size()).sum();
+            if (lost > 0) {
+                log.error("Vote buffer drained with {} votes written and {} votes that could not be written", written, lost);
+            } else {
+                log.info("Vote buffer drained: {} votes written", written);
+            }
+        } finally {
+            drained.countDown();
+        }
+    }
+
+    private int flush(Long issueId, IssueVotes votes) {
+        Map<Long, VoteType> batch = new HashMap<>();
+        synchronized (votes) {
+            if (votes.retired) {
+                return 0;
+            }
+            if (votes.entries.isEmpty()) {
+                retire(issueId, votes);
+                return 0;
+            }
+            votes.flushing = true;
+            votes.entries.forEach((userId, entry) -> batch.put(userId, entry.pending));
+        }
+
+        boolean written = false;
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(issueId, batch));
+            written = true;
+        } catch (RuntimeException e) {
+            log.error("Writing {} buffered votes for issue {} failed, retrying with the next flush",
+                    batch.size(), issueId, e);
+        } finally {
+            synchronized (votes) {
+                if (written) {
+                    batch.forEach((userId, type) -> {
+                        Entry entry = votes.entries.get(userId);
+                        if (Objects.equals(entry.pending, type)) {
+                            votes.entries.remove(userId);
+                        } else {
+                            // Voted again during the flush: still pending, on top of what was just stored
+                            entry.stored = type;
+                        }
+                    });
+                    votes.stamp = stamps.incrementAndGet();
+                }
+                votes.flushing = false;
+                votes.generation++;
+                if (votes.entries.isEmpty()) {
+                    retire(issueId, votes);
+                }
+                votes.notifyAll();
+            }
+        }
+        return written ? batch.size() : 0;
+    }
+
+    // Caller holds the monitor of votes
+    private void retire(Long issueId, IssueVotes votes) {
+        votes.retired = true;
+        buffers.remove(issueId, votes);
+    }
+
+    // Upsert one issue's batch and move its counter by the net change, inside a transaction
+    private void write(Long issueId, Map<Long, VoteType> batch) {
+        Issue issue = issueRepository.findByIdForVoteWrite(issueId).orElse(null);
+        if (issue == null) {
+            log.debug("Dropping {} buffered votes for deleted issue {}", batch.size(), issueId);
+            return;
+        }
+        Map<Long, Vote> stored = new HashMap<>();
+        Map<Long, User> users = new HashMap<>();
+        List<Long> userIds = new ArrayList<>(batch.keySet());
+        for (int from = 0; from < userIds.size(); from += LOOKUP_CHUNK) {
+            List<Long> chunk = userIds.subList(from, Math.min(from + LOOKUP_CHUNK, userIds.size()));
+            voteRepository.findByIssueIdAndUserIdIn(issueId, chunk)
+                    .forEach(vote -> stored.put(vote.getUser().getId(), vote));
+            userRepository.findAllById(chunk).forEach(user -> users.put(user.getId(), user));
+        }
+
+        int delta = 0;
+        List<VoteChangedEvent> changes = new ArrayList<>();
+        List<Vote> inserts = new ArrayList<>();
+        List<Vote> deletes = new ArrayList<>();
+        for (Map.Entry<Long, VoteType> change : batch.entrySet()) {
+            Vote vote = stored.get(change.getKey());
+            VoteType type = change.getValue();
+            User user = users.get(change.getKey());
+            if (vote == null) {
+                // Users deleted since they voted are skipped
+                if (type != null && user != null) {
+                    inserts.add(Vote.builder().user(user).issue(issue).type(type).build());
+                    delta += type.getValue();
+                    changes.add(new VoteChangedEvent(issueId, change.getKey(), type));
+                }
+            } else if (type == null) {
+                deletes.add(vote);
+                delta -= vote.getType().getValue();
+                changes.add(new VoteChangedEvent(issueId, change.getKey(), null));
+            } else if (vote.getType() != type) {
+                delta += type.getValue() - vote.getType().getValue();
+                vote.setType(type);
+                changes.add(new VoteChangedEvent(issueId, change.getKey(), type));
+            }
+        }
+        voteRepository.saveAll(inserts);
+        voteRepository.deleteAll(deletes);
+
+        // Opposite changes can cancel out in the counter; their VoteChangedEvents still reach the caches
+        changes.forEach(eventPublisher::publishEvent);
+        if (delta != 0) {
+            issueRepository.addToVoteCount(issueId, delta, LocalDateTime.now());
+            // The row is locked since it was read: this write is the next version
+            eventPublisher.publishEvent(new VoteCountChangedEvent(issueId, delta, issue.getVersion() + 1));
+        }
+    }
+
+    private void awaitDrained() {
+        try {
+            drained.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while the vote buffer drains", e);
+        }
+    }
+
+    private static int is(VoteType type, VoteType expected) {
+        return type == expected ? 1 : 0;
+    }
+
+    private static int value(VoteType type) {
+        return type != null ? type.getValue() : 0;
+    }
+
+    // Buffered votes of one issue; all fields are guarded by its monitor
+    private static final class IssueVotes {
+        final Map<Long, Entry> entries = new HashMap<>();
+        // Counts finished flushes: a stored vote read under an older generation may be stale
+        long generation;
+        boolean flushing;
+        // Emptied and removed from buffers: callers holding it start over
+        boolean retired;
+        long stamp;
+
+        void set(Entry entry, VoteType type, long stamp) {
+            entry.pending = type;
+            this.stamp = stamp;
+        }
+
+        // Wait out a running flush of this issue (caller holds the monitor)
+        long awaitStable() {
+            while (flushing) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while waiting for a vote flush", e);
+                }
+            }
+            return generation;
+        }
+    }
+
+    // One user's vote: what is stored and what it becomes with the next flush (null = no vote)
+    private static final class Entry {
+        VoteType stored;
+        VoteType pending;
+
+        Entry(VoteType stored) {
+            this.stored = stored;
+            this.pending = stored;
+        }
+    }
+}
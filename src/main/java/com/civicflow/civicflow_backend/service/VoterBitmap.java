@@ -0,0 +1,186 @@
+package com.civicflow.civicflow_backend.service;
+
+import java.util.Arrays;
+
+/**
+ * Compressed set of unsigned 32-bit user IDs, in the Roaring layout: IDs are grouped by their
+ * high 16 bits, and each group keeps its low 16 bits either as a sorted char array (up to
+ * ARRAY_MAX members, 2 bytes each) or as a 65536-bit bitmap (8 KB), whichever is smaller.
+ * Not thread-safe: VoteIndex guards it.
+ */
+final class VoterBitmap {
+
+    // Above this many members a group's sorted array is larger than its bitmap
+    static final int ARRAY_MAX = 4096;
+
+    private static final int BITMAP_WORDS = 1 << 10;
+
+    // Sorted high 16 bits of the groups, and each group's container (char[] or long[])
+    private char[] keys = new char[0];
+    private Object[] containers = new Object[0];
+    // Members per group
+    private int[] cardinalities = new int[0];
+    private int groups;
+    private int size;
+
+    static boolean fits(long userId) {
+        return userId >= 0 && userId <= 0xFFFF_FFFFL;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(long userId) {
+        int group = Arrays.binarySearch(keys, 0, groups, high(userId));
+        if (group < 0) {
+            return false;
+        }
+        char low = low(userId);
+        Object container = containers[group];
+        if (container instanceof long[] bits) {
+            return (bits[low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch((char[]) container, 0, cardinalities[group], low) >= 0;
+    }
+
+    boolean add(long userId) {
+        char high = high(userId);
+        char low = low(userId);
+        int group = Arrays.binarySearch(keys, 0, groups, high);
+        if (group < 0) {
+            group = insertGroup(-group - 1, high);
+        }
+        Object container = containers[group];
+        if (container instanceof long[] bits) {
+            long mask = 1L << low;
+            if ((bits[low >>> 6] & mask) != 0) {
+                return false;
+            }
+            bits[low >>> 6] |= mask;
+        } else {
+            char[] values = (char[]) container;
+            int cardinality = cardinalities[group];
+            int position = Arrays.binarySearch(values, 0, cardinality, low);
+            if (position >= 0) {
+                return false;
+            }
+            position = -position - 1;
+            if (cardinality == ARRAY_MAX) {
+                long[] bits = toBitmap(values, cardinality);
+                bits[low >>> 6] |= 1L << low;
+                containers[group] = bits;
+            } else {
+                if (cardinality == values.length) {
+                    values = Arrays.copyOf(values, Math.min(ARRAY_MAX, Math.max(4, cardinality * 2)));
+                    containers[group] = values;
+                }
+                System.arraycopy(values, position, values, position + 1, cardinality - position);
+                values[position] = low;
+            }
+        }
+        cardinalities[group]++;
+        size++;
+        return true;
+    }
+
+    boolean remove(long userId) {
+        int group = Arrays.binarySearch(keys, 0, groups, high(userId));
+        if (group < 0) {
+            return false;
+        }
+        char low = low(userId);
+        Object container = containers[group];
+        int cardinality = cardinalities[group];
+        if (container instanceof long[] bits) {
+            long mask = 1L << low;
+            if ((bits[low >>> 6] & mask) == 0) {
+                return false;
+            }
+            bits[low >>> 6] &= ~mask;
+            if (cardinality - 1 <= ARRAY_MAX) {
+                containers[group] = toArray(bits, cardinality - 1);
+            }
+        } else {
+            char[] values = (char[]) container;
+            int position = Arrays.binarySearch(values, 0, cardinality, low);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(values, position + 1, values, position, cardinality - position - 1);
+            // Give memory back once the group has shrunk well below its array
+            if (cardinality - 1 < values.length / 4) {
+                containers[group] = Arrays.copyOf(values, values.length / 2);
+            }
+        }
+        size--;
+        if (--cardinalities[group] == 0) {
+            removeGroup(group);
+        }
+        return true;
+    }
+
+    // Heap held by the containers and the group index (object headers approximated)
+    long estimatedBytes() {
+        long bytes = 64 + keys.length * 2L + containers.length * 8L + cardinalities.length * 4L;
+        for (int group = 0; group < groups; group++) {
+            Object container = containers[group];
+            bytes += 16 + (container instanceof long[] bits ? bits.length * 8L : ((char[]) container).length * 2L);
+        }
+        return bytes;
+    }
+
+    private int insertGroup(int position, char high) {
+        if (groups == keys.length) {
+            int capacity = Math.max(4, groups * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+            cardinalities = Arrays.copyOf(cardinalities, capacity);
+        }
+        System.arraycopy(keys, position, keys, position + 1, groups - position);
+        System.arraycopy(containers, position, containers, position + 1, groups - position);
+        System.arraycopy(cardinalities, position, cardinalities, position + 1, groups - position);
+        keys[position] = high;
+        containers[position] = new char[4];
+        cardinalities[position] = 0;
+        groups++;
+        return position;
+    }
+
+    private void removeGroup(int group) {
+        System.arraycopy(keys, group + 1, keys, group, groups - group - 1);
+        System.arraycopy(containers, group + 1, containers, group, groups - group - 1);
+        System.arraycopy(cardinalities, group + 1, cardinalities, group, groups - group - 1);
+        groups--;
+        containers[groups] = null;
+    }
+
+    private static long[] toBitmap(char[] values, int cardinality) {
+        long[] bits = new long[BITMAP_WORDS];
+        for (int i = 0; i < cardinality; i++) {
+            bits[values[i] >>> 6] |= 1L << values[i];
+        }
+        return bits;
+    }
+
+    private static char[] toArray(long[] bits, int cardinality) {
+        char[] values = new char[cardinality];
+        int next = 0;
+        for (int word = 0; word < bits.length; word++) {
+            long remaining = bits[word];
+            while (remaining != 0) {
+                values[next++] = (char) (word * 64 + Long.numberOfTrailingZeros(remaining));
+                remaining &= remaining - 1;
+            }
+        }
+        return values;
+    }
+
+    private static char high(long userId) {
+        return (char) (userId >>> 16);
+    }
+
+    private static char low(long userId) {
+        return (char) userId;
+    }
+}
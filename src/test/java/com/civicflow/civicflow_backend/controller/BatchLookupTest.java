@@ -0,0 +1,121 @@
+package com.civicflow.civicflow_backend.controller;
+
+import com.civicflow.civicflow_backend.config.TestSecurityConfig;
+import com.civicflow.civicflow_backend.model.Issue;
+import com.civicflow.civicflow_backend.model.IssueStatus;
+import com.civicflow.civicflow_backend.model.Role;
+import com.civicflow.civicflow_backend.model.User;
+import com.civicflow.civicflow_backend.repository.IssueRepository;
+import com.civicflow.civicflow_backend.repository.UserRepository;
+import com.civicflow.civicflow_backend.service.IssueService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+class BatchLookupTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    // Writes go through the service so the in-memory indexes see them
+    @Autowired
+    private IssueService issueService;
+
+    private User reporter;
+    private Issue bangalore;
+    private Issue mumbai;
+
+    @BeforeEach
+    void setUp() {
+        reporter = new User();
+        reporter.setUsername("planner");
+        reporter.setEmail("planner@example.com");
+        reporter.setPassword("hashedpassword");
+        reporter.setRole(Role.USER);
+        reporter = userRepository.save(reporter);
+        bangalore = saveIssue("Pothole", "Roads", 12.9720, 77.5950);
+        mumbai = saveIssue("Broken light", "Lighting", 19.0760, 72.8777);
+    }
+
+    @AfterEach
+    void tearDown() {
+        issueRepository.findAll().forEach(each -> issueService.deleteIssue(each.getId()));
+        userRepository.deleteAll();
+    }
+
+    private Issue saveIssue(String title, String category, double lat, double lng) {
+        Issue created = new Issue();
+        created.setTitle(title);
+        created.setCategory(category);
+        created.setLatitude(lat);
+        created.setLongitude(lng);
+        created.setStatus(IssueStatus.OPEN);
+        created.setCreatedBy(reporter);
+        return issueService.createIssue(created);
+    }
+
+    @Test
+    void testNearbyBatchAnswersEveryQueryByKey() throws Exception {
+        // Given - two stops, plus one unkeyed query filtered to a category nothing matches
+        String body = "{\"queries\": ["
+                + "{\"key\": \"stop-1\", \"latitude\": 12.9716, \"longitude\": 77.5946, \"radius\": 5},"
+                + "{\"key\": \"stop-2\", \"latitude\": 19.0700, \"longitude\": 72.8700},"
+                + "{\"latitude\": 12.9716, \"longitude\": 77.5946, \"category\": \"Lighting\"}]}";
+
+        // When & Then
+        mockMvc.perform(post("/api/issues/nearby/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.queryCount").value(3))
+                .andExpect(jsonPath("$.results['stop-1']", hasSize(1)))
+                .andExpect(jsonPath("$.results['stop-1'][0].id").value(bangalore.getId()))
+                .andExpect(jsonPath("$.results['stop-1'][0].createdBy.username").value("planner"))
+                .andExpect(jsonPath("$.results['stop-2'][0].id").value(mumbai.getId()))
+                .andExpect(jsonPath("$.results['2']", hasSize(0)));
+    }
+
+    @Test
+    void testNearbyBatchRejectsQueriesWithoutCoordinates() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/issues/nearby/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"queries\": [{\"key\": \"a\", \"latitude\": 12.97}]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testDistanceBatchReportsDistancesAndMissingIssues() throws Exception {
+        // Given
+        String body = "{\"latitude\": 12.9716, \"longitude\": 77.5946, \"issueIds\": ["
+                + bangalore.getId() + ", " + mumbai.getId() + ", 999999]}";
+
+        // When & Then
+        mockMvc.perform(post("/api/issues/distance/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.unit").value("km"))
+                .andExpect(jsonPath("$.distances['" + bangalore.getId() + "'].distance").value(0.06))
+                .andExpect(jsonPath("$.distances['" + mumbai.getId() + "'].distance",
+                        closeTo(845.0, 15.0)))
+                .andExpect(jsonPath("$.notFound", contains(999999)))
+                .andExpect(jsonPath("$.noLocation", hasSize(0)));
+    }
+}
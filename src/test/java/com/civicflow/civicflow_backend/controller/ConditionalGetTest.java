@@ -0,0 +1,156 @@
+package com.civicflow.civicflow_backend.controller;
+
+import com.civicflow.civicflow_backend.config.TestSecurityConfig;
+import com.civicflow.civicflow_backend.model.Issue;
+import com.civicflow.civicflow_backend.model.IssueStatus;
+import com.civicflow.civicflow_backend.model.Role;
+import com.civicflow.civicflow_backend.model.User;
+import com.civicflow.civicflow_backend.repository.IssueRepository;
+import com.civicflow.civicflow_backend.repository.UserRepository;
+import com.civicflow.civicflow_backend.repository.VoteRepository;
+import com.civicflow.civicflow_backend.service.IssueService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+class ConditionalGetTest {
+
+    private static final String NEARBY = "/api/issues/nearby?lat=12.9716&lng=77.5946&radius=5";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    // Writes go through the service so the in-memory indexes see them
+    @Autowired
+    private IssueService issueService;
+
+    private User reporter;
+    private Issue issue;
+
+    @BeforeEach
+    void setUp() {
+        reporter = new User();
+        reporter.setUsername("reporter");
+        reporter.setEmail("reporter@example.com");
+        reporter.setPassword("hashedpassword");
+        reporter.setRole(Role.USER);
+        reporter = userRepository.save(reporter);
+        issue = saveIssue("Pothole", 12.9720, 77.5950);
+    }
+
+    @AfterEach
+    void tearDown() {
+        voteRepository.deleteAll();
+        issueRepository.findAll().forEach(each -> issueService.deleteIssue(each.getId()));
+        userRepository.deleteAll();
+    }
+
+    private Issue saveIssue(String title, double lat, double lng) {
+        Issue created = new Issue();
+        created.setTitle(title);
+        created.setCategory("Roads");
+        created.setLatitude(lat);
+        created.setLongitude(lng);
+        created.setStatus(IssueStatus.OPEN);
+        created.setCreatedBy(reporter);
+        return issueService.createIssue(created);
+    }
+
+    private String etagOf(String url) throws Exception {
+        return mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    @Test
+    void testUnchangedIssueAnswers304UntilItIsUpdated() throws Exception {
+        // Given
+        String url = "/api/issues/" + issue.getId();
+        String etag = etagOf(url);
+
+        // Then
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // When
+        issue.setTitle("Pothole (deeper)");
+        issueService.updateIssue(issue.getId(), issue);
+
+        // Then
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Pothole (deeper)"));
+    }
+
+    @Test
+    void testIssueVersionFollowsTheEmbeddedUsers() throws Exception {
+        // Given
+        String url = "/api/issues/" + issue.getId();
+        String etag = etagOf(url);
+
+        // When - the reporter edits their profile; the issue row itself is untouched
+        User edited = userRepository.findById(reporter.getId()).orElseThrow();
+        edited.setBio("Cyclist, reports potholes");
+        userRepository.save(edited);
+
+        // Then
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.createdBy.bio").value("Cyclist, reports potholes"));
+    }
+
+    @Test
+    void testNearbyListVersionFollowsTheMatchingIssues() throws Exception {
+        // Given
+        String etag = etagOf(NEARBY);
+        mockMvc.perform(get(NEARBY).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        // When - an issue far away changes nothing, one inside the radius does
+        saveIssue("Far away", 19.0760, 72.8777);
+        mockMvc.perform(get(NEARBY).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        saveIssue("Streetlight", 12.9800, 77.6000);
+
+        // Then
+        mockMvc.perform(get(NEARBY).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void testVoteSummaryIsConditional() throws Exception {
+        // Given
+        String url = "/api/issues/" + issue.getId() + "/votes/summary";
+        String etag = etagOf(url);
+
+        // Then
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+}
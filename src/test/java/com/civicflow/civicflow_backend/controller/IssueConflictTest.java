@@ -0,0 +1,74 @@
+package com.civicflow.civicflow_backend.controller;
+
+import com.civicflow.civicflow_backend.config.TestSecurityConfig;
+import com.civicflow.civicflow_backend.model.Issue;
+import com.civicflow.civicflow_backend.model.Role;
+import com.civicflow.civicflow_backend.model.User;
+import com.civicflow.civicflow_backend.repository.UserRepository;
+import com.civicflow.civicflow_backend.service.IssueService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+// Without the security filters, so the request's principal reaches the controller as is
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+class IssueConflictTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private IssueService issueService;
+
+    @BeforeEach
+    void setUp() {
+        User reporter = new User();
+        reporter.setUsername("reporter");
+        reporter.setEmail("reporter@example.com");
+        reporter.setPassword("hashedpassword");
+        reporter.setRole(Role.USER);
+        userRepository.save(reporter);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testStaleIssueSaveAnswers409() throws Exception {
+        // Given - another request wrote the issue between this one loading and saving it
+        when(issueService.updateIssueStatus(eq(7L), eq("RESOLVED"), any(User.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Issue.class, 7L));
+
+        // When / Then
+        mockMvc.perform(patch("/api/issues/7/status").param("status", "RESOLVED")
+                        .principal(new UsernamePasswordAuthenticationToken("reporter", null, List.of())))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Conflict"))
+                .andExpect(jsonPath("$.message").value("The resource was modified by another request, please reload and retry"));
+    }
+}
@@ -0,0 +1,94 @@
+package com.civicflow.civicflow_backend.controller;
+
+import com.civicflow.civicflow_backend.config.TestSecurityConfig;
+import com.civicflow.civicflow_backend.model.Issue;
+import com.civicflow.civicflow_backend.model.IssueStatus;
+import com.civicflow.civicflow_backend.model.Role;
+import com.civicflow.civicflow_backend.model.User;
+import com.civicflow.civicflow_backend.repository.IssueRepository;
+import com.civicflow.civicflow_backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+class IssueListTest {
+
+    // IssueService.MAX_LIST_SIZE
+    private static final int MAX_LIST_SIZE = 1000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    private List<Issue> issues;
+
+    @BeforeEach
+    void setUp() {
+        User reporter = new User();
+        reporter.setUsername("reporter");
+        reporter.setEmail("reporter@example.com");
+        reporter.setPassword("hashedpassword");
+        reporter.setRole(Role.USER);
+        reporter = userRepository.save(reporter);
+
+        // Saved directly: list views read SQL, and no read model ever sees these rows
+        List<Issue> created = new ArrayList<>();
+        for (int i = 0; i <= MAX_LIST_SIZE; i++) {
+            Issue issue = new Issue();
+            issue.setTitle("Issue " + i);
+            issue.setCategory("Roads");
+            issue.setStatus(IssueStatus.OPEN);
+            issue.setCreatedBy(reporter);
+            created.add(issue);
+        }
+        issues = issueRepository.saveAll(created);
+    }
+
+    @AfterEach
+    void tearDown() {
+        issueRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testUnpagedListIsCappedAndContinuedByCursor() throws Exception {
+        // When
+        String nextCursor = mockMvc.perform(get("/api/issues"))
+
+                // Then - still a plain array, newest first, cut at the cap
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(MAX_LIST_SIZE)))
+                .andExpect(jsonPath("$[0].id").value(issues.get(MAX_LIST_SIZE).getId()))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        // When / Then - the header's cursor pages on from where the array stopped
+        mockMvc.perform(get("/api/issues").param("cursor", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id").value(issues.get(0).getId()))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+}
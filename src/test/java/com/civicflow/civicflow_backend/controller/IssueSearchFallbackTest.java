@@ -0,0 +1,89 @@
+package com.civicflow.civicflow_backend.controller;
+
+import com.civicflow.civicflow_backend.config.TestSecurityConfig;
+import com.civicflow.civicflow_backend.model.Issue;
+import com.civicflow.civicflow_backend.model.IssueStatus;
+import com.civicflow.civicflow_backend.model.Role;
+import com.civicflow.civicflow_backend.model.User;
+import com.civicflow.civicflow_backend.repository.IssueRepository;
+import com.civicflow.civicflow_backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "civicflow.search-index.enabled=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+class IssueSearchFallbackTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    private List<Issue> issues;
+
+    @BeforeEach
+    void setUp() {
+        User reporter = new User();
+        reporter.setUsername("reporter");
+        reporter.setEmail("reporter@example.com");
+        reporter.setPassword("hashedpassword");
+        reporter.setRole(Role.USER);
+        reporter = userRepository.save(reporter);
+
+        issues = issueRepository.saveAll(List.of(
+                issue("Deep pothole", "Pothole on Main Street", reporter),
+                issue("Broken streetlight", "Dark corner near the park", reporter),
+                issue("Second POTHOLE", "Another one on Main Street", reporter)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        issueRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testSearchFallsBackToSqlWhileTheIndexIsDisabled() throws Exception {
+        // When / Then - every word must match, case-insensitively, newest first
+        mockMvc.perform(get("/api/issues/search").param("q", "pothole main"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.issues", hasSize(2)))
+                .andExpect(jsonPath("$.issues[0].id").value(issues.get(2).getId()))
+                .andExpect(jsonPath("$.issues[1].id").value(issues.get(0).getId()))
+                .andExpect(jsonPath("$.truncated").value(false));
+
+        // When / Then - a query with no searchable words finds nothing
+        mockMvc.perform(get("/api/issues/search").param("q", "!!"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.issues", hasSize(0)));
+    }
+
+    private Issue issue(String title, String description, User reporter) {
+        Issue issue = new Issue();
+        issue.setTitle(title);
+        issue.setDescription(description);
+        issue.setCategory("Roads");
+        issue.setStatus(IssueStatus.OPEN);
+        issue.setCreatedBy(reporter);
+        return issue;
+    }
+}
@@ -0,0 +1,32 @@
+package com.civicflow.civicflow_backend.controller;
+
+import com.civicflow.civicflow_backend.config.QueryCountHeaderAdvice;
+import com.civicflow.civicflow_backend.config.TestSecurityConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "civicflow.query-count.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+class QueryCountHeaderTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testDevModeReportsStatementsPerRequest() throws Exception {
+        // When / Then - the issue list is a single projection query
+        mockMvc.perform(get("/api/issues"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(QueryCountHeaderAdvice.HEADER, "1"));
+    }
+}
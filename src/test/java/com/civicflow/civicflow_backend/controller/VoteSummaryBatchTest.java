@@ -0,0 +1,127 @@
+package com.civicflow.civicflow_backend.controller;
+
+import com.civicflow.civicflow_backend.config.TestSecurityConfig;
+import com.civicflow.civicflow_backend.dto.VoteRequest;
+import com.civicflow.civicflow_backend.model.Issue;
+import com.civicflow.civicflow_backend.model.IssueStatus;
+import com.civicflow.civicflow_backend.model.Role;
+import com.civicflow.civicflow_backend.model.User;
+import com.civicflow.civicflow_backend.model.VoteType;
+import com.civicflow.civicflow_backend.repository.IssueRepository;
+import com.civicflow.civicflow_backend.repository.UserRepository;
+import com.civicflow.civicflow_backend.repository.VoteRepository;
+import com.civicflow.civicflow_backend.service.IssueService;
+import com.civicflow.civicflow_backend.service.VoteService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+class VoteSummaryBatchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    // Writes go through the services so the in-memory indexes see them
+    @Autowired
+    private IssueService issueService;
+
+    @Autowired
+    private VoteService voteService;
+
+    private User reporter;
+    private Issue pothole;
+    private Issue streetlight;
+
+    @BeforeEach
+    void setUp() {
+        reporter = saveUser("reporter");
+        saveUser("alice");
+        pothole = saveIssue("Pothole");
+        streetlight = saveIssue("Streetlight");
+        voteService.castVote(pothole.getId(), "reporter", VoteRequest.builder().type(VoteType.UPVOTE).build());
+        voteService.castVote(pothole.getId(), "alice", VoteRequest.builder().type(VoteType.UPVOTE).build());
+        voteService.castVote(streetlight.getId(), "alice", VoteRequest.builder().type(VoteType.DOWNVOTE).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        voteRepository.deleteAll();
+        issueRepository.findAll().forEach(each -> issueService.deleteIssue(each.getId()));
+        userRepository.deleteAll();
+    }
+
+    private User saveUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("hashedpassword");
+        user.setRole(Role.USER);
+        return userRepository.save(user);
+    }
+
+    private Issue saveIssue(String title) {
+        Issue created = new Issue();
+        created.setTitle(title);
+        created.setCategory("Roads");
+        created.setLatitude(12.9720);
+        created.setLongitude(77.5950);
+        created.setStatus(IssueStatus.OPEN);
+        created.setCreatedBy(reporter);
+        return issueService.createIssue(created);
+    }
+
+    @Test
+    void testSummariesFollowTheRequestedOrder() throws Exception {
+        // Given - a duplicate and an ID without an issue
+        String ids = streetlight.getId() + "," + pothole.getId() + "," + streetlight.getId() + ",999999";
+
+        // Then
+        mockMvc.perform(get("/api/issues/votes/summary").param("ids", ids))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].issueId").value(streetlight.getId()))
+                .andExpect(jsonPath("$[0].downvotes").value(1))
+                .andExpect(jsonPath("$[0].totalScore").value(-1))
+                .andExpect(jsonPath("$[0].hasUserVoted").value(false))
+                .andExpect(jsonPath("$[1].issueId").value(pothole.getId()))
+                .andExpect(jsonPath("$[1].upvotes").value(2))
+                .andExpect(jsonPath("$[1].totalScore").value(2))
+                .andExpect(jsonPath("$[2].issueId").value(999999))
+                .andExpect(jsonPath("$[2].totalScore").value(0));
+    }
+
+    @Test
+    void testTooManyIdsAreRejected() throws Exception {
+        // Given
+        String ids = LongStream.rangeClosed(1, 501).mapToObj(Long::toString).collect(Collectors.joining(","));
+
+        // Then
+        mockMvc.perform(get("/api/issues/votes/summary").param("ids", ids))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,48 @@
+package com.civicflow.civicflow_backend.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoBoundingBoxTest {
+
+    @Test
+    void testBoxWidensLongitudeAwayFromTheEquator() {
+        // When
+        GeoBoundingBox equator = GeoBoundingBox.around(0, 0, 10);
+        GeoBoundingBox north = GeoBoundingBox.around(60, 0, 10);
+
+        // Then - one degree of latitude is ~111 km everywhere, longitude degrees shrink by cos(lat)
+        assertEquals(0.0899, equator.getMaxLatitude(), 0.0001);
+        assertEquals(0.0899, equator.getEastLongitude(), 0.0001);
+        assertEquals(0.1799, north.getEastLongitude(), 0.0001);
+        assertFalse(north.crossesAntimeridian());
+        assertEquals(north.getMinLongitude(), north.getWrappedMinLongitude());
+    }
+
+    @Test
+    void testBoxSplitsAtTheAntimeridian() {
+        // When
+        GeoBoundingBox fiji = GeoBoundingBox.around(-17.0, 179.99, 5);
+
+        // Then
+        assertTrue(fiji.crossesAntimeridian());
+        assertEquals(180, fiji.getMaxLongitude());
+        assertEquals(-180, fiji.getWrappedMinLongitude());
+        assertTrue(fiji.contains(-17.0, -179.99));
+        assertTrue(fiji.contains(-17.0, 179.96));
+        assertFalse(fiji.contains(-17.0, 0));
+    }
+
+    @Test
+    void testBoxReachingAPoleCoversAllLongitudes() {
+        // When
+        GeoBoundingBox pole = GeoBoundingBox.around(89.99, 10, 5);
+
+        // Then
+        assertTrue(pole.isAllLongitudes());
+        assertEquals(90, pole.getMaxLatitude());
+        assertTrue(pole.contains(89.99, -170));
+        assertFalse(pole.contains(80, -170));
+    }
+}
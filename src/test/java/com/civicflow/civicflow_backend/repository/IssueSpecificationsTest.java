@@ -0,0 +1,250 @@
+package com.civicflow.civicflow_backend.repository;
+
+import com.civicflow.civicflow_backend.dto.IssueSummary;
+import com.civicflow.civicflow_backend.model.Issue;
+import com.civicflow.civicflow_backend.model.IssueSortMode;
+import com.civicflow.civicflow_backend.model.IssueStatus;
+import com.civicflow.civicflow_backend.model.Role;
+import com.civicflow.civicflow_backend.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class IssueSpecificationsTest {
+
+    // Bangalore city centre
+    private static final double USER_LAT = 12.9716;
+    private static final double USER_LNG = 77.5946;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    private User reporter;
+
+    @BeforeEach
+    void setUp() {
+        reporter = new User();
+        reporter.setUsername("reporter");
+        reporter.setEmail("reporter@example.com");
+        reporter.setPassword("hashedpassword");
+        reporter.setRole(Role.USER);
+        entityManager.persistAndFlush(reporter);
+
+        persistIssue("Pothole near centre", "Roads", 12.9720, 77.5950, 5, false, IssueStatus.OPEN);
+        persistIssue("Broken streetlight", "Lighting", 12.9800, 77.6000, 12, true, IssueStatus.OPEN);
+        persistIssue("Garbage pile", "sanitation", 13.0500, 77.6500, 3, false, IssueStatus.RESOLVED);
+        persistIssue("Far away pothole", "Roads", 19.0760, 72.8777, 40, true, IssueStatus.OPEN);
+    }
+
+    private void persistIssue(String title, String category, double lat, double lng,
+                              int votes, boolean critical, IssueStatus status) {
+        Issue issue = new Issue();
+        issue.setTitle(title);
+        issue.setCategory(category);
+        issue.setLatitude(lat);
+        issue.setLongitude(lng);
+        issue.setVoteCount(votes);
+        issue.setCritical(critical);
+        issue.setStatus(status);
+        issue.setCreatedBy(reporter);
+        issue.setCreatedAt(LocalDateTime.now());
+        issue.setUpdatedAt(LocalDateTime.now());
+        entityManager.persistAndFlush(issue);
+    }
+
+    private List<String> titles(List<Issue> issues) {
+        return issues.stream().map(Issue::getTitle).collect(Collectors.toList());
+    }
+
+    @Test
+    void testWithinRadiusOrderedByDistance() {
+        // When
+        List<Issue> nearby = issueRepository.findAll(
+                IssueSpecifications.withinRadius(USER_LAT, USER_LNG, 20)
+                        .and(IssueSpecifications.orderedBy(IssueSortMode.LOCATION, USER_LAT, USER_LNG)));
+
+        // Then
+        assertEquals(List.of("Pothole near centre", "Broken streetlight", "Garbage pile"), titles(nearby));
+    }
+
+    @Test
+    void testCategoryIsCaseInsensitiveAndCombinesWithMinVotes() {
+        // When
+        List<Issue> roads = issueRepository.findAll(Specification.allOf(
+                IssueSpecifications.hasCategory("roads"),
+                IssueSpecifications.hasMinVotes(10)));
+
+        // Then
+        assertEquals(List.of("Far away pothole"), titles(roads));
+    }
+
+    @Test
+    void testCategoryIgnoresSurroundingSpacesOnBothSides() {
+        // Given - stored with padding, as the snapshot's trimmed category codes would still match it
+        persistIssue("Padded category", "  Roads ", 12.97, 77.59, 20, false, IssueStatus.OPEN);
+
+        // When
+        List<Issue> roads = issueRepository.findAll(Specification.allOf(
+                IssueSpecifications.hasCategory(" roads"),
+                IssueSpecifications.hasMinVotes(10)));
+
+        // Then
+        assertEquals(List.of("Far away pothole", "Padded category"), titles(roads));
+    }
+
+    @Test
+    void testAbsentFiltersMatchEverything() {
+        // When
+        List<Issue> all = issueRepository.findAll(Specification.allOf(
+                IssueSpecifications.hasCategory(null),
+                IssueSpecifications.isCritical(null),
+                IssueSpecifications.hasStatus(null),
+                IssueSpecifications.withinRadius(null, null, null)));
+
+        // Then
+        assertEquals(4, all.size());
+    }
+
+    @Test
+    void testPopularSortIsPagedInDatabase() {
+        // When
+        Page<Issue> firstPage = issueRepository.findAll(
+                IssueSpecifications.hasStatus(IssueStatus.OPEN)
+                        .and(IssueSpecifications.orderedBy(IssueSortMode.POPULAR, null, null)),
+                PageRequest.of(0, 2));
+
+        // Then
+        assertEquals(3, firstPage.getTotalElements());
+        assertEquals(List.of("Far away pothole", "Broken streetlight"), titles(firstPage.getContent()));
+    }
+
+    @Test
+    void testCriticalSortPutsCriticalFirstThenVotes() {
+        // When
+        List<Issue> sorted = issueRepository.findAll(
+                IssueSpecifications.orderedBy(IssueSortMode.CRITICAL, null, null));
+
+        // Then
+        assertEquals(List.of("Far away pothole", "Broken streetlight", "Pothole near centre", "Garbage pile"),
+                titles(sorted));
+    }
+
+    @Test
+    void testKeysetPagesWalkTheWholeOrderingWithoutOverlap() {
+        // When - page through by two using the key of each page's last row
+        List<KeysetRow<Issue>> firstPage = issueRepository.findPageAfter(
+                null, IssueSortMode.LOCATION, USER_LAT, USER_LNG, null, 2);
+        List<KeysetRow<Issue>> secondPage = issueRepository.findPageAfter(
+                null, IssueSortMode.LOCATION, USER_LAT, USER_LNG, firstPage.get(1).getKey(), 2);
+        List<KeysetRow<Issue>> thirdPage = issueRepository.findPageAfter(
+                null, IssueSortMode.LOCATION, USER_LAT, USER_LNG, secondPage.get(1).getKey(), 2);
+
+        // Then
+        assertEquals(List.of("Pothole near centre", "Broken streetlight"),
+                titles(firstPage.stream().map(KeysetRow::getItem).collect(Collectors.toList())));
+        assertEquals(List.of("Garbage pile", "Far away pothole"),
+                titles(secondPage.stream().map(KeysetRow::getItem).collect(Collectors.toList())));
+        assertTrue(thirdPage.isEmpty());
+    }
+
+    @Test
+    void testKeysetRespectsFiltersAndTies() {
+        // Given - two issues tied on votes, so the id breaks the tie
+        persistIssue("Tied one", "Roads", 12.97, 77.59, 5, false, IssueStatus.OPEN);
+
+        // When
+        List<KeysetRow<Issue>> firstPage = issueRepository.findPageAfter(
+                IssueSpecifications.hasCategory("roads"), IssueSortMode.POPULAR, null, null, null, 2);
+        List<KeysetRow<Issue>> secondPage = issueRepository.findPageAfter(
+                IssueSpecifications.hasCategory("roads"), IssueSortMode.POPULAR, null, null,
+                firstPage.get(1).getKey(), 2);
+
+        // Then
+        assertEquals(2, firstPage.size());
+        assertEquals(1, secondPage.size());
+        assertEquals("Far away pothole", firstPage.get(0).getItem().getTitle());
+        assertNotEquals(firstPage.get(1).getItem().getId(), secondPage.get(0).getItem().getId());
+    }
+
+    @Test
+    void testKeyOfTheWrongTypeIsAnInvalidCursor() {
+        // Given - a well-formed key whose first value no longer has its sort key's type
+        List<Object> tampered = new ArrayList<>(issueRepository.findPageAfter(
+                null, IssueSortMode.POPULAR, null, null, null, 1).get(0).getKey());
+        tampered.set(0, "5");
+
+        // When / Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> issueRepository.findPageAfter(
+                null, IssueSortMode.POPULAR, null, null, tampered, 2));
+        assertEquals("Invalid cursor", exception.getMessage());
+    }
+
+    @Test
+    void testRadiusQueryFindsIssuesAcrossTheAntimeridian() {
+        // Given - Fiji sits on both sides of the 180th meridian
+        persistIssue("East of the line", "Roads", -17.0, 179.99, 0, false, IssueStatus.OPEN);
+        persistIssue("West of the line", "Roads", -17.0, -179.99, 0, false, IssueStatus.OPEN);
+
+        // When
+        List<Issue> viaQuery = issueRepository.findIssuesWithinRadius(-17.0, 179.999, 5.0);
+        List<Issue> viaSpecification = issueRepository.findAll(
+                IssueSpecifications.withinRadius(-17.0, -179.999, 5));
+
+        // Then
+        assertEquals(2, viaQuery.size());
+        assertEquals(2, viaSpecification.size());
+        assertEquals(List.of("Pothole near centre"),
+                titles(issueRepository.findNearbyIssuesWithFilters(USER_LAT, USER_LNG, 5.0, "Roads", null)));
+    }
+
+    @Test
+    void testFindNearbyFallsBackToHaversineWithoutPostgis() {
+        // When - the test profile runs on H2 with PostGIS mode off
+        List<Issue> nearby = issueRepository.findNearby(USER_LAT, USER_LNG, 20, null, null);
+        List<Issue> critical = issueRepository.findNearby(USER_LAT, USER_LNG, 20, null, true);
+
+        // Then
+        assertEquals(List.of("Pothole near centre", "Broken streetlight", "Garbage pile"), titles(nearby));
+        assertEquals(List.of("Broken streetlight"), titles(critical));
+    }
+
+    @Test
+    void testSummaryQueriesReturnListColumnsAndCreatorUsername() {
+        // When
+        Page<IssueSummary> popular = issueRepository.findSummaries(
+                IssueSpecifications.hasCategory("roads"), IssueSortMode.POPULAR, null, null, PageRequest.of(0, 1));
+        List<KeysetRow<IssueSummary>> keysetPage = issueRepository.findSummaryPageAfter(
+                null, IssueSortMode.LOCATION, USER_LAT, USER_LNG, null, 2);
+        List<IssueSummary> byId = issueRepository.findSummariesByIdIn(List.of(popular.getContent().get(0).getId()));
+
+        // Then
+        assertEquals(2, popular.getTotalElements());
+        IssueSummary top = popular.getContent().get(0);
+        assertEquals("Far away pothole", top.getTitle());
+        assertEquals(40, top.getVoteCount());
+        assertEquals("reporter", top.getCreatedBy().getUsername());
+        assertNull(top.getAssignedNgo());
+        assertEquals(List.of("Pothole near centre", "Broken streetlight"),
+                keysetPage.stream().map(row -> row.getItem().getTitle()).collect(Collectors.toList()));
+        assertEquals(List.of(top), byId);
+        assertEquals(4, issueRepository.findSummariesByCreatedBy(reporter).size());
+    }
+}
@@ -0,0 +1,48 @@
+package com.civicflow.civicflow_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorCodecTest {
+
+    @Test
+    void testKeyRoundTripsWithItsTypes() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 10, 30);
+        String cursor = CursorCodec.encode("filter-smart", Arrays.asList(3, null, 77.5, true, createdAt, 42L));
+
+        // When
+        List<Object> key = CursorCodec.decode("filter-smart", cursor);
+
+        // Then
+        assertEquals(3, CursorCodec.keyValue(key, 0, Integer.class, false));
+        assertNull(CursorCodec.keyValue(key, 1, Double.class, true));
+        assertEquals(77.5, CursorCodec.keyValue(key, 2, Double.class, true));
+        assertEquals(true, CursorCodec.keyValue(key, 3, Boolean.class, false));
+        assertEquals(createdAt, CursorCodec.keyValue(key, 4, LocalDateTime.class, false));
+        assertEquals(42L, CursorCodec.keyValue(key, 5, Long.class, false));
+    }
+
+    @Test
+    void testCraftedKeyIsRejectedAsAnInvalidCursor() {
+        // Given - a client-built cursor with the listing's scope but the wrong element types
+        String cursor = CursorCodec.encode("filter-smart", Arrays.asList(3L, 1, null, null, null, null));
+        List<Object> key = CursorCodec.decode("filter-smart", cursor);
+
+        // When / Then
+        RuntimeException wrongType = assertThrows(RuntimeException.class,
+                () -> CursorCodec.keyValue(key, 0, Integer.class, false));
+        assertEquals("Invalid cursor", wrongType.getMessage());
+        RuntimeException missing = assertThrows(RuntimeException.class,
+                () -> CursorCodec.keyValue(key, 3, Boolean.class, false));
+        assertEquals("Invalid cursor", missing.getMessage());
+        RuntimeException pastTheEnd = assertThrows(RuntimeException.class,
+                () -> CursorCodec.keyValue(key, 6, Long.class, false));
+        assertEquals("Invalid cursor", pastTheEnd.getMessage());
+    }
+}
@@ -0,0 +1,323 @@
+package com.civicflow.civicflow_backend.service;
+
+import com.civicflow.civicflow_backend.dto.CursorPage;
+import com.civicflow.civicflow_backend.dto.IssueSummary;
+import com.civicflow.civicflow_backend.dto.VoteResponse;
+import com.civicflow.civicflow_backend.dto.VoteSummary;
+import com.civicflow.civicflow_backend.model.Issue;
+import com.civicflow.civicflow_backend.model.IssueSortMode;
+import com.civicflow.civicflow_backend.model.IssueStatus;
+import com.civicflow.civicflow_backend.model.Role;
+import com.civicflow.civicflow_backend.model.User;
+import com.civicflow.civicflow_backend.model.Vote;
+import com.civicflow.civicflow_backend.model.VoteType;
+import com.civicflow.civicflow_backend.repository.IssueRepository;
+import com.civicflow.civicflow_backend.repository.IssueSpecifications;
+import com.civicflow.civicflow_backend.repository.KeysetRow;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statements issued per read path: lazy associations must not add a query per row.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({VoteService.class, VoteWriteBuffer.class, VoteCountCache.class, VoteIndex.class,
+        IssueService.class, IssueSpatialIndex.class, IssueSnapshot.class, RankingPool.class,
+        IssueSearchIndex.class, IssueClusterGrid.class, IssueHeatmapGrid.class})
+class FetchPlanQueryCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @Autowired
+    private VoteService voteService;
+
+    @Autowired
+    private IssueService issueService;
+
+    private final List<User> reporters = new ArrayList<>();
+    private User ngo;
+    private Issue issue;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            reporters.add(persistUser("reporter" + i, Role.USER));
+        }
+        ngo = persistUser("ngo", Role.NGO);
+        for (User reporter : reporters) {
+            issue = persistIssue(reporter);
+            for (User voter : reporters) {
+                entityManager.persist(Vote.builder().user(voter).issue(issue).type(VoteType.UPVOTE).build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private User persistUser(String username, Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("hashedpassword");
+        user.setRole(role);
+        return entityManager.persist(user);
+    }
+
+    private Issue persistIssue(User reporter) {
+        Issue created = new Issue();
+        created.setTitle("Pothole by " + reporter.getUsername());
+        created.setCategory("Roads");
+        created.setStatus(IssueStatus.ASSIGNED);
+        created.setCreatedBy(reporter);
+        created.setAssignedNgo(ngo);
+        created.setCreatedAt(LocalDateTime.now());
+        created.setUpdatedAt(LocalDateTime.now());
+        return entityManager.persist(created);
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    @Test
+    void testFindByIdLeavesUsersUnloaded() {
+        // Given
+        Statistics statistics = statistics();
+
+        // When
+        Issue loaded = issueRepository.findById(issue.getId()).orElseThrow();
+
+        // Then
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertFalse(Hibernate.isInitialized(loaded.getCreatedBy()));
+        assertFalse(Hibernate.isInitialized(loaded.getAssignedNgo()));
+    }
+
+    @Test
+    void testDetailGraphLoadsUsersInTheSameQuery() {
+        // Given
+        Statistics statistics = statistics();
+
+        // When
+        Issue loaded = issueRepository.findWithUsersById(issue.getId()).orElseThrow();
+
+        // Then
+        assertEquals("reporter2", loaded.getCreatedBy().getUsername());
+        assertEquals("ngo", loaded.getAssignedNgo().getUsername());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testKeysetPageLoadsUsersInTheSameQuery() {
+        // Given - the NGO's assigned-issues page
+        Statistics statistics = statistics();
+
+        // When
+        List<KeysetRow<Issue>> rows = issueRepository.findPageAfter(
+                IssueSpecifications.assignedTo(ngo), IssueSortMode.NEWEST, null, null, null, 10);
+
+        // Then
+        assertEquals(3, rows.size());
+        for (KeysetRow<Issue> row : rows) {
+            assertTrue(Hibernate.isInitialized(row.getItem().getCreatedBy()));
+            assertEquals("ngo", row.getItem().getAssignedNgo().getUsername());
+        }
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testIssueVotesLoadVotersWithoutNPlusOne() {
+        // Given
+        Statistics statistics = statistics();
+
+        // When
+        List<VoteResponse> votes = voteService.getIssueVotes(issue.getId());
+
+        // Then
+        assertEquals(3, votes.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testIssueVotePagesTakeOneStatementEach() {
+        // Given
+        Statistics statistics = statistics();
+
+        // When
+        CursorPage<VoteResponse> first = voteService.getIssueVotesPage(issue.getId(), null, 2);
+        long firstStatements = statistics.getPrepareStatementCount();
+        CursorPage<VoteResponse> second = voteService.getIssueVotesPage(issue.getId(), first.getNextCursor(), 2);
+
+        // Then
+        assertEquals(1, firstStatements);
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(2, first.getItems().size());
+        assertTrue(first.isHasMore());
+        assertEquals(1, second.getItems().size());
+        assertFalse(second.isHasMore());
+        assertNull(second.getNextCursor());
+
+        List<Long> ids = new ArrayList<>();
+        first.getItems().forEach(vote -> ids.add(vote.getId()));
+        second.getItems().forEach(vote -> ids.add(vote.getId()));
+        assertEquals(3, ids.stream().distinct().count());
+        assertNotNull(second.getItems().get(0).getUsername());
+        assertEquals(issue.getId(), second.getItems().get(0).getIssueId());
+    }
+
+    @Test
+    void testUserVotePagesTakeOneStatementEach() {
+        // Given
+        Statistics statistics = statistics();
+
+        // When
+        CursorPage<VoteResponse> first = voteService.getUserVotesPage("reporter0", null, 2);
+        CursorPage<VoteResponse> second = voteService.getUserVotesPage("reporter0", first.getNextCursor(), 2);
+
+        // Then
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(2, first.getItems().size());
+        assertEquals(1, second.getItems().size());
+        assertFalse(second.isHasMore());
+        assertTrue(second.getItems().stream().allMatch(vote -> "reporter0".equals(vote.getUsername())));
+        assertNotEquals(first.getItems().get(1).getIssueId(), second.getItems().get(0).getIssueId());
+    }
+
+    @Test
+    void testVotePageRejectsCursorFromAnotherListing() {
+        // Given
+        CursorPage<VoteResponse> first = voteService.getUserVotesPage("reporter0", null, 1);
+
+        // When / Then
+        assertThrows(RuntimeException.class,
+                () -> voteService.getIssueVotesPage(issue.getId(), first.getNextCursor(), 1));
+    }
+
+    @Test
+    void testSmartCursorPagesLoadOnlyTheirOwnIssues() {
+        // Given
+        Statistics statistics = statistics();
+
+        // When
+        CursorPage<IssueSummary> first = issueService.getSmartFilteredIssuesPage(12.97, 77.59, null,
+                null, null, null, null, null, null, "smart", null, 2);
+        long firstStatements = statistics.getPrepareStatementCount();
+        CursorPage<IssueSummary> second = issueService.getSmartFilteredIssuesPage(12.97, 77.59, null,
+                null, null, null, null, null, null, "smart", first.getNextCursor(), 2);
+
+        // Then - per page: the matches' sort keys, then the page's summaries with their users
+        assertEquals(2, firstStatements);
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(2, first.getItems().size());
+        assertEquals(1, second.getItems().size());
+        assertFalse(second.isHasMore());
+        assertEquals("ngo", second.getItems().get(0).getAssignedNgo().getUsername());
+    }
+
+    @Test
+    void testVoteSummaryIsOneQueryThenServedFromTheCounterCache() {
+        // Given
+        Statistics statistics = statistics();
+
+        // When
+        VoteSummary summary = voteService.getVoteSummary(issue.getId(), "reporter0", reporters.get(0).getId());
+
+        // Then - the issue's voters (totals and the caller's own vote) in one statement
+        assertEquals(3, summary.getUpvotes());
+        assertEquals(VoteType.UPVOTE, summary.getUserVote());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        // When - loaded voters: no query, anonymous or signed in with the principal's user ID
+        statistics.clear();
+        VoteSummary anonymous = voteService.getVoteSummary(issue.getId(), null);
+        assertEquals(0, statistics.getPrepareStatementCount());
+        VoteSummary signedIn = voteService.getVoteSummary(issue.getId(), "ngo", ngo.getId());
+
+        // Then
+        assertEquals(3, anonymous.getTotalScore());
+        assertFalse(anonymous.isHasUserVoted());
+        assertEquals(3, signedIn.getUpvotes());
+        assertNull(signedIn.getUserVote());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testBulkVoteSummariesAreOneAggregateAndOneOwnVoteLookup() {
+        // Given
+        List<Long> ids = issueRepository.findAll().stream().map(Issue::getId).toList();
+        Statistics statistics = statistics();
+
+        // When
+        List<VoteSummary> summaries = voteService.getVoteSummaries(ids, "reporter1");
+
+        // Then
+        assertEquals(3, summaries.size());
+        summaries.forEach(summary -> {
+            assertEquals(3, summary.getUpvotes());
+            assertEquals(VoteType.UPVOTE, summary.getUserVote());
+        });
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        // When - totals are cached now
+        statistics.clear();
+        voteService.getVoteSummaries(ids, "reporter1");
+
+        // Then
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testNgoPageLoadsUsersWithTheIssues() {
+        // Given
+        Statistics statistics = statistics();
+
+        // When
+        Page<Issue> page = issueRepository.findByAssignedNgo(ngo, PageRequest.of(0, 10));
+        page.forEach(assigned -> assigned.getCreatedBy().getUsername());
+
+        // Then - content query only (a short first page needs no count query)
+        assertEquals(3, page.getTotalElements());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testLazyCreatorsLoadInOneBatch() {
+        // Given
+        Statistics statistics = statistics();
+
+        // When
+        List<Issue> issues = issueRepository.findAll();
+        issues.forEach(each -> each.getCreatedBy().getUsername());
+
+        // Then - the issues, then every distinct creator in one IN (...) query
+        assertEquals(3, issues.size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,136 @@
+package com.civicflow.civicflow_backend.service;
+
+import com.civicflow.civicflow_backend.dto.IssueCluster;
+import com.civicflow.civicflow_backend.model.Issue;
+import com.civicflow.civicflow_backend.repository.IssueRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IssueClusterGridTest {
+
+    @Mock
+    private IssueRepository issueRepository;
+
+    private IssueClusterGrid clusterGrid;
+
+    // Issue.version of the last save, bumped per save like a commit would
+    private long version;
+
+    @BeforeEach
+    void setUp() {
+        when(issueRepository.findAllLocations()).thenReturn(List.of());
+        clusterGrid = new IssueClusterGrid(issueRepository, true, 16);
+        clusterGrid.rebuild();
+    }
+
+    private void index(long id, double lat, double lng, String category, boolean critical) {
+        Issue issue = new Issue();
+        issue.setId(id);
+        issue.setLatitude(lat);
+        issue.setLongitude(lng);
+        issue.setCategory(category);
+        issue.setCritical(critical);
+        issue.setVersion(++version);
+        clusterGrid.onIssueChanged(IssueChangedEvent.saved(issue));
+    }
+
+    @Test
+    void testLowZoomMergesACityIntoOneCluster() {
+        // Given - three issues in Bangalore, one in Mumbai
+        index(1L, 12.9800, 77.6000, "Roads", true);
+        index(2L, 12.9720, 77.5950, "Roads", false);
+        index(3L, 12.9600, 77.5900, "Lighting", true);
+        index(4L, 19.0760, 72.8777, "Water", false);
+
+        // When - a viewport over Bangalore at zoom 6 (cells of ~1.4 degrees)
+        List<IssueCluster> clusters = clusterGrid.clusters(77.0, 12.5, 78.0, 13.5, 6);
+
+        // Then
+        assertTrue(clusterGrid.isReady());
+        assertEquals(1, clusters.size());
+        IssueCluster cluster = clusters.get(0);
+        assertEquals(3, cluster.getCount());
+        assertEquals(2, cluster.getCriticalCount());
+        assertEquals("Roads", cluster.getTopCategory());
+        assertEquals((12.9800 + 12.9720 + 12.9600) / 3, cluster.getLatitude(), 1e-9);
+        assertEquals((77.6000 + 77.5950 + 77.5900) / 3, cluster.getLongitude(), 1e-9);
+    }
+
+    @Test
+    void testHighZoomSplitsClustersAndWorldViewSeesEverything() {
+        // Given
+        index(1L, 12.9800, 77.6000, "Roads", false);
+        index(2L, 12.9720, 77.5950, "Roads", false);
+        index(4L, 19.0760, 72.8777, "Water", false);
+
+        // When - zoom 14 cells are ~0.005 degrees, zoom 0 cells are 90 degrees
+        List<IssueCluster> close = clusterGrid.clusters(77.5, 12.9, 77.7, 13.0, 14);
+        List<IssueCluster> world = clusterGrid.clusters(-180, -90, 180, 90, 0);
+
+        // Then
+        assertEquals(2, close.size());
+        assertEquals(3, world.stream().mapToInt(IssueCluster::getCount).sum());
+    }
+
+    @Test
+    void testUpdatesAndDeletesAdjustTheAggregates() {
+        // Given
+        index(1L, 12.9800, 77.6000, "Roads", true);
+        index(2L, 12.9720, 77.5950, "Lighting", false);
+
+        // When - issue 1 stops being critical and becomes Lighting, then issue 2 is deleted
+        index(1L, 12.9800, 77.6000, "Lighting", false);
+        clusterGrid.onIssueChanged(IssueChangedEvent.deleted(2L));
+        List<IssueCluster> clusters = clusterGrid.clusters(77.0, 12.5, 78.0, 13.5, 6);
+
+        // Then
+        assertEquals(1, clusters.size());
+        assertEquals(1, clusters.get(0).getCount());
+        assertEquals(0, clusters.get(0).getCriticalCount());
+        assertEquals("Lighting", clusters.get(0).getTopCategory());
+        assertEquals(12.9800, clusters.get(0).getLatitude(), 1e-9);
+
+        // When - the last issue is deleted
+        clusterGrid.onIssueChanged(IssueChangedEvent.deleted(1L));
+
+        // Then - the empty cell is gone
+        assertTrue(clusterGrid.clusters(77.0, 12.5, 78.0, 13.5, 6).isEmpty());
+    }
+
+    @Test
+    void testViewportCrossingTheAntimeridian() {
+        // Given - Fiji on both sides of 180, and Bangalore
+        index(1L, -17.7, 179.9, "Roads", false);
+        index(2L, -17.8, -179.9, "Roads", false);
+        index(3L, 12.9716, 77.5946, "Roads", false);
+
+        // When - west > east wraps around through 180
+        List<IssueCluster> clusters = clusterGrid.clusters(179.0, -18.5, -179.0, -17.0, 8);
+        clusters.sort(Comparator.comparingDouble(IssueCluster::getLongitude));
+
+        // Then
+        assertEquals(2, clusters.size());
+        assertEquals(-179.9, clusters.get(0).getLongitude(), 1e-9);
+        assertEquals(179.9, clusters.get(1).getLongitude(), 1e-9);
+    }
+
+    @Test
+    void testZoomAboveMaxUsesTheFinestGrid() {
+        // Given
+        index(1L, 12.9800, 77.6000, "Roads", false);
+
+        // When & Then
+        assertEquals(1, clusterGrid.clusters(77.5, 12.9, 77.7, 13.0, 22).size());
+        assertEquals(1, clusterGrid.clusters(77.5, 12.9, 77.7, 13.0, -3).size());
+    }
+}
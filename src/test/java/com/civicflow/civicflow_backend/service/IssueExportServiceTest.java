@@ -0,0 +1,127 @@
+package com.civicflow.civicflow_backend.service;
+
+import com.civicflow.civicflow_backend.model.Issue;
+import com.civicflow.civicflow_backend.model.IssueStatus;
+import com.civicflow.civicflow_backend.model.Role;
+import com.civicflow.civicflow_backend.model.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureJson
+@ActiveProfiles("test")
+@Import(IssueExportService.class)
+class IssueExportServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private IssueExportService exportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User reporter;
+
+    @BeforeEach
+    void setUp() {
+        reporter = new User();
+        reporter.setUsername("reporter");
+        reporter.setEmail("reporter@example.com");
+        reporter.setPassword("hashedpassword");
+        reporter.setRole(Role.USER);
+        reporter = entityManager.persist(reporter);
+    }
+
+    private Issue persistIssue(String title, String description, String category, IssueStatus status) {
+        Issue issue = new Issue();
+        issue.setTitle(title);
+        issue.setDescription(description);
+        issue.setCategory(category);
+        issue.setStatus(status);
+        issue.setLatitude(12.9716);
+        issue.setLongitude(77.5946);
+        issue.setCreatedBy(reporter);
+        issue.setCreatedAt(LocalDateTime.now());
+        issue.setUpdatedAt(LocalDateTime.now());
+        return entityManager.persist(issue);
+    }
+
+    private String export(IssueExportService.Format format, String category, IssueStatus status) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportIssues(format, out, null, null, null, category, null, status, null, null, null);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testNdjsonWritesOneFilteredIssuePerLine() throws Exception {
+        // Given
+        Issue pothole = persistIssue("Pothole", "Deep", "Roads", IssueStatus.OPEN);
+        persistIssue("Crack", "Small", "Roads", IssueStatus.RESOLVED);
+        persistIssue("Dark street", "No light", "Lighting", IssueStatus.OPEN);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        String body = export(IssueExportService.Format.NDJSON, "Roads", IssueStatus.OPEN);
+
+        // Then
+        String[] lines = body.split("\n");
+        assertEquals(1, lines.length);
+        JsonNode row = objectMapper.readTree(lines[0]);
+        assertEquals(pothole.getId().longValue(), row.get("id").asLong());
+        assertEquals("Pothole", row.get("title").asText());
+        assertEquals("reporter", row.get("createdBy").get("username").asText());
+    }
+
+    @Test
+    void testCsvQuotesSpecialCharactersAndDefusesFormulas() {
+        // Given
+        persistIssue("=HYPERLINK(\"x\")", "Line one\nsaid \"hi\", then left", "Roads", IssueStatus.OPEN);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        String body = export(IssueExportService.Format.CSV, null, null);
+
+        // Then
+        assertTrue(body.startsWith(String.join(",", IssueExportService.CSV_COLUMNS) + "\r\n"));
+        assertTrue(body.contains(",\"'=HYPERLINK(\"\"x\"\")\",\"Line one\nsaid \"\"hi\"\", then left\",Roads,OPEN,"));
+        assertTrue(body.endsWith(",reporter,,\r\n"));
+    }
+
+    @Test
+    void testExportsMoreRowsThanOneFetch() {
+        // Given - enough rows that the persistence context is cleared mid-export
+        int total = IssueExportService.FETCH_SIZE + 5;
+        for (int i = 0; i < total; i++) {
+            persistIssue("Issue " + i, "Description", "Roads", IssueStatus.OPEN);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = exportService.exportIssues(IssueExportService.Format.NDJSON, out,
+                null, null, null, null, null, null, null, null, null);
+
+        // Then
+        assertEquals(total, written);
+        assertEquals(total, out.toString(StandardCharsets.UTF_8).split("\n").length);
+    }
+}
@@ -0,0 +1,182 @@
+package com.civicflow.civicflow_backend.service;
+
+import com.civicflow.civicflow_backend.dto.Heatmap;
+import com.civicflow.civicflow_backend.model.Issue;
+import com.civicflow.civicflow_backend.model.IssueStatus;
+import com.civicflow.civicflow_backend.repository.IssueRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IssueHeatmapGridTest {
+
+    @Mock
+    private IssueRepository issueRepository;
+
+    // Issue.version of the last save, bumped per save like a commit would
+    private long version;
+
+    private IssueHeatmapGrid grid(double halfLifeDays) {
+        when(issueRepository.findAllSnapshotRows()).thenReturn(List.of());
+        IssueHeatmapGrid heatmapGrid = new IssueHeatmapGrid(issueRepository, true, 0.01, halfLifeDays);
+        heatmapGrid.rebuild();
+        return heatmapGrid;
+    }
+
+    private void index(IssueHeatmapGrid heatmapGrid, long id, double lat, double lng, IssueStatus status,
+                       boolean critical, int votes, LocalDateTime createdAt) {
+        Issue issue = new Issue();
+        issue.setId(id);
+        issue.setLatitude(lat);
+        issue.setLongitude(lng);
+        issue.setStatus(status);
+        issue.setCritical(critical);
+        issue.setVoteCount(votes);
+        issue.setCreatedAt(createdAt);
+        issue.setVersion(++version);
+        heatmapGrid.onIssueChanged(IssueChangedEvent.saved(issue));
+    }
+
+    private float total(Heatmap heatmap) {
+        float sum = 0;
+        for (float weight : heatmap.getWeights()) {
+            sum += weight;
+        }
+        return sum;
+    }
+
+    @Test
+    void testOpenAndCriticalLayersSkipResolvedIssues() {
+        // Given
+        IssueHeatmapGrid heatmapGrid = grid(0);
+        LocalDateTime now = LocalDateTime.now();
+        index(heatmapGrid, 1L, 12.9755, 77.5955, IssueStatus.OPEN, true, 0, now);
+        index(heatmapGrid, 2L, 12.9755, 77.5955, IssueStatus.IN_PROGRESS, false, 0, now);
+        index(heatmapGrid, 3L, 12.9755, 77.5955, IssueStatus.RESOLVED, true, 0, now);
+
+        // When
+        Heatmap open = heatmapGrid.render(77.5, 12.9, 77.7, 13.0, IssueHeatmapGrid.Layer.OPEN);
+        Heatmap critical = heatmapGrid.render(77.5, 12.9, 77.7, 13.0, IssueHeatmapGrid.Layer.CRITICAL);
+
+        // Then - one 0.01 degree cell holds both open issues
+        assertTrue(heatmapGrid.isReady());
+        assertEquals(21, open.getColumns());
+        assertEquals(11, open.getRows());
+        assertEquals(0.01, open.getCellSize(), 1e-12);
+        assertEquals(2f, open.getMaxWeight(), 1e-6);
+        assertEquals(2f, total(open), 1e-6);
+        assertEquals(1f, total(critical), 1e-6);
+    }
+
+    @Test
+    void testStatusAndVoteChangesAreIncremental() {
+        // Given
+        IssueHeatmapGrid heatmapGrid = grid(0);
+        LocalDateTime now = LocalDateTime.now();
+        index(heatmapGrid, 1L, 12.9755, 77.5955, IssueStatus.OPEN, false, 0, now);
+        index(heatmapGrid, 2L, 12.9855, 77.5955, IssueStatus.OPEN, false, 0, now);
+
+        // When - issue 1 gains votes, issue 2 is resolved
+        index(heatmapGrid, 1L, 12.9755, 77.5955, IssueStatus.OPEN, false, 3, now);
+        index(heatmapGrid, 2L, 12.9855, 77.5955, IssueStatus.RESOLVED, false, 0, now);
+        Heatmap open = heatmapGrid.render(77.5, 12.9, 77.7, 13.0, IssueHeatmapGrid.Layer.OPEN);
+
+        // Then
+        assertEquals(1 + Math.log(4), total(open), 1e-5);
+
+        // When - issue 1 is deleted
+        heatmapGrid.onIssueChanged(IssueChangedEvent.deleted(1L));
+
+        // Then
+        assertEquals(0f, total(heatmapGrid.render(77.5, 12.9, 77.7, 13.0, IssueHeatmapGrid.Layer.OPEN)));
+    }
+
+    @Test
+    void testVoteDeltaReweightsTheIssue() {
+        // Given
+        IssueHeatmapGrid heatmapGrid = grid(0);
+        index(heatmapGrid, 1L, 12.9755, 77.5955, IssueStatus.OPEN, true, 3, LocalDateTime.now());
+
+        // When - one more upvote commits
+        heatmapGrid.onVoteCountChanged(new VoteCountChangedEvent(1L, 1, version + 1));
+
+        // Then - both layers weigh 1 + ln(1 + 4)
+        assertEquals(1 + Math.log(5), total(heatmapGrid.render(77.5, 12.9, 77.7, 13.0, IssueHeatmapGrid.Layer.OPEN)), 1e-5);
+        assertEquals(1 + Math.log(5), total(heatmapGrid.render(77.5, 12.9, 77.7, 13.0, IssueHeatmapGrid.Layer.CRITICAL)), 1e-5);
+    }
+
+    @Test
+    void testOlderIssuesDecayByHalfLife() {
+        // Given - a 7 day half-life, one issue from now and one from two weeks ago in another cell
+        IssueHeatmapGrid heatmapGrid = grid(7);
+        index(heatmapGrid, 1L, 12.9755, 77.5955, IssueStatus.OPEN, false, 0, LocalDateTime.now());
+        index(heatmapGrid, 2L, 12.9855, 77.5955, IssueStatus.OPEN, false, 0, LocalDateTime.now().minusDays(14));
+
+        // When
+        Heatmap open = heatmapGrid.render(77.5, 12.9, 77.7, 13.0, IssueHeatmapGrid.Layer.OPEN);
+
+        // Then
+        assertEquals(1f, open.getMaxWeight(), 1e-3);
+        assertEquals(1.25f, total(open), 1e-3);
+    }
+
+    @Test
+    void testWideViewportIsDownsampled() {
+        // Given
+        IssueHeatmapGrid heatmapGrid = grid(0);
+        index(heatmapGrid, 1L, 12.9755, 77.5955, IssueStatus.OPEN, false, 0, LocalDateTime.now());
+        index(heatmapGrid, 2L, 19.0760, 72.8777, IssueStatus.OPEN, false, 0, LocalDateTime.now());
+
+        // When - the whole world in 0.01 degree cells is 36000 x 18000
+        Heatmap world = heatmapGrid.render(-180, -90, 180, 90, IssueHeatmapGrid.Layer.OPEN);
+
+        // Then
+        assertTrue(world.getColumns() <= IssueHeatmapGrid.MAX_SIDE);
+        assertTrue(world.getRows() <= IssueHeatmapGrid.MAX_SIDE);
+        assertEquals(2f, total(world), 1e-6);
+    }
+
+    @Test
+    void testEncodeRoundTripsThroughRunLengths() throws IOException {
+        // Given
+        IssueHeatmapGrid heatmapGrid = grid(0);
+        index(heatmapGrid, 1L, 12.9755, 77.5955, IssueStatus.OPEN, false, 0, LocalDateTime.now());
+        index(heatmapGrid, 2L, 12.9955, 77.6555, IssueStatus.OPEN, false, 1, LocalDateTime.now());
+        Heatmap heatmap = heatmapGrid.render(77.5, 12.9, 77.7, 13.0, IssueHeatmapGrid.Layer.OPEN);
+
+        // When
+        byte[] bytes = heatmap.encode();
+
+        // Then - two non-empty cells out of 231 fit in a few runs
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        assertEquals(Heatmap.FORMAT_VERSION, in.readByte());
+        assertEquals(heatmap.getWest(), in.readDouble());
+        assertEquals(heatmap.getSouth(), in.readDouble());
+        assertEquals(heatmap.getCellSize(), in.readDouble());
+        int columns = in.readInt();
+        int rows = in.readInt();
+        assertEquals(heatmap.getMaxWeight(), in.readFloat());
+        float[] decoded = new float[columns * rows];
+        int index = 0;
+        while (index < decoded.length) {
+            index += in.readInt();
+            if (index < decoded.length) {
+                decoded[index++] = in.readFloat();
+            }
+        }
+        assertEquals(0, in.available());
+        assertArrayEquals(heatmap.getWeights(), decoded);
+        assertEquals(1 + 8 * 3 + 4 * 3 + 8 * 2 + 4, bytes.length);
+    }
+}
@@ -0,0 +1,175 @@
+package com.civicflow.civicflow_backend.service;
+
+import com.civicflow.civicflow_backend.config.QueryCounter;
+import com.civicflow.civicflow_backend.config.TestSecurityConfig;
+import com.civicflow.civicflow_backend.dto.ImportProgress;
+import com.civicflow.civicflow_backend.dto.IssueSummary;
+import com.civicflow.civicflow_backend.model.Issue;
+import com.civicflow.civicflow_backend.model.IssueStatus;
+import com.civicflow.civicflow_backend.model.Role;
+import com.civicflow.civicflow_backend.model.User;
+import com.civicflow.civicflow_backend.repository.IssueRepository;
+import com.civicflow.civicflow_backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "civicflow.import.chunk-size=60")
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+class IssueImportServiceTest {
+
+    @Autowired
+    private IssueImportService importService;
+
+    @Autowired
+    private IssueService issueService;
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        admin = userRepository.save(user("importer", Role.ADMIN));
+        userRepository.save(user("legacy_ngo", Role.NGO));
+    }
+
+    @AfterEach
+    void tearDown() {
+        issueRepository.findAll().forEach(each -> issueService.deleteIssue(each.getId()));
+        userRepository.deleteAll();
+    }
+
+    private User user(String username, Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("hashedpassword");
+        user.setRole(role);
+        return user;
+    }
+
+    private ImportProgress importText(IssueExportService.Format format, String body) {
+        return importService.importIssues(format,
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), "importer");
+    }
+
+    @Test
+    void testCsvImportKeepsLegacyFieldsAndSkipsBadRows() {
+        // Given - the export layout, with a quoted multi-line description and two bad rows
+        String csv = String.join(",", IssueExportService.CSV_COLUMNS) + "\r\n"
+                + "17,\"'=Pothole\",\"Deep, wide\nand \"\"old\"\"\",Roads,IN_PROGRESS,12.9716,77.5946,9,true,"
+                + "2019-03-01T10:15:00,2019-04-01T08:00:00,,legacy_ngo,\r\n"
+                + "18,No location,,Lighting,,,,0,false,,,importer,,\r\n"
+                + "19,Bad,,Roads,OPEN,abc,77.5,0,false,,,,,\r\n"
+                + "20,Ghost,,Roads,OPEN,,,0,false,,,nobody,,\r\n";
+
+        // When
+        ImportProgress result = importText(IssueExportService.Format.CSV, csv);
+
+        // Then
+        assertFalse(result.isRunning());
+        assertNull(result.getAbortedReason());
+        assertEquals(4, result.getRowsRead());
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(List.of("Row 3: invalid latitude: abc", "Row 4: unknown user: nobody"), result.getErrors());
+
+        Issue pothole = issueRepository.findAll().stream()
+                .filter(issue -> issue.getTitle().equals("=Pothole")).findFirst().orElseThrow();
+        Issue full = issueRepository.findWithUsersById(pothole.getId()).orElseThrow();
+        assertEquals("Deep, wide\nand \"old\"", full.getDescription());
+        assertEquals(IssueStatus.IN_PROGRESS, full.getStatus());
+        assertEquals(0, full.getVoteCount());
+        assertTrue(full.isCritical());
+        assertEquals(LocalDateTime.of(2019, 3, 1, 10, 15), full.getCreatedAt());
+        assertEquals(LocalDateTime.of(2019, 4, 1, 8, 0), full.getUpdatedAt());
+        assertEquals(admin.getId(), full.getCreatedBy().getId());
+        assertEquals("legacy_ngo", full.getAssignedNgo().getUsername());
+        assertNotEquals(17L, full.getId());
+
+        // The read models were rebuilt after the import
+        List<IssueSummary> nearby = issueService.getNearbyIssues(12.9716, 77.5946, 1.0);
+        assertEquals(List.of(full.getId()), nearby.stream().map(IssueSummary::getId).toList());
+    }
+
+    @Test
+    void testNdjsonImportCommitsInChunksWithBatchedInserts() {
+        // Given - 150 rows, committed as chunks of 60
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 150; i++) {
+            ndjson.append("{\"title\": \"Legacy ").append(i).append("\", \"category\": \"Roads\", ")
+                    .append("\"latitude\": 12.97, \"longitude\": 77.59, ")
+                    .append("\"createdBy\": {\"id\": 1, \"username\": \"importer\"}}\n");
+        }
+        ndjson.append("not json\n");
+
+        // When
+        QueryCounter.start();
+        ImportProgress result;
+        Map<String, Integer> shapes;
+        try {
+            result = importText(IssueExportService.Format.NDJSON, ndjson.toString());
+        } finally {
+            shapes = QueryCounter.stop().getShapes();
+        }
+
+        // Then
+        assertEquals(150, result.getImported());
+        assertEquals(List.of("Row 151: invalid JSON"), result.getErrors());
+        assertTrue(result.getRowsPerSecond() > 0);
+        assertEquals(150, issueRepository.count());
+        int inserts = shapes.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith("insert into issue"))
+                .mapToInt(Map.Entry::getValue).sum();
+        // One prepared statement per JDBC batch of up to 50 rows: 3 chunks of 60 / 60 / 30 rows
+        assertTrue(inserts > 0 && inserts <= 6, "insert statements: " + inserts);
+    }
+
+    @Test
+    void testOnlyOneImportRunsAtATime() {
+        // Given - an import whose input blocks the first read until a second import is attempted
+        RuntimeException[] second = new RuntimeException[1];
+        InputStream input = new InputStream() {
+            private boolean tried;
+
+            @Override
+            public int read() {
+                if (!tried) {
+                    tried = true;
+                    try {
+                        importText(IssueExportService.Format.NDJSON, "");
+                    } catch (RuntimeException e) {
+                        second[0] = e;
+                    }
+                }
+                return -1;
+            }
+        };
+
+        // When
+        importService.importIssues(IssueExportService.Format.NDJSON, input, "importer");
+
+        // Then
+        assertNotNull(second[0]);
+        assertEquals("An import is already running", second[0].getMessage());
+    }
+}
@@ -0,0 +1,129 @@
+package com.civicflow.civicflow_backend.service;
+
+import com.civicflow.civicflow_backend.model.Issue;
+import com.civicflow.civicflow_backend.model.IssueStatus;
+import com.civicflow.civicflow_backend.repository.IssueRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IssueSearchIndexTest {
+
+    // Bangalore city centre
+    private static final double USER_LAT = 12.9716;
+    private static final double USER_LNG = 77.5946;
+
+    @Mock
+    private IssueRepository issueRepository;
+
+    private IssueSearchIndex index;
+
+    // Issue.version of the last save, bumped per save like a commit would
+    private long version;
+
+    @BeforeEach
+    void setUp() {
+        when(issueRepository.findAllSearchRows()).thenReturn(List.of());
+        index = new IssueSearchIndex(issueRepository, true);
+        index.rebuild();
+
+        save(1L, "Pothole on MG Road", "Large pothole damaging vehicles", "Roads", IssueStatus.OPEN, 12.9720, 77.5950);
+        save(2L, "Broken streetlight", "The light near the pothole is out", "Lighting", IssueStatus.OPEN, 12.9800, 77.6000);
+        save(3L, "Garbage pile", "Garbage not collected for a week", "Sanitation", IssueStatus.RESOLVED, 13.0500, 77.6500);
+        save(4L, "Potholes everywhere", "Road surface is broken", "roads", IssueStatus.OPEN, 19.0760, 72.8777);
+    }
+
+    private void save(long id, String title, String description, String category,
+                      IssueStatus status, Double lat, Double lng) {
+        Issue issue = new Issue();
+        issue.setId(id);
+        issue.setTitle(title);
+        issue.setDescription(description);
+        issue.setCategory(category);
+        issue.setStatus(status);
+        issue.setLatitude(lat);
+        issue.setLongitude(lng);
+        issue.setVersion(++version);
+        index.onIssueChanged(IssueChangedEvent.saved(issue));
+    }
+
+    private List<Long> search(String query) {
+        return index.search(query, null, null, null, null, null, 0, 20).getIds();
+    }
+
+    @Test
+    void testTitleMatchRanksAboveDescriptionMatch() {
+        // When
+        List<Long> ids = search("pothole");
+
+        // Then - issue 1 has the word in its title and description, issue 4 has a longer word
+        // ("potholes") in its title matched by prefix, issue 2 has it only in its description
+        assertEquals(List.of(1L, 4L, 2L), ids);
+    }
+
+    @Test
+    void testShortPrefixKeepsItsMostFrequentExpansions() {
+        // Given - 60 one-off words starting with "pot" sort before "potzzz", which three issues share
+        for (int i = 0; i < 60; i++) {
+            String word = "pot" + (char) ('a' + i / 26) + (char) ('a' + i % 26);
+            save(100L + i, "Report " + word, null, "Roads", IssueStatus.OPEN, null, null);
+        }
+        for (long id = 200; id < 203; id++) {
+            save(id, "Report potzzz", null, "Roads", IssueStatus.OPEN, null, null);
+        }
+
+        // When
+        IssueSearchIndex.Result prefix = index.search("pot", null, null, null, null, null, 0, 200);
+        IssueSearchIndex.Result word = index.search("potzzz", null, null, null, null, null, 0, 200);
+
+        // Then - more than 50 expansions: the frequent word is kept, the result says some were left out
+        assertTrue(prefix.isTruncated());
+        assertTrue(prefix.getIds().containsAll(List.of(200L, 201L, 202L)));
+        assertTrue(prefix.getIds().containsAll(List.of(1L, 2L)));
+        assertFalse(word.isTruncated());
+        assertEquals(3, word.getTotal());
+    }
+
+    @Test
+    void testPrefixAndAllWordsMustMatch() {
+        // Then
+        assertEquals(List.of(3L), search("garb"));
+        assertEquals(List.of(2L), search("broken light"));
+        assertEquals(List.of(), search("garbage streetlight"));
+        assertEquals(List.of(), search("the of"));
+    }
+
+    @Test
+    void testFiltersAndPaging() {
+        // When
+        IssueSearchIndex.Result roads = index.search("pothole", "ROADS", null, null, null, null, 0, 20);
+        IssueSearchIndex.Result nearby = index.search("pothole", null, IssueStatus.OPEN, USER_LAT, USER_LNG, 5.0, 0, 20);
+        IssueSearchIndex.Result secondPage = index.search("pothole", null, null, null, null, null, 1, 1);
+
+        // Then
+        assertEquals(List.of(1L, 4L), roads.getIds());
+        assertEquals(List.of(1L, 2L), nearby.getIds());
+        assertEquals(List.of(4L), secondPage.getIds());
+        assertEquals(3, secondPage.getTotal());
+    }
+
+    @Test
+    void testUpdatesAndDeletesAreReflected() {
+        // When
+        save(3L, "Garbage cleared", "Pothole filled as well", "Sanitation", IssueStatus.RESOLVED, 13.0500, 77.6500);
+        index.onIssueChanged(IssueChangedEvent.deleted(1L));
+
+        // Then
+        assertEquals(List.of(2L, 3L, 4L), search("pothole").stream().sorted().toList());
+        assertEquals(List.of(), search("collected"));
+        assertEquals(3, index.size());
+    }
+}
@@ -0,0 +1,190 @@
+package com.civicflow.civicflow_backend.service;
+
+import com.civicflow.civicflow_backend.dto.IssueSnapshotStatsResponse;
+import com.civicflow.civicflow_backend.model.Issue;
+import com.civicflow.civicflow_backend.model.IssueSortMode;
+import com.civicflow.civicflow_backend.model.IssueStatus;
+import com.civicflow.civicflow_backend.repository.IssueRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IssueSnapshotTest {
+
+    // Bangalore city centre
+    private static final double USER_LAT = 12.9716;
+    private static final double USER_LNG = 77.5946;
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Mock
+    private IssueRepository issueRepository;
+
+    private IssueSnapshot snapshot;
+
+    // Issue.version of the last save, bumped per save like a commit would
+    private long version;
+
+    @BeforeEach
+    void setUp() {
+        when(issueRepository.findAllSnapshotRows()).thenReturn(List.of());
+        snapshot = new IssueSnapshot(issueRepository, RankingPool.sequential(), true);
+        snapshot.rebuild();
+
+        save(1L, "Roads", 12.9720, 77.5950, 5, false, IssueStatus.OPEN, NOW);
+        save(2L, "Lighting", 12.9800, 77.6000, 12, true, IssueStatus.OPEN, NOW.minusDays(1));
+        save(3L, "sanitation", 13.0500, 77.6500, 3, false, IssueStatus.RESOLVED, NOW.minusDays(2));
+        save(4L, "Roads", 19.0760, 72.8777, 40, true, IssueStatus.OPEN, NOW.minusDays(3));
+    }
+
+    private void save(long id, String category, Double lat, Double lng, int votes,
+                      boolean critical, IssueStatus status, LocalDateTime createdAt) {
+        Issue issue = new Issue();
+        issue.setId(id);
+        issue.setCategory(category);
+        issue.setLatitude(lat);
+        issue.setLongitude(lng);
+        issue.setVoteCount(votes);
+        issue.setCritical(critical);
+        issue.setStatus(status);
+        issue.setCreatedAt(createdAt);
+        issue.setVersion(++version);
+        snapshot.onIssueChanged(IssueChangedEvent.saved(issue));
+    }
+
+    private IssueSnapshot.Result query(Integer maxRadius, String category, Boolean critical,
+                                       IssueStatus status, Integer minVotes, IssueSortMode sortMode, int limit) {
+        return snapshot.query(USER_LAT, USER_LNG, maxRadius, category, critical, status, minVotes,
+                null, null, sortMode, limit);
+    }
+
+    @Test
+    void testFiltersMatchTheSpecifications() {
+        // When & Then
+        assertEquals(List.of(1L, 2L, 3L), query(20, null, null, null, null, IssueSortMode.LOCATION, 10).getIds());
+        assertEquals(List.of(4L, 1L), query(null, "ROADS", null, null, null, IssueSortMode.POPULAR, 10).getIds());
+        assertEquals(List.of(4L, 2L), query(null, null, true, IssueStatus.OPEN, 10, IssueSortMode.POPULAR, 10).getIds());
+        assertEquals(List.of(2L, 3L), snapshot.query(null, null, null, null, null, null, null,
+                NOW.minusDays(3), NOW, IssueSortMode.NEWEST, 10).getIds());
+        assertTrue(query(null, "unknown", null, null, null, IssueSortMode.SMART, 10).getIds().isEmpty());
+    }
+
+    @Test
+    void testSortModesAndPageLimit() {
+        // When
+        IssueSnapshot.Result critical = query(null, null, null, null, null, IssueSortMode.CRITICAL, 2);
+        IssueSnapshot.Result oldest = query(null, null, null, null, null, IssueSortMode.OLDEST, 10);
+
+        // Then - only the first two are returned, but every match is counted
+        assertEquals(List.of(4L, 2L), critical.getIds());
+        assertEquals(4, critical.getTotal());
+        assertEquals(List.of(4L, 3L, 2L, 1L), oldest.getIds());
+    }
+
+    @Test
+    void testSmartAroundALocationMatchesSmartRanking() {
+        // Given - same votes, so proximity inside the 20km window decides
+        save(5L, "Roads", 12.9800, 77.6000, 5, false, IssueStatus.OPEN, NOW);
+        save(6L, "Roads", 19.0760, 72.8777, 5, true, IssueStatus.OPEN, NOW);
+
+        // When
+        List<Long> ids = query(null, null, null, null, null, IssueSortMode.SMART, 10).getIds();
+
+        // Then
+        assertEquals(List.of(4L, 2L, 1L, 5L, 6L, 3L), ids);
+    }
+
+    @Test
+    void testUpdatesDeletesAndLateInserts() {
+        // Given - issue 1 gains votes, 3 is deleted, and 0 commits after higher IDs
+        save(1L, "Roads", 12.9720, 77.5950, 50, false, IssueStatus.OPEN, NOW);
+        snapshot.onIssueChanged(IssueChangedEvent.deleted(3L));
+        save(0L, "Roads", null, null, 1, false, IssueStatus.OPEN, NOW);
+
+        // When
+        IssueSnapshot.Result popular = query(null, null, null, null, null, IssueSortMode.POPULAR, 10);
+        IssueSnapshot.Result located = query(1000, null, null, null, null, IssueSortMode.LOCATION, 10);
+
+        // Then
+        assertEquals(List.of(1L, 4L, 2L, 0L), popular.getIds());
+        assertEquals(List.of(1L, 2L, 4L), located.getIds());
+        assertEquals(4, snapshot.size());
+    }
+
+    @Test
+    void testVoteDeltaOvertakingASaveIsKept() {
+        // Given - the vote that made version 6 is delivered before the save that made version 5
+        snapshot.onVoteCountChanged(new VoteCountChangedEvent(1L, 40, version + 2));
+        save(1L, "Roads", 12.9720, 77.5950, 6, false, IssueStatus.OPEN, NOW);
+        snapshot.onVoteCountChanged(new VoteCountChangedEvent(1L, 40, version + 1));
+
+        // When - the next vote follows without a gap
+        List<Long> afterSave = query(null, null, null, null, 46, IssueSortMode.POPULAR, 10).getIds();
+        snapshot.onVoteCountChanged(new VoteCountChangedEvent(1L, -10, version + 2));
+        List<Long> afterVote = query(null, null, null, null, 36, IssueSortMode.POPULAR, 10).getIds();
+
+        // Then - 6 + 40 once, then 36
+        assertEquals(List.of(1L), afterSave);
+        assertEquals(List.of(4L, 1L), afterVote);
+    }
+
+    @Test
+    void testStatsReportMemoryPerIssue() {
+        // When
+        IssueSnapshotStatsResponse stats = snapshot.getStats();
+
+        // Then
+        assertTrue(stats.isReady());
+        assertEquals(4, stats.getIssues());
+        assertEquals(3, stats.getCategories());
+        assertTrue(stats.getEstimatedBytes() > 0);
+        assertEquals(stats.getBytesPerIssue() * 1_000_000L, stats.getEstimatedBytesPerMillionIssues());
+    }
+
+    @Test
+    void testParallelQueryMatchesSequential() {
+        // Given - the same 10k issues in a sequential and a parallel snapshot
+        RankingPool pool = new RankingPool(4, 1);
+        IssueSnapshot parallel = new IssueSnapshot(issueRepository, pool, true);
+        parallel.rebuild();
+        Random random = new Random(3);
+        for (long id = 10; id < 10_010; id++) {
+            Issue issue = new Issue();
+            issue.setId(id);
+            issue.setCategory(random.nextBoolean() ? "Roads" : "Lighting");
+            issue.setLatitude(USER_LAT + random.nextDouble() * 0.6 - 0.3);
+            issue.setLongitude(USER_LNG + random.nextDouble() * 0.6 - 0.3);
+            issue.setVoteCount(random.nextInt(5));
+            issue.setCritical(random.nextBoolean());
+            issue.setStatus(IssueStatus.OPEN);
+            issue.setCreatedAt(NOW.minusMinutes(random.nextInt(600)));
+            snapshot.onIssueChanged(IssueChangedEvent.saved(issue));
+            parallel.onIssueChanged(IssueChangedEvent.saved(issue));
+        }
+
+        // When & Then
+        try {
+            for (IssueSortMode mode : IssueSortMode.values()) {
+                IssueSnapshot.Result expected = snapshot.query(USER_LAT, USER_LNG, 25, "roads", null, null, null,
+                        null, null, mode, 100);
+                IssueSnapshot.Result actual = parallel.query(USER_LAT, USER_LNG, 25, "roads", null, null, null,
+                        null, null, mode, 100);
+                // The sequential snapshot also holds issues 1-4 from setUp
+                assertEquals(expected.getIds().stream().filter(id -> id >= 10).limit(50).collect(Collectors.toList()),
+                        actual.getIds().stream().limit(50).collect(Collectors.toList()), mode.name());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.civicflow.civicflow_backend.service;
+
+import com.civicflow.civicflow_backend.model.Issue;
+import com.civicflow.civicflow_backend.repository.IssueLocationView;
+import com.civicflow.civicflow_backend.repository.IssueRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IssueSpatialIndexTest {
+
+    @Mock
+    private IssueRepository issueRepository;
+
+    private IssueSpatialIndex spatialIndex;
+
+    // Issue.version of the last save, bumped per save like a commit would
+    private long version;
+
+    @BeforeEach
+    void setUp() {
+        when(issueRepository.findAllLocations()).thenReturn(List.of());
+        spatialIndex = new IssueSpatialIndex(issueRepository, true, 0.05);
+        spatialIndex.rebuild();
+    }
+
+    private void index(long id, double lat, double lng, String category, boolean critical) {
+        Issue issue = new Issue();
+        issue.setId(id);
+        issue.setLatitude(lat);
+        issue.setLongitude(lng);
+        issue.setCategory(category);
+        issue.setCritical(critical);
+        issue.setVersion(++version);
+        spatialIndex.onIssueChanged(IssueChangedEvent.saved(issue));
+    }
+
+    @Test
+    void testFindWithinRadiusSortedByDistance() {
+        // Given
+        index(1L, 12.9800, 77.6000, "Lighting", true);   // ~1 km away
+        index(2L, 12.9720, 77.5950, "Roads", false);     // ~60 m away
+        index(3L, 13.0500, 77.6500, "Roads", false);     // ~10.5 km away
+        index(4L, 19.0760, 72.8777, "Roads", true);      // Mumbai
+
+        // When
+        List<Long> nearby = spatialIndex.findWithinRadius(12.9716, 77.5946, 10, null, null);
+        List<Long> wider = spatialIndex.findWithinRadius(12.9716, 77.5946, 11, null, null);
+
+        // Then
+        assertTrue(spatialIndex.isReady());
+        assertEquals(List.of(2L, 1L), nearby);
+        assertEquals(List.of(2L, 1L, 3L), wider);
+    }
+
+    @Test
+    void testFiltersByCategoryAndCritical() {
+        // Given
+        index(1L, 12.9800, 77.6000, "Lighting", true);
+        index(2L, 12.9720, 77.5950, "Roads", false);
+
+        // When & Then
+        assertEquals(List.of(2L), spatialIndex.findWithinRadius(12.9716, 77.5946, 10, "Roads", null));
+        assertEquals(List.of(1L), spatialIndex.findWithinRadius(12.9716, 77.5946, 10, null, true));
+    }
+
+    @Test
+    void testUpdatesMoveIssuesAndDeletesRemoveThem() {
+        // Given
+        index(1L, 12.9720, 77.5950, "Roads", false);
+
+        // When - the issue moves to Mumbai, then a second issue is created and deleted
+        index(1L, 19.0760, 72.8777, "Roads", false);
+        index(2L, 12.9720, 77.5950, "Roads", false);
+        spatialIndex.onIssueChanged(IssueChangedEvent.deleted(2L));
+
+        // Then
+        assertTrue(spatialIndex.findWithinRadius(12.9716, 77.5946, 10, null, null).isEmpty());
+        assertEquals(List.of(1L), spatialIndex.findWithinRadius(19.07, 72.87, 10, null, null));
+        assertEquals(1, spatialIndex.size());
+    }
+
+    @Test
+    void testNearbyVersionFollowsVotesSavesAndDeletes() {
+        // Given
+        index(1L, 12.9800, 77.6000, "Lighting", true);
+        index(2L, 12.9720, 77.5950, "Roads", false);
+        String etag = spatialIndex.versionWithinRadius(12.9716, 77.5946, 10, null, null).etag();
+        assertEquals(etag, spatialIndex.versionWithinRadius(12.9716, 77.5946, 10, null, null).etag());
+
+        // When - a vote on issue 1 commits
+        spatialIndex.onVoteCountChanged(new VoteCountChangedEvent(1L, 1, version + 1));
+        String afterVote = spatialIndex.versionWithinRadius(12.9716, 77.5946, 10, null, null).etag();
+
+        // Then
+        assertNotEquals(etag, afterVote);
+
+        // When - issue 2 is deleted
+        spatialIndex.onIssueChanged(IssueChangedEvent.deleted(2L));
+
+        // Then
+        assertNotEquals(afterVote, spatialIndex.versionWithinRadius(12.9716, 77.5946, 10, null, null).etag());
+    }
+
+    @Test
+    void testSearchWrapsAcrossTheAntimeridian() {
+        // Given - Fiji sits on both sides of the 180th meridian
+        index(1L, -17.0, 179.99, "Roads", false);
+        index(2L, -17.0, -179.99, "Roads", false);
+
+        // When
+        List<Long> fromEast = spatialIndex.findWithinRadius(-17.0, 179.999, 5, null, null);
+        List<Long> fromWest = spatialIndex.findWithinRadius(-17.0, -179.999, 5, null, null);
+
+        // Then
+        assertEquals(2, fromEast.size());
+        assertEquals(2, fromWest.size());
+    }
+
+    @Test
+    void testSearchAroundThePoleCoversAllLongitudes() {
+        // Given
+        index(1L, 89.99, 0.0, "Roads", false);
+        index(2L, 89.99, 180.0, "Roads", false);
+
+        // When
+        List<Long> nearPole = spatialIndex.findWithinRadius(89.999, 90.0, 5, null, null);
+
+        // Then
+        assertEquals(2, nearPole.size());
+    }
+
+    private static IssueChangedEvent saved(long id, long version, double lat, double lng) {
+        Issue issue = new Issue();
+        issue.setId(id);
+        issue.setVersion(version);
+        issue.setLatitude(lat);
+        issue.setLongitude(lng);
+        return IssueChangedEvent.saved(issue);
+    }
+
+    private static IssueLocationView row(long id, long version, double lat, double lng) {
+        return new IssueLocationView() {
+            public Long getId() { return id; }
+            public Double getLatitude() { return lat; }
+            public Double getLongitude() { return lng; }
+            public String getCategory() { return "Roads"; }
+            public Boolean getCritical() { return false; }
+            public Long getVersion() { return version; }
+        };
+    }
+
+    @Test
+    void testLateEventsCannotUndoNewerOnes() {
+        // Given - version 2 moved issue 1 to Mumbai; issue 2 was deleted
+        spatialIndex.onIssueChanged(saved(1L, 2, 19.0760, 72.8777));
+        spatialIndex.onIssueChanged(saved(2L, 1, 12.9720, 77.5950));
+        spatialIndex.onIssueChanged(IssueChangedEvent.deleted(2L));
+
+        // When - events of earlier commits arrive late
+        spatialIndex.onIssueChanged(saved(1L, 1, 12.9720, 77.5950));
+        spatialIndex.onIssueChanged(saved(2L, 2, 12.9720, 77.5950));
+
+        // Then
+        assertTrue(spatialIndex.findWithinRadius(12.9716, 77.5946, 10, null, null).isEmpty());
+        assertEquals(List.of(1L), spatialIndex.findWithinRadius(19.07, 72.87, 10, null, null));
+        assertEquals(1, spatialIndex.size());
+    }
+
+    @Test
+    void testRebuildKeepsTheNewerOfLoadedRowAndChangesDuringLoad() {
+        // Given - while the rows load, issue 1 moves (version 3 over the loaded 2), an event older
+        // than issue 2's loaded row arrives late, and issue 3 is deleted after it was read
+        when(issueRepository.findAllLocations()).thenAnswer(invocation -> {
+            spatialIndex.onIssueChanged(saved(1L, 3, 19.0760, 72.8777));
+            spatialIndex.onIssueChanged(saved(2L, 4, 19.0760, 72.8777));
+            spatialIndex.onIssueChanged(IssueChangedEvent.deleted(3L));
+            return List.of(row(1L, 2, 12.9720, 77.5950), row(2L, 5, 12.9720, 77.5950),
+                    row(3L, 1, 12.9720, 77.5950));
+        });
+
+        // When
+        spatialIndex.rebuild();
+
+        // Then
+        assertEquals(List.of(2L), spatialIndex.findWithinRadius(12.9716, 77.5946, 10, null, null));
+        assertEquals(List.of(1L), spatialIndex.findWithinRadius(19.07, 72.87, 10, null, null));
+        assertEquals(2, spatialIndex.size());
+    }
+}
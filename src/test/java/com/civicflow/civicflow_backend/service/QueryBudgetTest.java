@@ -0,0 +1,148 @@
+package com.civicflow.civicflow_backend.service;
+
+import com.civicflow.civicflow_backend.config.QueryCounter;
+import com.civicflow.civicflow_backend.dto.AdminDashboardResponse;
+import com.civicflow.civicflow_backend.model.Issue;
+import com.civicflow.civicflow_backend.model.IssueStatus;
+import com.civicflow.civicflow_backend.model.Role;
+import com.civicflow.civicflow_backend.model.User;
+import com.civicflow.civicflow_backend.model.Vote;
+import com.civicflow.civicflow_backend.model.VoteType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SQL statement budgets per endpoint, counted with QueryCounter. A budget that starts to grow
+ * with the data is an N+1 regression.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({AdminService.class, IssueSnapshot.class, RankingPool.class, VoteIndex.class})
+class QueryBudgetTest {
+
+    // GET /api/admin/dashboard: admin check, 13 counters, recent users, top reporters + 3 grouped counts
+    private static final int DASHBOARD_BUDGET = 19;
+    private static final int REPEAT_THRESHOLD = 5;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AdminService adminService;
+
+    private int reporterCount;
+
+    @BeforeEach
+    void setUp() {
+        persistUser("admin", Role.ADMIN);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("admin", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        QueryCounter.stop();
+    }
+
+    private User persistUser(String username, Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("hashedpassword");
+        user.setRole(role);
+        user.setCreatedAt(LocalDateTime.now());
+        return entityManager.persist(user);
+    }
+
+    // Each reporter files an issue and upvotes it
+    private void addReporters(int count) {
+        for (int i = 0; i < count; i++) {
+            User reporter = persistUser("reporter" + reporterCount++, Role.USER);
+            Issue issue = new Issue();
+            issue.setTitle("Pothole");
+            issue.setStatus(IssueStatus.OPEN);
+            issue.setCreatedBy(reporter);
+            issue.setCreatedAt(LocalDateTime.now());
+            issue.setUpdatedAt(LocalDateTime.now());
+            entityManager.persist(issue);
+            entityManager.persist(Vote.builder().user(reporter).issue(issue).type(VoteType.UPVOTE).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private QueryCounter.Log countDashboard() {
+        QueryCounter.start();
+        AdminDashboardResponse dashboard = adminService.getAdminDashboard();
+        assertNotNull(dashboard);
+        return QueryCounter.stop();
+    }
+
+    @Test
+    void testDashboardStaysWithinBudgetAsUsersGrow() {
+        // Given
+        addReporters(2);
+        QueryCounter.Log few = countDashboard();
+
+        // When
+        addReporters(6);
+        QueryCounter.Log many = countDashboard();
+
+        // Then
+        assertTrue(few.getCount() <= DASHBOARD_BUDGET, "dashboard ran " + few.getCount() + " statements");
+        assertEquals(few.getCount(), many.getCount());
+        assertEquals(List.of(), List.copyOf(many.repeated(REPEAT_THRESHOLD).keySet()));
+    }
+
+    @Test
+    void testTopReportersCountsAreBatched() {
+        // Given
+        addReporters(5);
+
+        // When
+        AdminDashboardResponse dashboard = adminService.getAdminDashboard();
+
+        // Then - the five newest users are reporters, each with one issue, one vote cast and one upvote received
+        assertEquals(5, dashboard.getTopReporters().size());
+        dashboard.getTopReporters().forEach(reporter -> {
+            assertEquals(1, reporter.getIssuesReported());
+            assertEquals(1, reporter.getVotesCast());
+            assertEquals(1, reporter.getHelpfulVotesReceived());
+        });
+    }
+
+    @Test
+    void testRepeatedShapesAreFlagged() {
+        // Given
+        QueryCounter counter = new QueryCounter();
+        QueryCounter.start();
+
+        // When
+        for (int i = 0; i < REPEAT_THRESHOLD; i++) {
+            counter.inspect("select count(*) from issue where created_by_user_id=?");
+        }
+        counter.inspect("select * from users where id in (?, ?, ?)");
+        counter.inspect("select * from users   where id in (?)");
+        QueryCounter.Log log = QueryCounter.stop();
+
+        // Then
+        assertEquals(REPEAT_THRESHOLD + 2, log.getCount());
+        assertEquals(2, log.getShapes().get("select * from users where id in (?)"));
+        assertEquals(List.of("select count(*) from issue where created_by_user_id=?"),
+                List.copyOf(log.repeated(REPEAT_THRESHOLD).keySet()));
+    }
+}
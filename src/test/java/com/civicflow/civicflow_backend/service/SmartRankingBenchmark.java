@@ -0,0 +1,115 @@
+package com.civicflow.civicflow_backend.service;
+
+import com.civicflow.civicflow_backend.model.Issue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SMART sort of 100k issues: a Comparator that computes both Haversine distances on every
+ * comparison (how IssueService used to sort) against SmartRanking's precomputed keys.
+ * Not run by surefire; see tests/README.md for how to run it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SmartRankingBenchmark {
+
+    private static final double USER_LAT = 12.9716;
+    private static final double USER_LNG = 77.5946;
+
+    @Param({"100000"})
+    private int issueCount;
+
+    private List<Issue> issues;
+    private RankingPool parallelPool;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        issues = new ArrayList<>(issueCount);
+        for (long id = 1; id <= issueCount; id++) {
+            Issue issue = new Issue();
+            issue.setId(id);
+            issue.setVoteCount(random.nextInt(20));
+            issue.setLatitude(USER_LAT + random.nextDouble() * 1.0 - 0.5);
+            issue.setLongitude(USER_LNG + random.nextDouble() * 1.0 - 0.5);
+            issue.setCritical(random.nextInt(10) == 0);
+            issue.setCreatedAt(now.minusMinutes(random.nextInt(525_600)));
+            issues.add(issue);
+        }
+        parallelPool = new RankingPool(0, 0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        parallelPool.shutdown();
+    }
+
+    @Benchmark
+    public List<Issue> distancePerComparison() {
+        List<Issue> sorted = new ArrayList<>(issues);
+        sorted.sort(perComparisonComparator());
+        return sorted;
+    }
+
+    @Benchmark
+    public List<Issue> precomputedKeys() {
+        return SmartRanking.rank(issues, USER_LAT, USER_LNG);
+    }
+
+    // First page of 20 only: bounded heap selection instead of a full sort
+    @Benchmark
+    public List<Issue> topPage() {
+        return SmartRanking.rankTop(issues, USER_LAT, USER_LNG, 20);
+    }
+
+    // Full sort on one ranking thread per core
+    @Benchmark
+    public List<Issue> precomputedKeysParallel() {
+        return SmartRanking.rankTop(issues, USER_LAT, USER_LNG, issues.size(), parallelPool);
+    }
+
+    // Same ordering as SmartRanking, with the distance recomputed inside compare()
+    private static Comparator<Issue> perComparisonComparator() {
+        return Comparator.comparing(Issue::getVoteCount, Comparator.reverseOrder())
+                .thenComparingDouble(SmartRankingBenchmark::windowDistance)
+                .thenComparing(Issue::isCritical, Comparator.reverseOrder())
+                .thenComparing(Issue::getCreatedAt, Comparator.reverseOrder())
+                .thenComparing(Issue::getId);
+    }
+
+    private static double windowDistance(Issue issue) {
+        double distance = GeoMath.haversineKm(USER_LAT, USER_LNG, issue.getLatitude(), issue.getLongitude());
+        return distance <= SmartRanking.PROXIMITY_WINDOW_KM ? distance : Double.POSITIVE_INFINITY;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SmartRankingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,131 @@
+package com.civicflow.civicflow_backend.service;
+
+import com.civicflow.civicflow_backend.model.Issue;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SmartRankingTest {
+
+    // Bangalore city centre
+    private static final double USER_LAT = 12.9716;
+    private static final double USER_LNG = 77.5946;
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    private Issue issue(long id, int votes, Double lat, Double lng, boolean critical, LocalDateTime createdAt) {
+        Issue issue = new Issue();
+        issue.setId(id);
+        issue.setVoteCount(votes);
+        issue.setLatitude(lat);
+        issue.setLongitude(lng);
+        issue.setCritical(critical);
+        issue.setCreatedAt(createdAt);
+        return issue;
+    }
+
+    private List<Long> ids(List<Issue> issues) {
+        return issues.stream().map(Issue::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    void testRanksByVotesThenProximityThenCriticalThenRecency() {
+        // Given
+        List<Issue> issues = List.of(
+                issue(1L, 5, 13.0500, 77.6500, false, NOW),             // ~10.5 km
+                issue(2L, 5, 12.9720, 77.5950, false, NOW),             // ~60 m
+                issue(3L, 9, 19.0760, 72.8777, false, NOW),             // Mumbai, most votes
+                issue(4L, 5, 19.0760, 72.8777, true, NOW),              // outside the window, critical
+                issue(5L, 5, null, null, false, NOW.plusDays(1)),       // no location, newest
+                issue(6L, 5, 19.0760, 72.8777, false, NOW.minusDays(1)));
+
+        // When
+        List<Issue> ranked = SmartRanking.rank(issues, USER_LAT, USER_LNG);
+
+        // Then
+        assertEquals(List.of(3L, 2L, 1L, 4L, 5L, 6L), ids(ranked));
+    }
+
+    @Test
+    void testRankAfterPagesThroughEveryIssueOnce() {
+        // Given - enough random issues to exercise several merge passes, with many ties
+        Random random = new Random(42);
+        List<Issue> issues = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            issues.add(issue(id, random.nextInt(5), USER_LAT + random.nextDouble() * 0.4 - 0.2,
+                    USER_LNG + random.nextDouble() * 0.4 - 0.2, random.nextBoolean(),
+                    NOW.minusHours(random.nextInt(48))));
+        }
+        List<Long> expected = ids(SmartRanking.rank(issues, USER_LAT, USER_LNG));
+
+        // When - walk pages of 37 using the last issue of each page as the anchor
+        List<Long> walked = new ArrayList<>();
+        Issue anchor = null;
+        while (true) {
+            List<Issue> page = SmartRanking.rankAfter(issues, USER_LAT, USER_LNG, anchor, 37, RankingPool.sequential());
+            if (page.isEmpty()) break;
+            walked.addAll(ids(page));
+            anchor = page.get(page.size() - 1);
+        }
+
+        // Then
+        assertEquals(500, expected.size());
+        assertEquals(expected, walked);
+        for (int i = 1; i < expected.size(); i++) {
+            Issue previous = issues.get((int) (expected.get(i - 1) - 1));
+            Issue current = issues.get((int) (expected.get(i) - 1));
+            assertTrue(previous.getVoteCount() >= current.getVoteCount());
+        }
+    }
+
+    @Test
+    void testRankTopMatchesThePrefixOfAFullSort() {
+        // Given
+        Random random = new Random(7);
+        List<Issue> issues = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            issues.add(issue(id, random.nextInt(4), USER_LAT + random.nextDouble() * 0.4 - 0.2,
+                    USER_LNG + random.nextDouble() * 0.4 - 0.2, random.nextBoolean(),
+                    NOW.minusHours(random.nextInt(24))));
+        }
+        List<Long> full = ids(SmartRanking.rank(issues, USER_LAT, USER_LNG));
+
+        // When & Then
+        for (int k : new int[]{0, 1, 20, 299, 300, 1000}) {
+            List<Long> top = ids(SmartRanking.rankTop(issues, USER_LAT, USER_LNG, k));
+            assertEquals(full.subList(0, Math.min(k, full.size())), top, "k=" + k);
+        }
+    }
+
+    @Test
+    void testParallelRankingMatchesSequential() {
+        // Given - enough issues for several 4096-slot chunks
+        Random random = new Random(11);
+        List<Issue> issues = new ArrayList<>();
+        for (long id = 1; id <= 10_000; id++) {
+            issues.add(issue(id, random.nextInt(3), USER_LAT + random.nextDouble() * 0.6 - 0.3,
+                    USER_LNG + random.nextDouble() * 0.6 - 0.3, random.nextBoolean(),
+                    NOW.minusHours(random.nextInt(12))));
+        }
+        RankingPool parallel = new RankingPool(4, 1);
+
+        // When & Then
+        try {
+            assertTrue(parallel.isParallel(issues.size()));
+            for (int k : new int[]{20, 5000, 10_000}) {
+                assertEquals(ids(SmartRanking.rankTop(issues, USER_LAT, USER_LNG, k)),
+                        ids(SmartRanking.rankTop(issues, USER_LAT, USER_LNG, k, parallel)), "k=" + k);
+            }
+            Issue anchor = issues.get(1234);
+            assertEquals(ids(SmartRanking.rankAfter(issues, USER_LAT, USER_LNG, anchor, 50, RankingPool.sequential())),
+                    ids(SmartRanking.rankAfter(issues, USER_LAT, USER_LNG, anchor, 50, parallel)));
+        } finally {
+            parallel.shutdown();
+        }
+    }
+}
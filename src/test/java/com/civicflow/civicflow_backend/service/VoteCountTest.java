@@ -0,0 +1,247 @@
+package com.civicflow.civicflow_backend.service;
+
+import com.civicflow.civicflow_backend.config.QueryCounter;
+import com.civicflow.civicflow_backend.config.TestSecurityConfig;
+import com.civicflow.civicflow_backend.dto.VoteRequest;
+import com.civicflow.civicflow_backend.dto.VoteSummary;
+import com.civicflow.civicflow_backend.model.Issue;
+import com.civicflow.civicflow_backend.model.IssueStatus;
+import com.civicflow.civicflow_backend.model.Role;
+import com.civicflow.civicflow_backend.model.User;
+import com.civicflow.civicflow_backend.model.VoteType;
+import com.civicflow.civicflow_backend.repository.IssueRepository;
+import com.civicflow.civicflow_backend.repository.UserRepository;
+import com.civicflow.civicflow_backend.repository.VoteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+class VoteCountTest {
+
+    @Autowired
+    private VoteService voteService;
+
+    @Autowired
+    private VoteCountReconciler reconciler;
+
+    @Autowired
+    private VoteIndex voteIndex;
+
+    @Autowired
+    private IssueService issueService;
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Issue issue;
+
+    @BeforeEach
+    void setUp() {
+        User reporter = userRepository.save(user("reporter"));
+        userRepository.save(user("alice"));
+        userRepository.save(user("bob"));
+        userRepository.save(user("carol"));
+
+        Issue created = new Issue();
+        created.setTitle("Pothole");
+        created.setCategory("Roads");
+        created.setLatitude(12.9716);
+        created.setLongitude(77.5946);
+        created.setStatus(IssueStatus.OPEN);
+        created.setCreatedBy(reporter);
+        issue = issueService.createIssue(created);
+    }
+
+    @AfterEach
+    void tearDown() {
+        voteRepository.deleteAll();
+        issueRepository.findAll().forEach(each -> issueService.deleteIssue(each.getId()));
+        userRepository.deleteAll();
+    }
+
+    private User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("hashedpassword");
+        user.setRole(Role.USER);
+        return user;
+    }
+
+    private void vote(String username, VoteType type) {
+        voteService.castVote(issue.getId(), username, VoteRequest.builder().type(type).build());
+    }
+
+    private int storedCount() {
+        return issueRepository.findById(issue.getId()).orElseThrow().getVoteCount();
+    }
+
+    @Test
+    void testCounterFollowsCastChangedAndRemovedVotes() {
+        // Given
+        String etag = issueService.getIssueVersion(issue.getId()).etag();
+
+        // When
+        vote("alice", VoteType.UPVOTE);
+        vote("bob", VoteType.UPVOTE);
+        vote("carol", VoteType.DOWNVOTE);
+
+        // Then - updatedAt moved with the counter, so cached copies of the issue are stale
+        assertEquals(1, storedCount());
+        assertNotEquals(etag, issueService.getIssueVersion(issue.getId()).etag());
+
+        // When - a changed vote moves the counter by two, the same vote again not at all
+        vote("carol", VoteType.UPVOTE);
+        assertEquals(3, storedCount());
+        vote("carol", VoteType.UPVOTE);
+        assertEquals(3, storedCount());
+
+        // When
+        voteService.removeVote(issue.getId(), "alice");
+
+        // Then
+        assertEquals(2, storedCount());
+    }
+
+    @Test
+    void testIssueSavesLeaveTheCounterAlone() {
+        // Given
+        vote("alice", VoteType.UPVOTE);
+        vote("bob", VoteType.UPVOTE);
+        Issue details = new Issue();
+        details.setTitle("Pothole, now deeper");
+        details.setCategory("Roads");
+        details.setStatus(IssueStatus.ASSIGNED);
+
+        // When - a PUT body without voteCount
+        issueService.updateIssue(issue.getId(), details);
+
+        // Then
+        assertEquals(2, storedCount());
+        assertEquals("Pothole, now deeper", issueRepository.findById(issue.getId()).orElseThrow().getTitle());
+
+        // When - an entity carrying a different count is flushed
+        Issue loaded = issueRepository.findById(issue.getId()).orElseThrow();
+        loaded.setVoteCount(-5);
+        loaded.setStatus(IssueStatus.IN_PROGRESS);
+        issueRepository.save(loaded);
+
+        // Then
+        assertEquals(2, storedCount());
+        assertEquals(IssueStatus.IN_PROGRESS, issueRepository.findById(issue.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void testIssueLoadedBeforeAVoteCannotBeSaved() {
+        // Given
+        Issue stale = issueRepository.findById(issue.getId()).orElseThrow();
+        vote("alice", VoteType.UPVOTE);
+
+        // When
+        stale.setStatus(IssueStatus.RESOLVED);
+
+        // Then - the vote bumped the version, so the save would overwrite a newer row
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> issueRepository.save(stale));
+        assertEquals(IssueStatus.OPEN, issueRepository.findById(issue.getId()).orElseThrow().getStatus());
+        assertTrue(issueRepository.findById(issue.getId()).orElseThrow().getVersion() > stale.getVersion());
+    }
+
+    @Test
+    void testCachedSummaryFollowsVoteWrites() {
+        // Given
+        vote("alice", VoteType.UPVOTE);
+        assertEquals(1, voteService.getVoteSummary(issue.getId(), null).getUpvotes());
+
+        // When - votes that cancel out in the counter still move the totals
+        vote("alice", VoteType.DOWNVOTE);
+        vote("bob", VoteType.UPVOTE);
+
+        // Then
+        VoteSummary summary = voteService.getVoteSummary(issue.getId(), "alice");
+        assertEquals(1, summary.getUpvotes());
+        assertEquals(1, summary.getDownvotes());
+        assertEquals(VoteType.DOWNVOTE, summary.getUserVote());
+
+        // When
+        voteService.removeVote(issue.getId(), "bob");
+
+        // Then
+        assertEquals(0, voteService.getVoteSummary(issue.getId(), null).getUpvotes());
+    }
+
+    @Test
+    void testLoadedVoteIndexAnswersSummariesWithoutSql() {
+        // Given - the first summary loads the issue's voters
+        vote("alice", VoteType.UPVOTE);
+        voteService.getVoteSummary(issue.getId(), "alice");
+        vote("bob", VoteType.DOWNVOTE);
+        Long bobId = userRepository.findByUsername("bob").orElseThrow().getId();
+
+        // When - the caller's ID comes from their principal, as VoteController passes it
+        QueryCounter.start();
+        VoteSummary summary;
+        VoteSummary anonymous;
+        try {
+            summary = voteService.getVoteSummary(issue.getId(), "bob", bobId);
+            anonymous = voteService.getVoteSummary(issue.getId(), null);
+        } finally {
+            assertEquals(0, QueryCounter.stop().getCount());
+        }
+
+        // Then
+        assertEquals(1, summary.getUpvotes());
+        assertEquals(1, summary.getDownvotes());
+        assertEquals(VoteType.DOWNVOTE, summary.getUserVote());
+        assertFalse(anonymous.isHasUserVoted());
+        assertTrue(voteIndex.getStats().getEstimatedBytes() > 0);
+    }
+
+    @Test
+    void testUnknownUsernameIsNotRememberedByTheVoteIndex() {
+        // Given - the voters are loaded while "dave" is not registered
+        vote("alice", VoteType.UPVOTE);
+        assertFalse(voteService.getVoteSummary(issue.getId(), "dave").isHasUserVoted());
+
+        // When
+        userRepository.save(user("dave"));
+        vote("dave", VoteType.DOWNVOTE);
+
+        // Then
+        assertEquals(VoteType.DOWNVOTE, voteService.getVoteSummary(issue.getId(), "dave").getUserVote());
+    }
+
+    @Test
+    void testReconcilerRepairsDriftedCounter() {
+        // Given
+        vote("alice", VoteType.UPVOTE);
+        vote("bob", VoteType.UPVOTE);
+        // A vote row removed behind the counter's back (entity saves cannot write the counter)
+        Long bobId = userRepository.findByUsername("bob").orElseThrow().getId();
+        voteRepository.delete(voteRepository.findByUserIdAndIssueId(bobId, issue.getId()).orElseThrow());
+        assertEquals(2, storedCount());
+
+        // When
+        int repaired = reconciler.reconcile();
+
+        // Then
+        assertEquals(1, repaired);
+        assertEquals(1, storedCount());
+        assertEquals(0, reconciler.reconcile());
+    }
+}
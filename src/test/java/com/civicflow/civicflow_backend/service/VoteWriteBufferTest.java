@@ -0,0 +1,192 @@
+package com.civicflow.civicflow_backend.service;
+
+import com.civicflow.civicflow_backend.config.TestSecurityConfig;
+import com.civicflow.civicflow_backend.dto.VoteRequest;
+import com.civicflow.civicflow_backend.dto.VoteSummary;
+import com.civicflow.civicflow_backend.model.Issue;
+import com.civicflow.civicflow_backend.model.IssueStatus;
+import com.civicflow.civicflow_backend.model.Role;
+import com.civicflow.civicflow_backend.model.User;
+import com.civicflow.civicflow_backend.model.VoteType;
+import com.civicflow.civicflow_backend.repository.IssueRepository;
+import com.civicflow.civicflow_backend.repository.UserRepository;
+import com.civicflow.civicflow_backend.repository.VoteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "civicflow.votes.write-behind.enabled=true")
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+class VoteWriteBufferTest {
+
+    @Autowired
+    private VoteService voteService;
+
+    @Autowired
+    private VoteWriteBuffer voteBuffer;
+
+    @Autowired
+    private IssueService issueService;
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Issue issue;
+
+    @BeforeEach
+    void setUp() {
+        User reporter = userRepository.save(user("reporter"));
+        userRepository.save(user("alice"));
+        userRepository.save(user("bob"));
+        userRepository.save(user("carol"));
+
+        Issue created = new Issue();
+        created.setTitle("Pothole");
+        created.setCategory("Roads");
+        created.setLatitude(12.9716);
+        created.setLongitude(77.5946);
+        created.setStatus(IssueStatus.OPEN);
+        created.setCreatedBy(reporter);
+        issue = issueService.createIssue(created);
+    }
+
+    @AfterEach
+    void tearDown() {
+        voteBuffer.flush();
+        voteRepository.deleteAll();
+        issueRepository.findAll().forEach(each -> issueService.deleteIssue(each.getId()));
+        userRepository.deleteAll();
+    }
+
+    private User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("hashedpassword");
+        user.setRole(Role.USER);
+        return user;
+    }
+
+    private void vote(String username, VoteType type) {
+        voteService.castVote(issue.getId(), username, VoteRequest.builder().type(type).build());
+    }
+
+    private int storedCount() {
+        return issueRepository.findById(issue.getId()).orElseThrow().getVoteCount();
+    }
+
+    @Test
+    void testBufferedVotesAreVisibleBeforeAndStoredAfterTheFlush() {
+        // Given
+        String etag = voteService.getVoteSummaryVersion(issue.getId(), "alice").etag();
+
+        // When
+        vote("alice", VoteType.UPVOTE);
+        vote("bob", VoteType.UPVOTE);
+        vote("carol", VoteType.DOWNVOTE);
+
+        // Then - nothing is stored yet, but summaries and their ETags already include the votes
+        assertEquals(0, voteRepository.count());
+        assertEquals(0, storedCount());
+        assertNotEquals(etag, voteService.getVoteSummaryVersion(issue.getId(), "alice").etag());
+        VoteSummary summary = voteService.getVoteSummary(issue.getId(), "carol");
+        assertEquals(2, summary.getUpvotes());
+        assertEquals(1, summary.getDownvotes());
+        assertEquals(1, summary.getTotalScore());
+        assertEquals(VoteType.DOWNVOTE, summary.getUserVote());
+        assertEquals(List.of(summary), voteService.getVoteSummaries(List.of(issue.getId()), "carol"));
+
+        // When
+        assertEquals(3, voteBuffer.flush());
+
+        // Then - the same summary, now from the votes table, and one counter delta applied
+        assertEquals(3, voteRepository.count());
+        assertEquals(1, storedCount());
+        assertEquals(summary, voteService.getVoteSummary(issue.getId(), "carol"));
+    }
+
+    @Test
+    void testRemovingAMissingVoteFailsBeforeItIsBuffered() {
+        // When / Then - nothing buffered or stored
+        RuntimeException neverVoted = assertThrows(RuntimeException.class,
+                () -> voteService.removeVote(issue.getId(), "alice"));
+        assertEquals("Vote not found", neverVoted.getMessage());
+
+        // Given - a buffered vote, then its removal
+        vote("alice", VoteType.UPVOTE);
+        voteService.removeVote(issue.getId(), "alice");
+
+        // When / Then - the buffered removal counts, so removing again fails too
+        RuntimeException removedTwice = assertThrows(RuntimeException.class,
+                () -> voteService.removeVote(issue.getId(), "alice"));
+        assertEquals("Vote not found", removedTwice.getMessage());
+        voteBuffer.flush();
+        assertEquals(0, voteRepository.count());
+        assertEquals(0, storedCount());
+    }
+
+    @Test
+    void testLastWriteWinsPerUser() {
+        // Given - bob's upvote is already stored
+        vote("bob", VoteType.UPVOTE);
+        voteBuffer.flush();
+
+        // When
+        vote("alice", VoteType.UPVOTE);
+        vote("alice", VoteType.DOWNVOTE);
+        vote("bob", VoteType.DOWNVOTE);
+        voteService.removeVote(issue.getId(), "bob");
+
+        // Then
+        VoteSummary summary = voteService.getVoteSummary(issue.getId(), "bob");
+        assertEquals(0, summary.getUpvotes());
+        assertEquals(1, summary.getDownvotes());
+        assertFalse(summary.isHasUserVoted());
+        assertThrows(RuntimeException.class, () -> voteService.removeVote(issue.getId(), "bob"));
+
+        // When
+        assertEquals(2, voteBuffer.flush());
+
+        // Then
+        assertEquals(1, voteRepository.count());
+        assertEquals(-1, storedCount());
+        assertEquals(summary, voteService.getVoteSummary(issue.getId(), "bob"));
+    }
+
+    @Test
+    @DirtiesContext
+    void testShutdownDrainsTheBufferAndLaterVotesAreWrittenDirectly() {
+        // Given
+        vote("alice", VoteType.UPVOTE);
+
+        // When
+        voteBuffer.drain();
+
+        // Then
+        assertEquals(1, voteRepository.count());
+        assertFalse(voteBuffer.isEnabled());
+
+        // When
+        vote("bob", VoteType.UPVOTE);
+
+        // Then
+        assertEquals(2, voteRepository.count());
+        assertEquals(2, storedCount());
+    }
+}
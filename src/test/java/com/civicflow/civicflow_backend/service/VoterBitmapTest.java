@@ -0,0 +1,76 @@
+package com.civicflow.civicflow_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VoterBitmapTest {
+
+    @Test
+    void testMatchesASetAcrossArrayAndBitmapContainers() {
+        // Given - dense IDs in one group (turns into a bitmap) and sparse IDs across many groups
+        VoterBitmap bitmap = new VoterBitmap();
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(42);
+
+        // When
+        for (int i = 0; i < 50_000; i++) {
+            long userId = random.nextBoolean() ? random.nextInt(10_000) : random.nextInt(Integer.MAX_VALUE);
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.remove(userId), bitmap.remove(userId));
+            } else {
+                assertEquals(expected.add(userId), bitmap.add(userId));
+            }
+        }
+
+        // Then
+        assertEquals(expected.size(), bitmap.size());
+        for (long userId = 0; userId < 10_000; userId++) {
+            assertEquals(expected.contains(userId), bitmap.contains(userId));
+        }
+        expected.forEach(userId -> assertTrue(bitmap.contains(userId)));
+    }
+
+    @Test
+    void testDenseGroupShrinksBackToAnArray() {
+        // Given
+        VoterBitmap bitmap = new VoterBitmap();
+        for (long userId = 1; userId <= VoterBitmap.ARRAY_MAX + 1; userId++) {
+            bitmap.add(userId);
+        }
+        long asBitmap = bitmap.estimatedBytes();
+
+        // When
+        for (long userId = 1; userId <= VoterBitmap.ARRAY_MAX - 100; userId++) {
+            bitmap.remove(userId);
+        }
+
+        // Then
+        assertTrue(asBitmap >= 8192, "one 8 KB bitmap: " + asBitmap);
+        assertTrue(bitmap.estimatedBytes() < asBitmap / 4, "shrunk array: " + bitmap.estimatedBytes());
+        assertFalse(bitmap.contains(1));
+        assertTrue(bitmap.contains(VoterBitmap.ARRAY_MAX + 1));
+        assertEquals(101, bitmap.size());
+    }
+
+    @Test
+    void testEdgesOfTheIdRange() {
+        // Given
+        VoterBitmap bitmap = new VoterBitmap();
+
+        // When
+        bitmap.add(0);
+        bitmap.add(0xFFFF_FFFFL);
+
+        // Then
+        assertTrue(bitmap.contains(0));
+        assertTrue(bitmap.contains(0xFFFF_FFFFL));
+        assertFalse(bitmap.contains(0xFFFFL));
+        assertFalse(VoterBitmap.fits(0x1_0000_0000L));
+        assertFalse(VoterBitmap.fits(-1));
+    }
+}
@@ -0,0 +1,61 @@
+-- 🌍 Radius query benchmark: Haversine only vs. bounding-box prefilter + lat/lng index
+--
+-- Seeds 1M issues into a scratch copy of the issue table and prints EXPLAIN ANALYZE
+-- for the nearby-issues query before and after the change. Compare the scan node,
+-- "Rows Removed by Filter" and "Execution Time" of the two plans.
+--
+-- Usage (against a database the backend has already created its schema in):
+--   psql -d civicflow -f tests/sql/radius-bbox-benchmark.sql
+
+\timing on
+\set ON_ERROR_STOP on
+
+DROP TABLE IF EXISTS bench_issue;
+CREATE TABLE bench_issue (LIKE issue INCLUDING DEFAULTS);
+
+-- 1M issues spread over India (roughly 8..35 N, 68..97 E), fixed seed for repeatable runs
+SELECT setseed(0.42);
+INSERT INTO bench_issue (id, title, category, latitude, longitude, vote_count, critical, status,
+                         created_by_user_id, created_at, updated_at)
+SELECT g,
+       'Issue ' || g,
+       (ARRAY['Roads', 'Lighting', 'Sanitation', 'Water'])[1 + g % 4],
+       8 + random() * 27,
+       68 + random() * 29,
+       (random() * 100)::int,
+       random() < 0.1,
+       'OPEN',
+       1,
+       now() - random() * interval '365 days',
+       now()
+FROM generate_series(1, 1000000) AS g;
+ANALYZE bench_issue;
+
+-- BEFORE: the original query, 5 km around central Bangalore
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM bench_issue i
+WHERE (6371 * acos(cos(radians(12.9716)) * cos(radians(i.latitude)) *
+       cos(radians(i.longitude) - radians(77.5946)) +
+       sin(radians(12.9716)) * sin(radians(i.latitude)))) <= 5
+ORDER BY (6371 * acos(cos(radians(12.9716)) * cos(radians(i.latitude)) *
+          cos(radians(i.longitude) - radians(77.5946)) +
+          sin(radians(12.9716)) * sin(radians(i.latitude))));
+
+-- Same index the entity declares as idx_issue_lat_lng
+CREATE INDEX bench_issue_lat_lng ON bench_issue (latitude, longitude);
+ANALYZE bench_issue;
+
+-- AFTER: bounding box computed by GeoBoundingBox.around(12.9716, 77.5946, 5)
+-- (lat ±0.04497°, lng ±0.04614°; both longitude ranges are equal away from the antimeridian)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM bench_issue i
+WHERE i.latitude BETWEEN 12.92663 AND 13.01657
+  AND (i.longitude BETWEEN 77.54845 AND 77.64075 OR i.longitude BETWEEN 77.54845 AND 77.64075)
+  AND (6371 * acos(cos(radians(12.9716)) * cos(radians(i.latitude)) *
+       cos(radians(i.longitude) - radians(77.5946)) +
+       sin(radians(12.9716)) * sin(radians(i.latitude)))) <= 5
+ORDER BY (6371 * acos(cos(radians(12.9716)) * cos(radians(i.latitude)) *
+          cos(radians(i.longitude) - radians(77.5946)) +
+          sin(radians(12.9716)) * sin(radians(i.latitude))));
+
+DROP TABLE bench_issue;